@@ -0,0 +1,114 @@
+plugins {
+    id("java")
+    id("me.champeau.jmh") version "0.7.3"
+}
+
+group = "dev.shiftsad"
+version = "1.0-SNAPSHOT"
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    jmh(project(":core"))
+    jmh("com.typesafe:config:1.4.3")
+    jmhAnnotationProcessor(project(":core"))
+}
+
+/*
+ * The injector and module benchmarks need thousands of distinct @Value fields and module classes,
+ * which are generated here instead of being checked in.
+ */
+val syntheticSources = layout.buildDirectory.dir("generated/sources/synthetic/java")
+val syntheticFieldCounts = mapOf("f10" to 10, "f1k" to 1_000, "f10k" to 10_000)
+val syntheticFieldsPerClass = 1_000
+val syntheticModuleCount = 64
+
+val generateSyntheticSources by tasks.registering {
+    description = "Generates the synthetic @Value classes and modules used by the benchmarks."
+    val outputDir = syntheticSources
+    outputs.dir(outputDir)
+
+    doLast {
+        val root = outputDir.get().asFile
+        root.deleteRecursively()
+
+        for ((name, count) in syntheticFieldCounts) {
+            val dir = root.resolve("dev/shiftsad/benchmarks/synthetic/$name").apply { mkdirs() }
+            for ((classIndex, start) in (0 until count step syntheticFieldsPerClass).withIndex()) {
+                val end = minOf(start + syntheticFieldsPerClass, count)
+                dir.resolve("Fields$classIndex.java").writeText(buildString {
+                    appendLine("package dev.shiftsad.benchmarks.synthetic.$name;")
+                    appendLine()
+                    appendLine("import dev.shiftsad.core.config.Value;")
+                    appendLine()
+                    appendLine("public final class Fields$classIndex {")
+                    for (i in start until end) {
+                        // Must match SyntheticConfig.value(int)
+                        val type = when (i % 4) {
+                            0 -> "int"
+                            1 -> "String"
+                            2 -> "double"
+                            else -> "boolean"
+                        }
+                        appendLine("    @Value(\"$name.field$i\")")
+                        appendLine("    public static $type field$i;")
+                    }
+                    appendLine("}")
+                })
+            }
+        }
+
+        val modulesDir = root.resolve("dev/shiftsad/benchmarks/synthetic/modules").apply { mkdirs() }
+        for (i in 0 until syntheticModuleCount) {
+            val wideDependency = if (i == 0) "" else "@DependsOn(WideModule0.class)\n"
+            val deepDependency = if (i == 0) "" else "@DependsOn(DeepModule${i - 1}.class)\n"
+            for ((prefix, dependency) in listOf("Wide" to wideDependency, "Deep" to deepDependency)) {
+                modulesDir.resolve("${prefix}Module$i.java").writeText(
+                    "package dev.shiftsad.benchmarks.synthetic.modules;\n\n" +
+                    "import dev.shiftsad.benchmarks.SyntheticModule;\n" +
+                    "import dev.shiftsad.core.modules.annotations.DependsOn;\n\n" +
+                    "${dependency}public final class ${prefix}Module$i extends SyntheticModule {}\n"
+                )
+            }
+        }
+
+        modulesDir.resolve("SyntheticGraphs.java").writeText(buildString {
+            appendLine("package dev.shiftsad.benchmarks.synthetic.modules;")
+            appendLine()
+            appendLine("import dev.shiftsad.core.modules.Module;")
+            appendLine()
+            appendLine("import java.util.List;")
+            appendLine()
+            appendLine("public final class SyntheticGraphs {")
+            appendLine("    private SyntheticGraphs() {}")
+            for (prefix in listOf("Wide", "Deep")) {
+                appendLine()
+                appendLine("    /** Returns fresh instances of every ${prefix.lowercase()} module. */")
+                appendLine("    public static List<Module> ${prefix.lowercase()}() {")
+                appendLine("        return List.of(")
+                appendLine((0 until syntheticModuleCount).joinToString(",\n") { "                new ${prefix}Module$it()" })
+                appendLine("        );")
+                appendLine("    }")
+            }
+            appendLine("}")
+        })
+    }
+}
+
+sourceSets.named("jmh") {
+    java.srcDir(generateSyntheticSources)
+}
+
+/*
+ * Results are written as JSON named after the project version so runs can be compared between releases.
+ *   ./gradlew :benchmarks:jmh
+ *   ./gradlew :benchmarks:jmh -PjmhIncludes=ConfigurationInjector -PjmhProfilers=gc
+ */
+jmh {
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results-${project.version}.json"))
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.addAll(it.split(',')) }
+    providers.gradleProperty("jmhProfilers").orNull?.let { profilers.addAll(it.split(',')) }
+}
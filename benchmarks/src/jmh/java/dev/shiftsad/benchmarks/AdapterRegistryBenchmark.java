@@ -0,0 +1,54 @@
+package dev.shiftsad.benchmarks;
+
+import dev.shiftsad.core.config.AdapterRegistry;
+import dev.shiftsad.core.config.adapters.ConfigAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdapterRegistryBenchmark {
+
+    @Benchmark
+    @Threads(1)
+    public ConfigAdapter<Integer> getAdapterSingleThread() {
+        return AdapterRegistry.getAdapter(Integer.class);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public ConfigAdapter<Integer> getAdapterContended() {
+        return AdapterRegistry.getAdapter(Integer.class);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean getAdapterMissContended() {
+        try {
+            AdapterRegistry.getAdapter(StringBuilder.class);
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean findAdapterMissContended() {
+        return AdapterRegistry.findAdapter(StringBuilder.class) != null;
+    }
+}
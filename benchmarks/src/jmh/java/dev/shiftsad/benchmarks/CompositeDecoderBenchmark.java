@@ -0,0 +1,72 @@
+package dev.shiftsad.benchmarks;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import dev.shiftsad.core.config.AdapterRegistry;
+import dev.shiftsad.core.config.adapters.ConfigAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes a spawn table of positions through the cached record decoder,
+ * against reading each element through {@code getConfigList}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompositeDecoderBenchmark {
+
+    public record Position(double x, double y, double z, float yaw, float pitch) {}
+
+    public static List<Position> spawns;
+
+    @Param({"10", "1000"})
+    public int positions;
+
+    private Config config;
+    private ConfigAdapter<?> adapter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchFieldException {
+        StringBuilder content = new StringBuilder("spawns = [\n");
+        for (int i = 0; i < positions; i++) {
+            content.append("  { x = ").append(i).append(".5, y = 64, z = ").append(-i)
+                    .append(".5, yaw = ").append(i % 360).append(", pitch = 0 }\n");
+        }
+        config = ConfigFactory.parseString(content.append("]").toString()).resolve();
+        adapter = AdapterRegistry.getAdapter(CompositeDecoderBenchmark.class.getField("spawns").getGenericType());
+    }
+
+    @Benchmark
+    public Object decoder() {
+        return adapter.fromConfig(config, "spawns");
+    }
+
+    @Benchmark
+    public List<Position> configList() {
+        List<? extends Config> elements = config.getConfigList("spawns");
+        List<Position> result = new ArrayList<>(elements.size());
+        for (Config element : elements) {
+            result.add(new Position(element.getDouble("x"), element.getDouble("y"), element.getDouble("z"),
+                    (float) element.getDouble("yaw"), (float) element.getDouble("pitch")));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,85 @@
+package dev.shiftsad.benchmarks;
+
+import dev.shiftsad.core.config.ConfigurationInjector;
+import dev.shiftsad.core.config.ConfigurationLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigurationInjectorBenchmark {
+
+    private static final String FILE_NAME = "injector.conf";
+
+    /** Name of a generated package under {@code dev.shiftsad.benchmarks.synthetic}. */
+    @Param({"f10", "f1k", "f10k"})
+    public String fields;
+
+    private Path directory;
+    private ConfigurationLoader loader;
+    private ConfigurationInjector injector;
+    private String packageName;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        int count = switch (fields) {
+            case "f10" -> 10;
+            case "f1k" -> 1_000;
+            case "f10k" -> 10_000;
+            default -> throw new IllegalArgumentException("Unknown field set: " + fields);
+        };
+
+        directory = Files.createTempDirectory("shiftmc-bench");
+        Files.writeString(directory.resolve(FILE_NAME), SyntheticConfig.render(fields, count));
+
+        loader = new ConfigurationLoader(FILE_NAME, directory);
+        packageName = "dev.shiftsad.benchmarks.synthetic." + fields;
+        injector = new ConfigurationInjector(loader);
+        injector.configurate(packageName);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /** First configurate call of a fresh injector: field discovery, plan compilation and injection. */
+    @Benchmark
+    public ConfigurationInjector configurateCold() {
+        ConfigurationInjector cold = new ConfigurationInjector(loader);
+        cold.configurate(packageName);
+        return cold;
+    }
+
+    /** Repeated configurate call reusing the compiled plan, as done on every reload. */
+    @Benchmark
+    public void configurateWarm() {
+        injector.configurate(packageName);
+    }
+}
@@ -0,0 +1,88 @@
+package dev.shiftsad.benchmarks;
+
+import dev.shiftsad.core.config.AdapterRegistry;
+import dev.shiftsad.core.config.ConfigKey;
+import dev.shiftsad.core.config.ConfigurationLoader;
+import dev.shiftsad.core.config.adapters.ConfigAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigurationLoaderBenchmark {
+
+    private static final String FILE_NAME = "benchmark.conf";
+
+    @Param({"10", "1000", "10000"})
+    public int keys;
+
+    private Path directory;
+    private ConfigurationLoader loader;
+    private String path;
+    private ConfigAdapter<Integer> adapter;
+    private ConfigKey<Integer> key;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("shiftmc-bench");
+        Files.writeString(directory.resolve(FILE_NAME), SyntheticConfig.render("bench", keys));
+
+        loader = new ConfigurationLoader(FILE_NAME, directory);
+        path = "bench.field" + (keys / 2 - keys / 2 % 4);
+        adapter = AdapterRegistry.getAdapter(Integer.class);
+        key = loader.key(path, int.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /** Reads, parses and resolves the whole file. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ConfigurationLoader parse() throws IOException {
+        return new ConfigurationLoader(FILE_NAME, directory);
+    }
+
+    @Benchmark
+    public Integer resolveByClass() {
+        return loader.get(path, Integer.class);
+    }
+
+    @Benchmark
+    public Integer resolveByAdapter() {
+        return loader.get(path, adapter);
+    }
+
+    @Benchmark
+    public int resolveByKey() {
+        return key.getInt();
+    }
+}
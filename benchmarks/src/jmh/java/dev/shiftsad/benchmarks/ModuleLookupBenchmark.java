@@ -0,0 +1,70 @@
+package dev.shiftsad.benchmarks;
+
+import dev.shiftsad.benchmarks.synthetic.modules.SyntheticGraphs;
+import dev.shiftsad.core.modules.Module;
+import dev.shiftsad.core.modules.ModuleHandle;
+import dev.shiftsad.core.modules.ModuleManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModuleLookupBenchmark {
+
+    private ModuleManager manager;
+    private Class<? extends Module> moduleClass;
+    private ModuleHandle<? extends Module> handle;
+
+    @Setup
+    public void setUp() {
+        List<Module> modules = SyntheticGraphs.wide();
+        manager = new ModuleManager();
+        for (Module module : modules) {
+            manager.registerModule(module);
+        }
+        manager.enableModules();
+
+        moduleClass = modules.getLast().getClass();
+        handle = manager.handle(moduleClass);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Module getByClass() {
+        return manager.get(moduleClass);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Module getByHandle() {
+        return handle.get();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Module getByClassContended() {
+        return manager.get(moduleClass);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Module getByHandleContended() {
+        return handle.get();
+    }
+}
@@ -0,0 +1,81 @@
+package dev.shiftsad.benchmarks;
+
+import dev.shiftsad.benchmarks.synthetic.modules.SyntheticGraphs;
+import dev.shiftsad.core.modules.Module;
+import dev.shiftsad.core.modules.ModuleManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enabling is a one-off operation on a fresh manager, so every measurement enables one freshly
+ * registered graph. Single-shot mode makes that explicit: the per-iteration setup runs outside the
+ * measured call, which a per-invocation setup around a microsecond-scale call cannot guarantee.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 200)
+@Measurement(iterations = 1000)
+@Fork(1)
+public class ModuleManagerBenchmark {
+
+    /** {@code wide}: every module depends on one root. {@code deep}: every module depends on the previous one. */
+    @Param({"wide", "deep"})
+    public String graph;
+
+    /** JMH CPU tokens burnt by each module's onEnable. */
+    @Param({"0", "10000"})
+    public long work;
+
+    private ModuleManager manager;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void startExecutor() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopExecutor() {
+        executor.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        SyntheticModule.work = work;
+
+        List<Module> modules = graph.equals("wide") ? SyntheticGraphs.wide() : SyntheticGraphs.deep();
+        manager = new ModuleManager();
+        for (Module module : modules) {
+            manager.registerModule(module);
+        }
+    }
+
+    @Benchmark
+    public ModuleManager enableSequential() {
+        manager.enableModules();
+        return manager;
+    }
+
+    @Benchmark
+    public ModuleManager enableParallel() {
+        manager.enableModulesInParallel(executor);
+        return manager;
+    }
+}
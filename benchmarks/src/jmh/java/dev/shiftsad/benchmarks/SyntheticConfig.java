@@ -0,0 +1,29 @@
+package dev.shiftsad.benchmarks;
+
+/**
+ * Renders HOCON documents matching the generated synthetic @Value classes.
+ */
+public final class SyntheticConfig {
+    private SyntheticConfig() {}
+
+    /**
+     * Renders {@code count} keys named {@code <prefix>.field<i>} whose types cycle through int, String, double and boolean.
+     */
+    public static String render(String prefix, int count) {
+        StringBuilder builder = new StringBuilder(count * 24);
+        builder.append(prefix).append(" {\n");
+        for (int i = 0; i < count; i++) {
+            builder.append("  field").append(i).append(" = ").append(value(i)).append('\n');
+        }
+        return builder.append("}\n").toString();
+    }
+
+    static String value(int i) {
+        return switch (i % 4) {
+            case 0 -> String.valueOf(i);
+            case 1 -> "\"value-" + i + "\"";
+            case 2 -> i + ".5";
+            default -> "true";
+        };
+    }
+}
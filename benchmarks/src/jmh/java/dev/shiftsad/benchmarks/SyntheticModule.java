@@ -0,0 +1,21 @@
+package dev.shiftsad.benchmarks;
+
+import dev.shiftsad.core.modules.Module;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Base class of the generated benchmark modules. Enabling one burns {@link #work} JMH CPU tokens.
+ */
+public abstract class SyntheticModule implements Module {
+
+    public static volatile long work;
+
+    @Override
+    public void onEnable() {
+        Blackhole.consumeCPU(work);
+    }
+
+    @Override public void onDisable() {}
+    @Override public void reload() {}
+    @Override public boolean isReady() { return true; }
+}
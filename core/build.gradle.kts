@@ -21,6 +21,8 @@ dependencies {
     implementation("com.typesafe:config:1.4.3")
     implementation("com.intellij:annotations:12.0")
     implementation("org.reflections:reflections:0.10.2")
+
+    testAnnotationProcessor(sourceSets.main.get().output)
 }
 
 tasks.test {
@@ -1,38 +1,211 @@
 package dev.shiftsad.core.config;
 
 import dev.shiftsad.core.config.adapters.*;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 public final class AdapterRegistry {
     private AdapterRegistry() {}
 
     private static final ConcurrentHashMap<Class<?>, ConfigAdapter<?>> adapters = new ConcurrentHashMap<>();
 
+    /**
+     * Bumped on every registration, so that cached resolutions made before it are recomputed.
+     */
+    private static volatile int generation;
+
+    /**
+     * The resolved adapter of a type, or null when the type cannot be read.
+     */
+    private record Resolution(int generation, @Nullable ConfigAdapter<?> adapter) {}
+
+    private static final ClassValue<Resolution> resolved = new ClassValue<>() {
+        @Override
+        protected Resolution computeValue(Class<?> type) {
+            misses.increment();
+            int current = generation;
+            return new Resolution(current, resolve(type));
+        }
+    };
+    private static final Map<Type, Resolution> resolvedGeneric = new ConcurrentHashMap<>();
+
+    private static final LongAdder lookups = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
     static {
         registerAdapter(String.class, StringAdapter.INSTANCE);
         registerAdapter(Boolean.class, BooleanAdapter.INSTANCE);
         registerAdapter(Long.class, LongAdapter.INSTANCE);
         registerAdapter(Double.class, DoubleAdapter.INSTANCE);
+        registerAdapter(Float.class, FloatAdapter.INSTANCE);
         registerAdapter(Integer.class, IntAdapter.INSTANCE);
     }
 
+    /**
+     * Registers the adapter for a type. The adapter is also used for subclasses and implementations
+     * of the type that have no adapter of their own, so it must be able to produce them,
+     * for example by choosing the implementation from the configured value.
+     */
     public static <T> void registerAdapter(Class<T> type, ConfigAdapter<T> adapter) {
         if (type == null || adapter == null) {
             throw new IllegalArgumentException("Type and adapter must not be null");
         }
         adapters.put(type, adapter);
+        generation++;
+        resolvedGeneric.clear();
+        Decoders.invalidate();
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Returns the adapter for the given type.
+     *
+     * @throws IllegalStateException if the type cannot be read from the configuration
+     * @see #findAdapter(Class)
+     */
     public static <T> ConfigAdapter<T> getAdapter(Class<T> type) {
-        if (type == null) {
-            throw new IllegalArgumentException("Type must not be null");
-        }
-        ConfigAdapter<T> adapter = (ConfigAdapter<T>) adapters.get(type);
+        ConfigAdapter<T> adapter = findAdapter(type);
         if (adapter == null) {
             throw new IllegalStateException("No adapter registered for type: " + type.getName());
         }
         return adapter;
     }
+
+    /**
+     * Returns the adapter for a possibly generic type.
+     *
+     * @throws IllegalStateException if the type cannot be read from the configuration
+     * @see #findAdapter(Type)
+     */
+    public static ConfigAdapter<?> getAdapter(Type type) {
+        ConfigAdapter<?> adapter = findAdapter(type);
+        if (adapter == null) {
+            throw new IllegalStateException("No adapter registered for type: " + type.getTypeName());
+        }
+        return adapter;
+    }
+
+    /**
+     * Returns the adapter for the given type, resolved in this order:
+     * the adapter registered for the type itself (primitives use their wrapper's),
+     * a decoder built for enums and records, the adapter of the nearest superclass,
+     * and the adapter of the first interface found walking up the hierarchy.
+     * The result, including the absence of an adapter, is cached per type until another adapter is registered.
+     *
+     * @return the adapter, or null if the type cannot be read from the configuration
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> @Nullable ConfigAdapter<T> findAdapter(Class<T> type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Type must not be null");
+        }
+        lookups.increment();
+
+        Resolution resolution = resolved.get(type);
+        if (resolution.generation != generation) {
+            resolved.remove(type);
+            resolution = resolved.get(type);
+        }
+        return (ConfigAdapter<T>) resolution.adapter;
+    }
+
+    /**
+     * Returns the adapter for a possibly generic type, such as the type of a field declared as
+     * {@code List<Pos>} or {@code Map<String, Integer>}.
+     * Lists, sets and maps with string keys are supported when their elements are; other parameterized
+     * types use the adapter of their raw class.
+     *
+     * @return the adapter, or null if the type cannot be read from the configuration
+     */
+    public static @Nullable ConfigAdapter<?> findAdapter(Type type) {
+        if (type instanceof Class<?> typeClass) {
+            return findAdapter(typeClass);
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("Type must not be null");
+        }
+        lookups.increment();
+
+        Resolution resolution = resolvedGeneric.get(type);
+        int current = generation;
+        if (resolution == null || resolution.generation != current) {
+            misses.increment();
+            ConfigAdapter<?> adapter = Decoders.forType(type);
+            if (adapter == null && type instanceof ParameterizedType parameterized && parameterized.getRawType() instanceof Class<?> raw) {
+                adapter = findAdapter(raw);
+            }
+            resolution = new Resolution(current, adapter);
+            resolvedGeneric.put(type, resolution);
+        }
+        return resolution.adapter;
+    }
+
+    /**
+     * Returns how many lookups were answered from the resolution cache.
+     */
+    public static long hits() {
+        return lookups.sum() - misses.sum();
+    }
+
+    /**
+     * Returns how many lookups had to resolve the type, either the first time it was looked up
+     * or after a registration.
+     */
+    public static long misses() {
+        return misses.sum();
+    }
+
+    static int generation() {
+        return generation;
+    }
+
+    static @Nullable ConfigAdapter<?> registered(Class<?> type) {
+        return adapters.get(type);
+    }
+
+    private static @Nullable ConfigAdapter<?> resolve(Class<?> type) {
+        Class<?> wrapped = SlotKind.wrap(type);
+        ConfigAdapter<?> adapter = adapters.get(wrapped);
+        if (adapter != null) return adapter;
+
+        if (wrapped.isEnum() || wrapped.isRecord()) {
+            return Decoders.forType(wrapped);
+        }
+        return inherited(wrapped);
+    }
+
+    /**
+     * Returns the adapter registered for the nearest superclass of the type,
+     * or else for the first of its interfaces found breadth-first.
+     */
+    static @Nullable ConfigAdapter<?> inherited(Class<?> type) {
+        for (Class<?> current = type.getSuperclass(); current != null && current != Object.class; current = current.getSuperclass()) {
+            ConfigAdapter<?> adapter = adapters.get(current);
+            if (adapter != null) return adapter;
+        }
+
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        Set<Class<?>> seen = new HashSet<>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            Collections.addAll(queue, current.getInterfaces());
+        }
+        while (!queue.isEmpty()) {
+            Class<?> candidate = queue.poll();
+            if (!seen.add(candidate)) continue;
+
+            ConfigAdapter<?> adapter = adapters.get(candidate);
+            if (adapter != null) return adapter;
+            Collections.addAll(queue, candidate.getInterfaces());
+        }
+        return null;
+    }
 }
@@ -0,0 +1,243 @@
+package dev.shiftsad.core.config;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigList;
+import com.typesafe.config.ConfigObject;
+import com.typesafe.config.ConfigValue;
+import com.typesafe.config.ConfigValueFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A binary snapshot of a resolved configuration, stored next to its source file.
+ * The snapshot starts with the SHA-256 of the source content it was compiled from, so a snapshot
+ * whose source has changed since is ignored and rewritten. The environment variables that
+ * substitutions fell back to are stored with their values, so the caller can tell whether the
+ * environment still resolves to the same configuration. Values are stored as a tagged tree
+ * and decoded from a memory-mapped buffer without going through the HOCON parser.
+ */
+final class CompiledConfigCache {
+
+    private static final int MAGIC = 0x534D4343;
+    private static final byte VERSION = 2;
+    private static final int HASH_LENGTH = 32;
+
+    private static final byte NULL = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte INT = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte STRING = 5;
+    private static final byte LIST = 6;
+    private static final byte OBJECT = 7;
+
+    private CompiledConfigCache() {}
+
+    /**
+     * Returns where the snapshot of the given configuration file is stored.
+     */
+    static @NotNull Path cacheFile(@NotNull Path source) {
+        return source.resolveSibling(source.getFileName() + ".cache");
+    }
+
+    static byte[] hash(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Reads the snapshot at the given location if it was compiled from content with the given hash.
+     *
+     * The substitutions it returns still have to be checked against the current environment.
+     *
+     * @return the configuration, or null if there is no snapshot or it is out of date
+     * @throws IOException if the snapshot exists but cannot be read
+     */
+    static @Nullable ConfigSources.Resolved read(@NotNull Path cache, byte[] hash) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(cache, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC || buffer.get() != VERSION) return null;
+
+            byte[] storedHash = new byte[HASH_LENGTH];
+            buffer.get(storedHash);
+            if (!Arrays.equals(storedHash, hash)) return null;
+
+            int count = readSize(buffer);
+            Map<String, String> substitutions = new TreeMap<>();
+            for (int i = 0; i < count; i++) {
+                String name = readString(buffer);
+                substitutions.put(name, buffer.get() != 0 ? readString(buffer) : null);
+            }
+
+            if (buffer.get() != OBJECT) return null;
+            Map<String, Object> root = readObject(buffer);
+            Config config = ConfigValueFactory.fromMap(root, "compiled cache " + cache).toConfig();
+            return new ConfigSources.Resolved(config, substitutions);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the snapshot of a configuration compiled from content with the given hash,
+     * along with the environment variables its substitutions read.
+     * The snapshot is written to a temporary file first and moved into place, so concurrent
+     * readers never see a partially written snapshot.
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    static void write(@NotNull Path cache, byte[] hash, @NotNull ConfigSources.Resolved resolved) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.write(hash);
+            out.writeInt(resolved.substitutions().size());
+            for (Map.Entry<String, String> substitution : resolved.substitutions().entrySet()) {
+                writeString(out, substitution.getKey());
+                out.writeBoolean(substitution.getValue() != null);
+                if (substitution.getValue() != null) writeString(out, substitution.getValue());
+            }
+            writeValue(out, resolved.config().root());
+        }
+
+        Path directory = cache.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, cache.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, cache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, ConfigValue value) throws IOException {
+        switch (value.valueType()) {
+            case NULL -> out.writeByte(NULL);
+            case BOOLEAN -> {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean((Boolean) value.unwrapped());
+            }
+            case NUMBER -> {
+                Object number = value.unwrapped();
+                if (number instanceof Integer i) {
+                    out.writeByte(INT);
+                    out.writeInt(i);
+                } else if (number instanceof Long l) {
+                    out.writeByte(LONG);
+                    out.writeLong(l);
+                } else {
+                    out.writeByte(DOUBLE);
+                    out.writeDouble(((Number) number).doubleValue());
+                }
+            }
+            case STRING -> {
+                out.writeByte(STRING);
+                writeString(out, (String) value.unwrapped());
+            }
+            case LIST -> {
+                ConfigList list = (ConfigList) value;
+                out.writeByte(LIST);
+                out.writeInt(list.size());
+                for (ConfigValue element : list) {
+                    writeValue(out, element);
+                }
+            }
+            case OBJECT -> {
+                ConfigObject object = (ConfigObject) value;
+                out.writeByte(OBJECT);
+                out.writeInt(object.size());
+                for (Map.Entry<String, ConfigValue> entry : object.entrySet()) {
+                    writeString(out, entry.getKey());
+                    writeValue(out, entry.getValue());
+                }
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static Object readValue(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        return switch (tag) {
+            case NULL -> null;
+            case BOOLEAN -> buffer.get() != 0;
+            case INT -> buffer.getInt();
+            case LONG -> buffer.getLong();
+            case DOUBLE -> buffer.getDouble();
+            case STRING -> readString(buffer);
+            case LIST -> {
+                int size = readSize(buffer);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(buffer));
+                }
+                yield list;
+            }
+            case OBJECT -> readObject(buffer);
+            default -> throw new IllegalArgumentException("Unknown value tag " + tag);
+        };
+    }
+
+    private static Map<String, Object> readObject(ByteBuffer buffer) {
+        int size = readSize(buffer);
+        Map<String, Object> object = new LinkedHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            String key = readString(buffer);
+            object.put(key, readValue(buffer));
+        }
+        return object;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] utf8 = new byte[readSize(buffer)];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads an element count or length, rejecting values that a truncated or corrupt snapshot could produce.
+     */
+    private static int readSize(ByteBuffer buffer) {
+        int size = buffer.getInt();
+        if (size < 0 || size > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid size " + size);
+        }
+        return size;
+    }
+}
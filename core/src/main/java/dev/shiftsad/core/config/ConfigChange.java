@@ -0,0 +1,20 @@
+package dev.shiftsad.core.config;
+
+import com.typesafe.config.ConfigValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * One flattened key that differs between two configurations.
+ *
+ * @param previous the value before the change, null if the key was added
+ * @param current  the value after the change, null if the key was removed
+ */
+public record ConfigChange(@NotNull Kind kind, @NotNull String key, @Nullable ConfigValue previous, @Nullable ConfigValue current) {
+
+    public enum Kind {
+        ADDED,
+        REMOVED,
+        CHANGED
+    }
+}
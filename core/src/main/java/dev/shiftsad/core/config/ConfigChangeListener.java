@@ -0,0 +1,15 @@
+package dev.shiftsad.core.config;
+
+import org.jetbrains.annotations.NotNull;
+
+@FunctionalInterface
+public interface ConfigChangeListener {
+
+    /**
+     * Called after a new configuration snapshot was published, if it changed a key
+     * under the prefix the listener was registered for.
+     *
+     * @param changes the changes under that prefix, never empty
+     */
+    void onChange(@NotNull ConfigDiff changes);
+}
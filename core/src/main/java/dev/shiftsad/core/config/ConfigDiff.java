@@ -0,0 +1,136 @@
+package dev.shiftsad.core.config;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigValue;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The flattened keys that were added, removed or changed between two configurations.
+ * Computing a diff takes time linear in the number of keys, plus O(k log k) to sort the k
+ * changed keys; the changes are kept sorted by key, so the changes under a prefix are found
+ * with two binary searches.
+ */
+public final class ConfigDiff implements Iterable<ConfigChange> {
+
+    private static final ConfigDiff EMPTY = new ConfigDiff(List.of());
+
+    private final List<ConfigChange> changes;
+
+    private ConfigDiff(List<ConfigChange> changes) {
+        this.changes = changes;
+    }
+
+    public static @NotNull ConfigDiff empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Compares the flattened leaf keys of two configurations.
+     */
+    public static @NotNull ConfigDiff between(@NotNull Config previous, @NotNull Config current) {
+        Map<String, ConfigValue> before = new HashMap<>();
+        for (Map.Entry<String, ConfigValue> entry : previous.entrySet()) {
+            before.put(entry.getKey(), entry.getValue());
+        }
+
+        List<ConfigChange> changes = new ArrayList<>();
+        for (Map.Entry<String, ConfigValue> entry : current.entrySet()) {
+            ConfigValue old = before.remove(entry.getKey());
+            if (old == null) {
+                changes.add(new ConfigChange(ConfigChange.Kind.ADDED, entry.getKey(), null, entry.getValue()));
+            } else if (!old.equals(entry.getValue())) {
+                changes.add(new ConfigChange(ConfigChange.Kind.CHANGED, entry.getKey(), old, entry.getValue()));
+            }
+        }
+        for (Map.Entry<String, ConfigValue> entry : before.entrySet()) {
+            changes.add(new ConfigChange(ConfigChange.Kind.REMOVED, entry.getKey(), entry.getValue(), null));
+        }
+
+        if (changes.isEmpty()) return EMPTY;
+        changes.sort(Comparator.comparing(ConfigChange::key));
+        return new ConfigDiff(Collections.unmodifiableList(changes));
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    public int size() {
+        return changes.size();
+    }
+
+    public @NotNull List<ConfigChange> changes() {
+        return changes;
+    }
+
+    /**
+     * Returns the changed keys, in sorted order.
+     */
+    public @NotNull Set<String> keys() {
+        Set<String> keys = new LinkedHashSet<>(changes.size() * 2);
+        for (ConfigChange change : changes) {
+            keys.add(change.key());
+        }
+        return Collections.unmodifiableSet(keys);
+    }
+
+    /**
+     * Returns the changes of the key equal to the prefix and of the keys below it.
+     * The prefix {@code menuConfiguration} matches {@code menuConfiguration.cameraPosition.x}
+     * but not {@code menuConfigurationV2}; the empty prefix matches every key.
+     */
+    public @NotNull ConfigDiff under(@NotNull String prefix) {
+        if (prefix.isEmpty() || changes.isEmpty()) return this;
+
+        List<ConfigChange> matching = new ArrayList<>();
+        int exact = search(prefix);
+        if (exact < changes.size() && changes.get(exact).key().equals(prefix)) {
+            matching.add(changes.get(exact));
+        }
+
+        // Keys below the prefix sort between "prefix." and "prefix/", since '/' follows '.'.
+        int from = search(prefix + ".");
+        int to = search(prefix + "/");
+        matching.addAll(changes.subList(from, to));
+
+        if (matching.isEmpty()) return EMPTY;
+        return matching.size() == changes.size() ? this : new ConfigDiff(Collections.unmodifiableList(matching));
+    }
+
+    /**
+     * Returns the index of the first change whose key is not smaller than the given key.
+     */
+    private int search(String key) {
+        int low = 0;
+        int high = changes.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (changes.get(middle).key().compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public @NotNull Iterator<ConfigChange> iterator() {
+        return changes.iterator();
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigDiff" + changes;
+    }
+}
@@ -0,0 +1,108 @@
+package dev.shiftsad.core.config;
+
+import com.typesafe.config.Config;
+import dev.shiftsad.core.config.adapters.ConfigAdapter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A pre-resolved handle to a configuration value, created with {@link ConfigurationLoader#key(String, Class)}.
+ * The path and adapter are resolved once; every read is served from the loader's current snapshot
+ * without parsing the path or looking up an adapter. The primitive accessors never box.
+ *
+ * @param <T> the type of the value
+ */
+public final class ConfigKey<T> {
+
+    private final ConfigurationLoader loader;
+    private final String path;
+    private final Class<T> type;
+    private final ConfigAdapter<?> adapter;
+    final byte kind;
+    final int slot;
+
+    ConfigKey(ConfigurationLoader loader, String path, Class<T> type, ConfigAdapter<?> adapter, byte kind, int slot) {
+        this.loader = loader;
+        this.path = path;
+        this.type = type;
+        this.adapter = adapter;
+        this.kind = kind;
+        this.slot = slot;
+    }
+
+    public @NotNull String path() {
+        return path;
+    }
+
+    public @NotNull Class<T> type() {
+        return type;
+    }
+
+    /**
+     * Returns the current value. Values of primitive keys are boxed; use the primitive accessors to avoid that.
+     */
+    @SuppressWarnings("unchecked")
+    public T get() {
+        ConfigSnapshot snapshot = loader.snapshot();
+        if (kind == SlotKind.INT) return (T) (Integer) snapshot.ints[slot];
+        if (kind == SlotKind.LONG) return (T) (Long) snapshot.longs[slot];
+        if (kind == SlotKind.DOUBLE) return (T) (Double) snapshot.doubles[slot];
+        if (kind == SlotKind.BOOLEAN) return (T) (Boolean) snapshot.booleans[slot];
+        return (T) snapshot.objects[slot];
+    }
+
+    /**
+     * @throws IllegalStateException if this key was not created for {@code int} or {@link Integer}
+     */
+    public int getInt() {
+        requireKind(SlotKind.INT);
+        return loader.snapshot().ints[slot];
+    }
+
+    /**
+     * @throws IllegalStateException if this key was not created for {@code long} or {@link Long}
+     */
+    public long getLong() {
+        requireKind(SlotKind.LONG);
+        return loader.snapshot().longs[slot];
+    }
+
+    /**
+     * @throws IllegalStateException if this key was not created for {@code double} or {@link Double}
+     */
+    public double getDouble() {
+        requireKind(SlotKind.DOUBLE);
+        return loader.snapshot().doubles[slot];
+    }
+
+    /**
+     * @throws IllegalStateException if this key was not created for {@code boolean} or {@link Boolean}
+     */
+    public boolean getBoolean() {
+        requireKind(SlotKind.BOOLEAN);
+        return loader.snapshot().booleans[slot];
+    }
+
+    /**
+     * Reads this key from the given config into its slot of the snapshot being built.
+     */
+    void load(Config config, ConfigSnapshot snapshot) {
+        switch (kind) {
+            case SlotKind.INT -> snapshot.ints[slot] = config.getInt(path);
+            case SlotKind.LONG -> snapshot.longs[slot] = config.getLong(path);
+            case SlotKind.DOUBLE -> snapshot.doubles[slot] = config.getDouble(path);
+            case SlotKind.BOOLEAN -> snapshot.booleans[slot] = config.getBoolean(path);
+            default -> snapshot.objects[slot] = adapter.fromConfig(config, path);
+        }
+    }
+
+    private void requireKind(byte expected) {
+        if (kind != expected) {
+            throw new IllegalStateException("Config key '" + path + "' holds a " + type.getName() + " value");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigKey[" + path + ", " + type.getName() + "]";
+    }
+}
@@ -0,0 +1,16 @@
+package dev.shiftsad.core.config;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+
+@FunctionalInterface
+public interface ConfigReloadListener {
+
+    /**
+     * Called after a new configuration snapshot was published.
+     *
+     * @param changedKeys the flattened keys whose values were added, removed or changed
+     */
+    void onReload(@NotNull Set<String> changedKeys);
+}
@@ -0,0 +1,48 @@
+package dev.shiftsad.core.config;
+
+import com.typesafe.config.Config;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * An immutable, atomically published view of the configuration.
+ * Besides the parsed {@link Config}, it holds the value of every registered {@link ConfigKey}
+ * in a flat array per storage kind, so reads through a key are a single array load.
+ */
+final class ConfigSnapshot {
+
+    final Config config;
+    final int[] ints;
+    final long[] longs;
+    final double[] doubles;
+    final boolean[] booleans;
+    final Object[] objects;
+
+    private ConfigSnapshot(Config config, int[] slotCounts) {
+        this.config = config;
+        this.ints = new int[slotCounts[SlotKind.INT]];
+        this.longs = new long[slotCounts[SlotKind.LONG]];
+        this.doubles = new double[slotCounts[SlotKind.DOUBLE]];
+        this.booleans = new boolean[slotCounts[SlotKind.BOOLEAN]];
+        this.objects = new Object[slotCounts[SlotKind.OBJECT]];
+    }
+
+    /**
+     * Evaluates every key against the given config.
+     *
+     * @throws com.typesafe.config.ConfigException if a key is missing or has the wrong type
+     */
+    static @NotNull ConfigSnapshot of(@NotNull Config config, @NotNull List<ConfigKey<?>> keys) {
+        int[] slotCounts = new int[5];
+        for (ConfigKey<?> key : keys) {
+            slotCounts[key.kind]++;
+        }
+
+        ConfigSnapshot snapshot = new ConfigSnapshot(config, slotCounts);
+        for (ConfigKey<?> key : keys) {
+            key.load(config, snapshot);
+        }
+        return snapshot;
+    }
+}
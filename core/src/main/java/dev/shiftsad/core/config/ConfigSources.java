@@ -0,0 +1,336 @@
+package dev.shiftsad.core.config;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigObject;
+import com.typesafe.config.ConfigResolveOptions;
+import com.typesafe.config.ConfigResolver;
+import com.typesafe.config.ConfigValue;
+import com.typesafe.config.ConfigValueFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The layers a {@link ConfigurationLoader} merges into one configuration, from lowest to highest precedence:
+ * <ol>
+ *     <li>the classpath defaults, the resource named like the configuration file;</li>
+ *     <li>the shared configuration file;</li>
+ *     <li>the profile file of the node, {@code <name>-<profile>.<extension>} next to the shared file;</li>
+ *     <li>environment variable overrides;</li>
+ *     <li>system property overrides.</li>
+ * </ol>
+ * Every layer is optional except the shared file when classpath defaults are not merged.
+ * The layers are merged before substitutions are resolved, so a {@code ${path}} in the shared file
+ * sees the value of an override. A substitution that no layer defines falls back to the environment
+ * variable of that name, and the variables read that way are recorded with the result, since they are
+ * not part of the layers.
+ */
+final class ConfigSources {
+
+    private final String resource;
+    private final Path file;
+    private final boolean mergeDefaults;
+    private final @Nullable Path profileFile;
+    private final @Nullable String environmentPrefix;
+    private final @Nullable String propertyPrefix;
+    private final Supplier<Map<String, String>> environment;
+
+    ConfigSources(@NotNull String resource, @NotNull Path file, boolean mergeDefaults, @Nullable String profile,
+                  @Nullable String environmentPrefix, @Nullable String propertyPrefix, @NotNull Supplier<Map<String, String>> environment) {
+        this.resource = resource;
+        this.file = file;
+        this.mergeDefaults = mergeDefaults;
+        this.profileFile = profile == null || profile.isBlank() ? null : profileFile(file, profile);
+        this.environmentPrefix = environmentPrefix;
+        this.propertyPrefix = propertyPrefix;
+        this.environment = environment;
+    }
+
+    /**
+     * The raw content of every layer, read once per load.
+     * Absent layers are null; the overrides are sorted so that equal inputs produce equal fingerprints.
+     */
+    record Layers(@Nullable byte[] defaults, @Nullable byte[] shared, @Nullable byte[] profile,
+                  Map<String, String> environment, Map<String, String> properties) {
+
+        /**
+         * Returns the SHA-256 of every layer, which identifies the merged configuration.
+         * A configuration read from the shared file alone hashes to the hash of its content,
+         * so snapshots compiled from a single file stay valid.
+         */
+        byte[] hash() {
+            if (defaults == null && profile == null && environment.isEmpty() && properties.isEmpty()) {
+                return CompiledConfigCache.hash(shared);
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                writeContent(out, defaults);
+                writeContent(out, shared);
+                writeContent(out, profile);
+                writeOverrides(out, environment);
+                writeOverrides(out, properties);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return CompiledConfigCache.hash(bytes.toByteArray());
+        }
+
+        private static void writeContent(DataOutputStream out, byte[] content) throws IOException {
+            if (content == null) {
+                out.writeInt(-1);
+                return;
+            }
+            out.writeInt(content.length);
+            out.write(content);
+        }
+
+        private static void writeOverrides(DataOutputStream out, Map<String, String> overrides) throws IOException {
+            out.writeInt(overrides.size());
+            for (Map.Entry<String, String> entry : overrides.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeUTF(entry.getValue());
+            }
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    @Nullable Path profileFile() {
+        return profileFile;
+    }
+
+    /**
+     * Reads every layer. Without merged classpath defaults, a missing shared file is first
+     * created from the classpath resource, as a single-file configuration always has been.
+     *
+     * @throws IOException if a file cannot be read, or the shared file is required but missing
+     */
+    @NotNull Layers read() throws IOException {
+        byte[] defaults = null;
+        byte[] shared;
+        if (mergeDefaults) {
+            defaults = readResource();
+            shared = Files.exists(file) ? Files.readAllBytes(file) : null;
+            if (defaults == null && shared == null) {
+                throw new IOException("Configuration file " + file + " does not exist and no defaults were found in resources: /" + resource);
+            }
+        } else {
+            if (!Files.exists(file)) copyDefaults();
+            shared = Files.readAllBytes(file);
+        }
+        byte[] profile = profileFile != null && Files.exists(profileFile) ? Files.readAllBytes(profileFile) : null;
+
+        return new Layers(defaults, shared, profile, environmentOverrides(), propertyOverrides());
+    }
+
+    /**
+     * A resolved configuration and the environment variables its substitutions fell back to,
+     * with a null value for each variable that was not set.
+     */
+    record Resolved(@NotNull Config config, @NotNull Map<String, String> substitutions) {}
+
+    /**
+     * Merges the layers and resolves the result.
+     *
+     * @param parse parses the content of one file layer without resolving it
+     * @throws com.typesafe.config.ConfigException if a layer cannot be parsed or the result cannot be resolved
+     */
+    @NotNull Resolved merge(@NotNull Layers layers, @NotNull Function<byte[], Config> parse) {
+        Config files = ConfigFactory.empty();
+        for (byte[] content : new byte[][]{layers.profile, layers.shared, layers.defaults}) {
+            if (content != null) files = files.withFallback(parse.apply(content));
+        }
+
+        Config merged = files;
+        if (!layers.environment.isEmpty()) {
+            merged = ConfigFactory.parseMap(matchEnvironment(layers.environment, files)).withFallback(merged);
+        }
+        if (!layers.properties.isEmpty()) {
+            merged = ConfigFactory.parseMap(layers.properties).withFallback(merged);
+        }
+
+        Map<String, String> substitutions = new TreeMap<>();
+        EnvironmentResolver resolver = new EnvironmentResolver(environment.get(), substitutions);
+        Config resolved = merged.resolve(ConfigResolveOptions.noSystem().appendResolver(resolver));
+        return new Resolved(resolved, substitutions);
+    }
+
+    /**
+     * Returns whether the environment variables still hold the values a configuration was resolved with.
+     */
+    boolean unchanged(@NotNull Map<String, String> substitutions) {
+        if (substitutions.isEmpty()) return true;
+
+        Map<String, String> variables = environment.get();
+        for (Map.Entry<String, String> substitution : substitutions.entrySet()) {
+            if (!Objects.equals(variables.get(substitution.getKey()), substitution.getValue())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Describes the layers that contributed to a load, for the log.
+     */
+    @NotNull String describe(@NotNull Layers layers) {
+        List<String> parts = new ArrayList<>(5);
+        if (layers.defaults != null) parts.add("classpath defaults");
+        if (layers.shared != null) parts.add(file.getFileName().toString());
+        if (layers.profile != null) parts.add(profileFile.getFileName().toString());
+        if (!layers.environment.isEmpty()) parts.add(layers.environment.size() + " environment overrides");
+        if (!layers.properties.isEmpty()) parts.add(layers.properties.size() + " system property overrides");
+        return String.join(", ", parts);
+    }
+
+    private @Nullable byte[] readResource() throws IOException {
+        URL url = ConfigurationLoader.class.getResource("/" + resource);
+        if (url == null) return null;
+
+        try (InputStream in = url.openStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private void copyDefaults() throws IOException {
+        URL defaultConfig = ConfigurationLoader.class.getResource("/" + resource);
+        if (defaultConfig == null) {
+            throw new IOException("Default configuration file not found in resources: /" + resource);
+        }
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (InputStream inputStream = defaultConfig.openStream()) {
+            Files.copy(inputStream, file);
+        }
+    }
+
+    /**
+     * Returns the environment variables starting with the prefix, without the prefix.
+     */
+    private Map<String, String> environmentOverrides() {
+        if (environmentPrefix == null) return Map.of();
+
+        Map<String, String> overrides = new TreeMap<>();
+        for (Map.Entry<String, String> entry : environment.get().entrySet()) {
+            String name = entry.getKey();
+            if (name.length() > environmentPrefix.length() && name.startsWith(environmentPrefix)) {
+                overrides.put(name.substring(environmentPrefix.length()), entry.getValue());
+            }
+        }
+        return overrides;
+    }
+
+    /**
+     * Returns the system properties starting with the prefix; the rest of the name is the config path.
+     */
+    private Map<String, String> propertyOverrides() {
+        if (propertyPrefix == null) return Map.of();
+
+        Map<String, String> overrides = new TreeMap<>();
+        Properties properties = System.getProperties();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.length() > propertyPrefix.length() && name.startsWith(propertyPrefix)) {
+                overrides.put(name.substring(propertyPrefix.length()), properties.getProperty(name));
+            }
+        }
+        return overrides;
+    }
+
+    /**
+     * Environment variable names cannot hold dots or mixed case reliably, so each variable is matched
+     * against the paths the file layers define: {@code MENUCONFIGURATION_POOL_SIZE} overrides
+     * {@code menuConfiguration.pool.size}. Variables that match no path are ignored.
+     */
+    private static Map<String, String> matchEnvironment(Map<String, String> variables, Config files) {
+        Map<String, String> paths = new HashMap<>();
+        collectPaths(files.root(), "", paths);
+
+        Map<String, String> overrides = new HashMap<>();
+        for (Map.Entry<String, String> variable : variables.entrySet()) {
+            String path = paths.get(variable.getKey().toUpperCase(Locale.ROOT));
+            if (path != null) {
+                overrides.put(path, variable.getValue());
+            }
+        }
+        return overrides;
+    }
+
+    /**
+     * Walks the objects without reading the leaves, which may still hold unresolved substitutions.
+     */
+    private static void collectPaths(ConfigObject object, String prefix, Map<String, String> paths) {
+        for (Map.Entry<String, ConfigValue> entry : object.entrySet()) {
+            String path = prefix + entry.getKey();
+            paths.put(environmentName(path), path);
+            if (entry.getValue() instanceof ConfigObject child) {
+                collectPaths(child, path + ".", paths);
+            }
+        }
+    }
+
+    private static String environmentName(String path) {
+        return path.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_');
+    }
+
+    /**
+     * Looks substitutions up in the environment like Typesafe Config does on its own,
+     * recording every variable it is asked for.
+     */
+    private record EnvironmentResolver(Map<String, String> variables, Map<String, String> read) implements ConfigResolver {
+
+        @Override
+        public ConfigValue lookup(String path) {
+            String value = variables.get(path);
+            read.put(path, value);
+            return value == null ? null : ConfigValueFactory.fromAnyRef(value, "environment variable " + path);
+        }
+
+        @Override
+        public ConfigResolver withFallback(ConfigResolver fallback) {
+            EnvironmentResolver first = this;
+            return new ConfigResolver() {
+                @Override
+                public ConfigValue lookup(String path) {
+                    ConfigValue value = first.lookup(path);
+                    return value != null ? value : fallback.lookup(path);
+                }
+
+                @Override
+                public ConfigResolver withFallback(ConfigResolver next) {
+                    return first.withFallback(fallback.withFallback(next));
+                }
+            };
+        }
+    }
+
+    private static Path profileFile(Path file, String profile) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String profileName = dot > 0
+                ? name.substring(0, dot) + "-" + profile + name.substring(dot)
+                : name + "-" + profile;
+        return file.resolveSibling(profileName);
+    }
+}
@@ -0,0 +1,19 @@
+package dev.shiftsad.core.config;
+
+import com.typesafe.config.Config;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+
+@FunctionalInterface
+public interface ConfigValidator {
+
+    /**
+     * Called with a reloaded configuration before it replaces the current snapshot.
+     *
+     * @param config      the reloaded configuration
+     * @param changedKeys the flattened keys whose values were added, removed or changed
+     * @throws dev.shiftsad.core.config.constraints.ConfigValidationException to reject the configuration
+     */
+    void validate(@NotNull Config config, @NotNull Set<String> changedKeys);
+}
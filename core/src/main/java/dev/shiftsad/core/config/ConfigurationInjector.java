@@ -1,102 +1,275 @@
 package dev.shiftsad.core.config;
 
-import dev.shiftsad.core.config.adapters.ConfigAdapter;
+import com.typesafe.config.Config;
+import dev.shiftsad.core.config.constraints.ConfigValidationException;
+import dev.shiftsad.core.config.constraints.Violation;
+import dev.shiftsad.core.profiling.Phase;
+import dev.shiftsad.core.profiling.Span;
+import dev.shiftsad.core.profiling.StartupProfiler;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.reflections.Reflections;
 import org.reflections.scanners.Scanners;
 import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ConfigurationInjector {
 
+    /**
+     * When set, packages resolved from the build-time index are also scanned reflectively
+     * so the log can report how much time the index saved.
+     */
+    private static final String COMPARE_INDEX_PROPERTY = "shiftmc.config.index.compare";
+
     private final Logger logger = LoggerFactory.getLogger(ConfigurationInjector.class);
     private final @NotNull ConfigurationLoader loader;
+    private final @NotNull StartupProfiler profiler;
+    private final ClassLoader classLoader = resolveClassLoader();
+    private volatile @Nullable ValueIndex valueIndex;
+    private volatile boolean valueIndexLoaded;
+    private final ConcurrentHashMap<String, InjectionPlan> plans = new ConcurrentHashMap<>();
 
     public ConfigurationInjector(@NotNull ConfigurationLoader loader) {
+        this(loader, StartupProfiler.disabled());
+    }
+
+    /**
+     * @param profiler receives the timing of every scan and injection pass
+     */
+    public ConfigurationInjector(@NotNull ConfigurationLoader loader, @NotNull StartupProfiler profiler) {
         this.loader = loader;
+        this.profiler = profiler;
     }
 
-    private static final Map<Class<?>, Class<?>> PRIMITIVE_TO_WRAPPER = Map.of(
-            int.class, Integer.class,
-            long.class, Long.class,
-            double.class, Double.class,
-            float.class, Float.class,
-            boolean.class, Boolean.class,
-            char.class, Character.class,
-            byte.class, Byte.class,
-            short.class, Short.class,
-            void.class, Void.class
-    );
+    /**
+     * Uses the given index instead of the one on the classpath; null behaves as if no index was generated.
+     */
+    ConfigurationInjector(@NotNull ConfigurationLoader loader, @NotNull StartupProfiler profiler, @Nullable ValueIndex valueIndex) {
+        this(loader, profiler);
+        this.valueIndex = valueIndex;
+        this.valueIndexLoaded = true;
+    }
 
     /**
      * Scans the specified package for static fields annotated with @Value and injects configuration values into them.
+     * Fields are looked up in the build-time {@link ValueIndex} when one is present on the classpath,
+     * otherwise the package is scanned with Reflections.
+     * The fields of a package are compiled into an {@link InjectionPlan} on the first call and reused afterwards.
+     * Constraint annotations such as {@link dev.shiftsad.core.config.constraints.Range} are checked for every field
+     * before any of them is written.
+     *
+     * @throws ConfigValidationException listing every value that breaks a constraint; no field is written then
      */
     public void configurate(String packageToScan) {
-        Reflections reflections = new Reflections(new ConfigurationBuilder()
-                .forPackage(packageToScan)
-                .addScanners(Scanners.FieldsAnnotated));
+        InjectionPlan plan = plans.computeIfAbsent(packageToScan, this::compile);
+        if (plan.size() == 0) return;
 
-        Set<Field> annotatedFields = reflections.getFieldsAnnotatedWith(Value.class);
-        if (annotatedFields.isEmpty()) {
-            logger.debug("No fields annotated with @Value found in package: {}", packageToScan);
-            return;
+        try (Span ignored = profiler.start(Phase.INJECT, packageToScan)) {
+            plan.inject(loader.config(), logger);
         }
+    }
 
-        logger.debug("Found {} fields annotated with @Value", annotatedFields.size());
-        for (Field field : annotatedFields) {
-            int modifiers = field.getModifiers();
-            Class<?> declaringClass = field.getDeclaringClass();
-            String fieldName = field.getName();
-
-            if (!Modifier.isStatic(modifiers)) {
-                logger.trace("Skipping non-static field {}.{}. This injector only supports static fields.", declaringClass.getName(), fieldName);
-                continue;
+    /**
+     * Re-runs every plan compiled so far against the loader's current configuration.
+     * Used after a reload so no package has to be scanned or resolved again.
+     *
+     * @throws ConfigValidationException listing the violations of every package; packages with violations keep their previous values
+     */
+    public void reinject() {
+        List<Violation> violations = null;
+        for (Map.Entry<String, InjectionPlan> entry : plans.entrySet()) {
+            try (Span ignored = profiler.start(Phase.INJECT, entry.getKey())) {
+                entry.getValue().inject(loader.config(), logger);
+            } catch (ConfigValidationException e) {
+                if (violations == null) violations = new ArrayList<>();
+                violations.addAll(e.violations());
             }
+        }
+        if (violations != null) throw new ConfigValidationException(violations);
+    }
 
-            if (Modifier.isFinal(modifiers)) {
-                logger.warn("Cannot inject value into final static field: {}.{}. Skipping.", declaringClass.getName(), fieldName);
-                continue;
+    /**
+     * Re-runs the compiled plans only for fields that read one of the changed keys.
+     * Matches {@link ConfigReloadListener}, so it can be registered with
+     * {@code loader.addReloadListener(injector::reinject)}.
+     *
+     * @throws ConfigValidationException listing the violations of every package; packages with violations keep their previous values
+     */
+    public void reinject(@NotNull Set<String> changedKeys) {
+        if (changedKeys.isEmpty()) return;
+
+        List<Violation> violations = null;
+        for (Map.Entry<String, InjectionPlan> entry : plans.entrySet()) {
+            try (Span ignored = profiler.start(Phase.INJECT, entry.getKey())) {
+                entry.getValue().inject(loader.config(), changedKeys, logger);
+            } catch (ConfigValidationException e) {
+                if (violations == null) violations = new ArrayList<>();
+                violations.addAll(e.violations());
             }
+        }
+        if (violations != null) throw new ConfigValidationException(violations);
+    }
 
+    /**
+     * Checks the compiled plans against a configuration for fields that read one of the changed keys, without writing them.
+     * Matches {@link ConfigValidator}, so registering it with {@code loader.addValidator(injector::validate)}
+     * makes the loader reject a reload that breaks a constraint before publishing it.
+     *
+     * @throws ConfigValidationException listing the violations of every package
+     */
+    public void validate(@NotNull Config config, @NotNull Set<String> changedKeys) {
+        if (changedKeys.isEmpty()) return;
+
+        List<Violation> violations = null;
+        for (InjectionPlan plan : plans.values()) {
             try {
-                Value annotation = field.getAnnotation(Value.class);
-                String configKey = annotation.value();
+                plan.validate(config, changedKeys);
+            } catch (ConfigValidationException e) {
+                if (violations == null) violations = new ArrayList<>();
+                violations.addAll(e.violations());
+            }
+        }
+        if (violations != null) throw new ConfigValidationException(violations);
+    }
+
+    /**
+     * Injects the @Value instance fields of the given object, including those declared by its superclasses.
+     * The fields of a class are resolved once and the values are decoded once per configuration snapshot,
+     * so injecting many objects of the same class only costs the field writes.
+     * Objects injected from the same snapshot share the decoded values.
+     * A field that cannot be read from the configuration is logged and left untouched.
+     *
+     * @throws IllegalStateException if a @Value field has a type that cannot be read from the configuration
+     * @throws ConfigValidationException if values break the constraints of their fields; no field is written then
+     */
+    public void inject(@NotNull Object target) {
+        injectInto(InstanceBinder.of(target.getClass()), target);
+    }
 
-                Class<?> fieldType = field.getType();
-                Class<?> wrapperType = getWrapperType(fieldType);
+    private <T> void injectInto(InstanceBinder<T> binder, Object target) {
+        @SuppressWarnings("unchecked") T typed = (T) target;
+        binder.inject(typed, loader.config(), logger);
+    }
 
-                @SuppressWarnings("unchecked")
-                ConfigAdapter<Object> adapter = (ConfigAdapter<Object>) AdapterRegistry.getAdapter(wrapperType);
+    /**
+     * Creates an object through its constructor whose parameters are all annotated with @Value,
+     * such as a record with annotated components, and injects its @Value instance fields.
+     * Like {@link #inject(Object)}, the constructor and arguments are resolved once per class and snapshot.
+     *
+     * @throws IllegalArgumentException if the class has no constructor with only @Value parameters
+     * @throws IllegalStateException if a parameter or field has a type that cannot be read from the configuration
+     * @throws com.typesafe.config.ConfigException if a constructor argument cannot be read from the configuration
+     * @throws ConfigValidationException if arguments or field values break their constraints
+     */
+    public <T> @NotNull T create(@NotNull Class<T> type) {
+        return InstanceBinder.of(type).create(loader.config(), logger);
+    }
 
-                Object value = loader.get(configKey, adapter);
-                field.setAccessible(true);
-                field.set(null, value);
+    /**
+     * Returns the classes declaring an injected field that reads one of the changed keys,
+     * among the packages configured so far.
+     */
+    public @NotNull Set<Class<?>> classesReading(@NotNull Set<String> changedKeys) {
+        Set<Class<?>> readers = new HashSet<>();
+        if (changedKeys.isEmpty()) return readers;
 
-                logger.debug("Injected value for {}.{}: {}", declaringClass.getName(), fieldName, value);
-            } catch (IllegalStateException e) {
-                logger.warn("No adapter registered for type {} (field {}.{}). Skipping.", field.getType(), declaringClass.getName(), fieldName);
-            } catch (Exception e) {
-                String configKey = field.getAnnotation(Value.class).value();
-                logger.warn("Failed to inject value into field {}.{} (config key '{}'): {}. Skipping.", declaringClass.getName(), fieldName, configKey, e.getMessage());
-            }
+        for (InjectionPlan plan : plans.values()) {
+            plan.collectReaders(changedKeys, readers);
+        }
+        return readers;
+    }
+
+    private InjectionPlan compile(String packageToScan) {
+        Set<Field> annotatedFields;
+        try (Span ignored = profiler.start(Phase.SCAN, packageToScan)) {
+            annotatedFields = findAnnotatedFields(packageToScan);
+        }
+        if (annotatedFields.isEmpty()) {
+            logger.debug("No fields annotated with @Value found in package: {}", packageToScan);
+        } else {
+            logger.debug("Found {} fields annotated with @Value", annotatedFields.size());
         }
+        return InjectionPlan.compile(annotatedFields, logger);
     }
 
     /**
-     * Returns the wrapper type for a given class if it's a primitive, otherwise
-     * returns the class itself.
+     * Resolves the @Value fields of a package from the build-time index,
+     * falling back to a classpath scan when the index is missing, out of date, or has no entries for the package.
+     * The index is the merge of every jar that ran the annotation processor, so a package compiled without it
+     * has no entries even though an index exists.
      */
-    @SuppressWarnings("unchecked")
-    private static <T> Class<T> getWrapperType(Class<T> type) {
-        if (type.isPrimitive()) {
-            return (Class<T>) PRIMITIVE_TO_WRAPPER.get(type);
+    private Set<Field> findAnnotatedFields(String packageToScan) {
+        ValueIndex index = valueIndex();
+        if (index == null) {
+            logger.debug("No @Value index found on the classpath. Scanning package {} with Reflections.", packageToScan);
+            return scan(packageToScan);
         }
-        return type;
+
+        long start = System.nanoTime();
+        Set<Field> fields = index.resolve(packageToScan, classLoader);
+        long indexNanos = System.nanoTime() - start;
+
+        if (fields == null) {
+            logger.warn("@Value index is out of date for package {}. Falling back to classpath scanning.", packageToScan);
+            return scan(packageToScan);
+        }
+
+        if (fields.isEmpty()) {
+            logger.debug("@Value index has no entries for package {}. Scanning it with Reflections.", packageToScan);
+            return scan(packageToScan);
+        }
+
+        if (Boolean.getBoolean(COMPARE_INDEX_PROPERTY)) {
+            long scanStart = System.nanoTime();
+            scan(packageToScan);
+            long scanNanos = System.nanoTime() - scanStart;
+            logger.info("Resolved {} @Value fields in package {} from the index in {} ms instead of {} ms scanning (saved {} ms)",
+                    fields.size(), packageToScan, millis(indexNanos), millis(scanNanos), millis(scanNanos - indexNanos));
+        } else {
+            logger.info("Resolved {} @Value fields in package {} from the index in {} ms, classpath scan skipped",
+                    fields.size(), packageToScan, millis(indexNanos));
+        }
+        return fields;
+    }
+
+    private Set<Field> scan(String packageToScan) {
+        // forPackage only picks the classpath root; without the filter every package under it is scanned.
+        Reflections reflections = new Reflections(new ConfigurationBuilder()
+                .forPackage(packageToScan)
+                .filterInputsBy(new FilterBuilder().includePackage(packageToScan))
+                .addScanners(Scanners.FieldsAnnotated));
+
+        return reflections.getFieldsAnnotatedWith(Value.class);
+    }
+
+    private @Nullable ValueIndex valueIndex() {
+        if (!valueIndexLoaded) {
+            synchronized (this) {
+                if (!valueIndexLoaded) {
+                    valueIndex = ValueIndex.load(classLoader);
+                    valueIndexLoaded = true;
+                }
+            }
+        }
+        return valueIndex;
+    }
+
+    private static ClassLoader resolveClassLoader() {
+        ClassLoader contextLoader = Thread.currentThread().getContextClassLoader();
+        return contextLoader != null ? contextLoader : ConfigurationInjector.class.getClassLoader();
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
     }
-}
\ No newline at end of file
+}
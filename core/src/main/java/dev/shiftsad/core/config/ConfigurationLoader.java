@@ -4,51 +4,300 @@ import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import com.typesafe.config.ConfigValue;
 import dev.shiftsad.core.config.adapters.ConfigAdapter;
+import dev.shiftsad.core.config.constraints.ConfigValidationException;
+import dev.shiftsad.core.config.constraints.Violation;
+import dev.shiftsad.core.profiling.Phase;
+import dev.shiftsad.core.profiling.Span;
+import dev.shiftsad.core.profiling.StartupProfiler;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.net.URL;
-import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 public class ConfigurationLoader {
 
-    private final Config config;
+    private final Logger logger = LoggerFactory.getLogger(ConfigurationLoader.class);
+    private final Path path;
+    private final List<ConfigValidator> validators = new CopyOnWriteArrayList<>();
+    private final List<ConfigReloadListener> reloadListeners = new CopyOnWriteArrayList<>();
+    private final List<ChangeSubscription> changeListeners = new CopyOnWriteArrayList<>();
+    private final List<ConfigKey<?>> keys = new ArrayList<>();
+    private final int[] slotCounts = new int[5];
+    private final StartupProfiler profiler;
+    private final boolean compiledCache;
+    private final ConfigSources sources;
+    private byte[] loadedHash;
+    private Map<String, String> loadedSubstitutions;
+    private volatile ConfigSnapshot snapshot;
 
     public ConfigurationLoader(@NotNull String file, @Nullable Path target) throws IOException {
-        String content = getFileContent(file, target);
-        this.config = ConfigFactory.parseString(content).resolve();
+        this(builder(file).target(target));
     }
 
     /**
-     * Get the content of the configuration file.
-     * If the file is not available in the filesystem, it will attempt to create it from the resources.
+     * @param profiler receives the timing of the initial parse and of every reload
+     */
+    public ConfigurationLoader(@NotNull String file, @Nullable Path target, @NotNull StartupProfiler profiler) throws IOException {
+        this(builder(file).target(target).profiler(profiler));
+    }
+
+    private ConfigurationLoader(Builder builder) throws IOException {
+        this.path = builder.target != null ? builder.target.resolve(builder.file) : Paths.get(builder.file);
+        this.profiler = builder.profiler;
+        this.compiledCache = builder.compiledCache;
+        this.sources = new ConfigSources(builder.file, path, builder.classpathDefaults, builder.profile,
+                builder.environmentPrefix, builder.propertyPrefix, builder.environment);
+        try (Span ignored = profiler.start(Phase.PARSE, path.toString())) {
+            ConfigSources.Layers layers = sources.read();
+            this.loadedHash = layers.hash();
+            ConfigSources.Resolved resolved = load(layers, loadedHash);
+            this.loadedSubstitutions = resolved.substitutions();
+            this.snapshot = ConfigSnapshot.of(resolved.config(), keys);
+            logger.debug("Loaded configuration from {}", sources.describe(layers));
+        }
+    }
+
+    public static @NotNull Builder builder(@NotNull String file) {
+        return new Builder(file);
+    }
+
+    /**
+     * Merges and resolves the layers, going through the compiled cache when it is enabled.
+     * The cache holds the merged result and is keyed by the hash of every layer, overrides included.
+     * It is also out of date once an environment variable that a substitution fell back to has changed.
+     * A cache that is missing, out of date or unreadable is rebuilt from the merged layers;
+     * failing to write it only costs the next boot a parse.
+     */
+    private ConfigSources.Resolved load(ConfigSources.Layers layers, byte[] hash) {
+        if (!compiledCache) {
+            return sources.merge(layers, ConfigurationLoader::parse);
+        }
+
+        Path cache = CompiledConfigCache.cacheFile(path);
+        try {
+            ConfigSources.Resolved cached = CompiledConfigCache.read(cache, hash);
+            if (cached != null && sources.unchanged(cached.substitutions())) {
+                logger.debug("Loaded configuration file {} from compiled cache {}", path, cache);
+                return cached;
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to read compiled configuration cache {}: {}", cache, e.getMessage());
+        }
+
+        ConfigSources.Resolved parsed = sources.merge(layers, ConfigurationLoader::parse);
+        try {
+            CompiledConfigCache.write(cache, hash, parsed);
+        } catch (IOException e) {
+            logger.warn("Failed to write compiled configuration cache {}: {}", cache, e.getMessage());
+        }
+        return parsed;
+    }
+
+    /**
+     * Parses one layer; substitutions are resolved once the layers are merged.
+     */
+    private static Config parse(byte[] content) {
+        return ConfigFactory.parseString(new String(content, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Re-reads every layer and, if any of them changed, re-parses them and atomically replaces the current snapshot.
+     * Environment variables and system properties are read again as well, including the variables substitutions fell back to.
+     * Readers never block on a reload; they see either the previous or the new snapshot.
+     * If the file cannot be read or parsed, or a registered {@link ConfigKey} can no longer be read from it,
+     * the previous snapshot is kept and the error is rethrown. The same holds when a registered {@link ConfigValidator}
+     * rejects the new configuration, so listeners never see values that break a constraint.
+     * Registered {@link ConfigReloadListener}s are notified with the changed keys, and {@link ConfigChangeListener}s
+     * with the changes under their prefix, on the calling thread. A listener that throws is logged and does not undo the reload.
      *
-     * @param fileName the name of the configuration file
-     * @throws IOException if an I/O error occurs while reading or creating the file
-     * @return the content of the configuration file as a String
+     * @return the flattened keys whose values were added, removed or changed
+     * @throws IOException if the file cannot be read
+     * @throws com.typesafe.config.ConfigException if the file cannot be parsed or resolved
+     * @throws ConfigValidationException listing the violations of every validator; the previous snapshot is kept
+     */
+    public synchronized Set<String> reload() throws IOException {
+        ConfigSources.Layers layers = sources.read();
+        byte[] hash = layers.hash();
+        if (Arrays.equals(hash, loadedHash) && sources.unchanged(loadedSubstitutions)) {
+            logger.debug("Configuration file {} reloaded without changes", path);
+            return Set.of();
+        }
+
+        ConfigSources.Resolved resolved;
+        try (Span ignored = profiler.start(Phase.PARSE, path.toString())) {
+            resolved = load(layers, hash);
+        }
+        Config reloaded = resolved.config();
+        ConfigDiff diff = ConfigDiff.between(snapshot.config, reloaded);
+        if (diff.isEmpty()) {
+            this.loadedHash = hash;
+            this.loadedSubstitutions = resolved.substitutions();
+            logger.debug("Configuration file {} reloaded without changes", path);
+            return Set.of();
+        }
+
+        Set<String> changedKeys = diff.keys();
+        validate(reloaded, changedKeys);
+
+        this.snapshot = ConfigSnapshot.of(reloaded, keys);
+        this.loadedHash = hash;
+        this.loadedSubstitutions = resolved.substitutions();
+        logger.info("Reloaded configuration file {} ({} changed keys)", path, changedKeys.size());
+
+        for (ConfigReloadListener listener : reloadListeners) {
+            try {
+                listener.onReload(changedKeys);
+            } catch (Exception e) {
+                logger.warn("Configuration reload listener {} failed", listener, e);
+            }
+        }
+        for (ChangeSubscription subscription : changeListeners) {
+            ConfigDiff changes = diff.under(subscription.prefix);
+            if (changes.isEmpty()) continue;
+            try {
+                subscription.listener.onChange(changes);
+            } catch (Exception e) {
+                logger.warn("Configuration change listener {} for '{}' failed", subscription.listener, subscription.prefix, e);
+            }
+        }
+        return changedKeys;
+    }
+
+    /**
+     * Runs every validator against the reloaded configuration, so that all of their violations are reported at once.
      */
-    private String getFileContent(@NotNull String fileName, @Nullable Path target) throws IOException {
-        Path path = target != null ? target.resolve(fileName) : Paths.get(fileName);
-
-        if (!Files.exists(path)) {
-            URL defaultConfig = ConfigurationLoader.class.getResource("/" + fileName);
-
-            if (defaultConfig != null) {
-                if (path.getParent() != null) {
-                    Files.createDirectories(path.getParent());
-                }
-                try (var inputStream = defaultConfig.openStream()) {
-                    Files.copy(inputStream, path);
-                }
-            } else {
-                throw new IOException("Default configuration file not found in resources: /" + fileName);
+    private void validate(Config reloaded, Set<String> changedKeys) {
+        List<Violation> violations = null;
+        for (ConfigValidator validator : validators) {
+            try {
+                validator.validate(reloaded, changedKeys);
+            } catch (ConfigValidationException e) {
+                if (violations == null) violations = new ArrayList<>();
+                violations.addAll(e.violations());
             }
         }
+        if (violations != null) {
+            logger.warn("Rejected reload of configuration file {}: {} violations", path, violations.size());
+            throw new ConfigValidationException(violations);
+        }
+    }
 
-        return Files.readString(path);
+    /**
+     * Starts watching the configuration file and reloads it in the background whenever it changes.
+     * To push the new values into @Value fields, register the injector as a listener:
+     * {@code loader.addReloadListener(injector::reinject)}.
+     *
+     * @param debounce how long the file has to stay quiet before it is reloaded
+     * @return the running watcher, which must be closed to stop watching
+     * @throws IOException if the watch service cannot be registered
+     */
+    public ConfigurationWatcher watch(@NotNull Duration debounce) throws IOException {
+        return new ConfigurationWatcher(this, debounce);
+    }
+
+    /**
+     * Registers a validator that every reload has to pass before its snapshot is published,
+     * for example {@code loader.addValidator(injector::validate)}.
+     */
+    public void addValidator(@NotNull ConfigValidator validator) {
+        validators.add(validator);
+    }
+
+    public void removeValidator(@NotNull ConfigValidator validator) {
+        validators.remove(validator);
+    }
+
+    public void addReloadListener(@NotNull ConfigReloadListener listener) {
+        reloadListeners.add(listener);
+    }
+
+    public void removeReloadListener(@NotNull ConfigReloadListener listener) {
+        reloadListeners.remove(listener);
+    }
+
+    /**
+     * Registers a listener for the changes of the key equal to the prefix and of the keys below it,
+     * for example {@code menuConfiguration.cameraPosition}. The empty prefix receives every change.
+     * The listener is only called for reloads that changed something under the prefix.
+     */
+    public void addChangeListener(@NotNull String prefix, @NotNull ConfigChangeListener listener) {
+        changeListeners.add(new ChangeSubscription(prefix, listener));
+    }
+
+    /**
+     * Removes the listener from every prefix it was registered for.
+     */
+    public void removeChangeListener(@NotNull ConfigChangeListener listener) {
+        changeListeners.removeIf(subscription -> subscription.listener == listener);
+    }
+
+    private record ChangeSubscription(String prefix, ConfigChangeListener listener) {}
+
+    /**
+     * Returns a handle that reads the value at the given path without re-parsing the path or
+     * looking up an adapter. The value is evaluated now and again on every reload.
+     * Requesting the same path and type twice returns the same handle.
+     *
+     * @param key the configuration key to bind
+     * @param type the class type to convert the value to; primitive types get unboxed accessors
+     * @return the handle for the key
+     * @param <T> the type to convert the value to
+     * @throws IllegalStateException if no adapter is registered for the specified type
+     * @throws com.typesafe.config.ConfigException if the value is missing or cannot be converted
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> ConfigKey<T> key(@NotNull String key, @NotNull Class<T> type) {
+        for (ConfigKey<?> existing : keys) {
+            if (existing.path().equals(key) && existing.type() == type) {
+                return (ConfigKey<T>) existing;
+            }
+        }
+
+        ConfigAdapter<T> adapter = AdapterRegistry.getAdapter(SlotKind.wrap(type));
+        byte kind = SlotKind.of(type, adapter);
+        ConfigKey<T> handle = new ConfigKey<>(this, key, type, adapter, kind, slotCounts[kind]);
+
+        List<ConfigKey<?>> withHandle = new ArrayList<>(keys);
+        withHandle.add(handle);
+        ConfigSnapshot next = ConfigSnapshot.of(snapshot.config, withHandle);
+
+        keys.add(handle);
+        slotCounts[kind]++;
+        this.snapshot = next;
+        return handle;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    /**
+     * Returns the files a change to which should trigger a reload.
+     */
+    List<Path> watchedFiles() {
+        Path profileFile = sources.profileFile();
+        return profileFile == null ? List.of(path) : List.of(path, profileFile);
+    }
+
+    ConfigSnapshot snapshot() {
+        return snapshot;
+    }
+
+    Config config() {
+        return snapshot.config;
     }
 
     /**
@@ -58,7 +307,7 @@ public class ConfigurationLoader {
      * @throws com.typesafe.config.ConfigException.Missing if the path does not exist
      */
     public ConfigValue get(String key) {
-        return config.getValue(key);
+        return snapshot.config.getValue(key);
     }
 
     /**
@@ -67,7 +316,7 @@ public class ConfigurationLoader {
      * @throws com.typesafe.config.ConfigException.Missing if the path does not exist
      */
     public <T> T get(String key, ConfigAdapter<T> adapter) {
-        return adapter.fromConfig(config, key);
+        return adapter.fromConfig(snapshot.config, key);
     }
 
     /**
@@ -83,4 +332,103 @@ public class ConfigurationLoader {
         ConfigAdapter<T> adapter = AdapterRegistry.getAdapter(type);
         return get(key, adapter);
     }
-}
\ No newline at end of file
+
+    public static final class Builder {
+
+        private final String file;
+        private @Nullable Path target;
+        private StartupProfiler profiler = StartupProfiler.disabled();
+        private boolean compiledCache;
+        private boolean classpathDefaults;
+        private @Nullable String profile;
+        private @Nullable String environmentPrefix;
+        private @Nullable String propertyPrefix;
+        private Supplier<Map<String, String>> environment = System::getenv;
+
+        private Builder(@NotNull String file) {
+            this.file = file;
+        }
+
+        /**
+         * Sets the directory the file is resolved against; the working directory is used when null.
+         */
+        public Builder target(@Nullable Path target) {
+            this.target = target;
+            return this;
+        }
+
+        /**
+         * Sets the profiler that receives the timing of the initial parse and of every reload.
+         */
+        public Builder profiler(@NotNull StartupProfiler profiler) {
+            this.profiler = profiler;
+            return this;
+        }
+
+        /**
+         * Keeps a binary snapshot of the resolved configuration next to the file, named after it with a
+         * {@code .cache} suffix. Later loads of unchanged content map the snapshot instead of parsing HOCON.
+         * The snapshot does not keep the line numbers of values, so errors about values read from it
+         * point to the snapshot instead of the file.
+         */
+        public Builder compiledCache(boolean compiledCache) {
+            this.compiledCache = compiledCache;
+            return this;
+        }
+
+        /**
+         * Merges the classpath resource named like the file below the file, so the file only has to hold
+         * what differs from the defaults and may be missing altogether; it is then not created.
+         * Without this, a missing file is created from the resource and the resource is not merged.
+         */
+        public Builder classpathDefaults(boolean classpathDefaults) {
+            this.classpathDefaults = classpathDefaults;
+            return this;
+        }
+
+        /**
+         * Merges the profile file of this node above the file. For {@code configuration.conf} and the
+         * profile {@code node-3} it is {@code configuration-node-3.conf}, in the same directory.
+         * A missing profile file is skipped; null or a blank profile disables the layer.
+         */
+        public Builder profile(@Nullable String profile) {
+            this.profile = profile;
+            return this;
+        }
+
+        /**
+         * Lets environment variables starting with the prefix override values of the files.
+         * The rest of the name is matched against the paths the files define, ignoring case and
+         * reading underscores as dots or dashes: with the prefix {@code LOBBY_},
+         * {@code LOBBY_MENUCONFIGURATION_TARGETSERVER} overrides {@code menuConfiguration.targetServer}.
+         * Variables that match no path are ignored.
+         */
+        public Builder environmentOverrides(@NotNull String prefix) {
+            this.environmentPrefix = prefix;
+            return this;
+        }
+
+        /**
+         * Lets system properties starting with the prefix override every other layer.
+         * The rest of the name is the config path: with the prefix {@code lobby.},
+         * {@code -Dlobby.menuConfiguration.targetServer=hub} sets {@code menuConfiguration.targetServer}.
+         */
+        public Builder systemPropertyOverrides(@NotNull String prefix) {
+            this.propertyPrefix = prefix;
+            return this;
+        }
+
+        Builder environment(@NotNull Supplier<Map<String, String>> environment) {
+            this.environment = environment;
+            return this;
+        }
+
+        /**
+         * @throws IOException if the configuration file cannot be read or created
+         * @throws com.typesafe.config.ConfigException if the file cannot be parsed or resolved
+         */
+        public ConfigurationLoader build() throws IOException {
+            return new ConfigurationLoader(this);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package dev.shiftsad.core.config;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the files behind a {@link ConfigurationLoader} and reloads it once changes settle.
+ * Events are received on one daemon thread and reloads run on another, so neither parsing
+ * nor re-injection ever happens on the caller's (tick) thread.
+ */
+public final class ConfigurationWatcher implements AutoCloseable {
+
+    private final Logger logger = LoggerFactory.getLogger(ConfigurationWatcher.class);
+    private final ConfigurationLoader loader;
+    private final Duration debounce;
+    private final Path file;
+    private final Set<Path> watchedFiles = new HashSet<>();
+    private final WatchService watchService;
+    private final ScheduledExecutorService reloadExecutor;
+    private final Thread watchThread;
+    private ScheduledFuture<?> pendingReload;
+
+    ConfigurationWatcher(@NotNull ConfigurationLoader loader, @NotNull Duration debounce) throws IOException {
+        this.loader = loader;
+        this.debounce = debounce;
+
+        Path path = loader.path().toAbsolutePath();
+        this.file = path.getFileName();
+        this.watchService = path.getFileSystem().newWatchService();
+        Set<Path> directories = new HashSet<>();
+        for (Path watched : loader.watchedFiles()) {
+            Path absolute = watched.toAbsolutePath();
+            watchedFiles.add(absolute);
+            if (directories.add(absolute.getParent())) {
+                absolute.getParent().register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        }
+
+        this.reloadExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "shiftmc-config-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watchThread = new Thread(this::watchLoop, "shiftmc-config-watcher");
+        this.watchThread.setDaemon(true);
+        this.watchThread.start();
+
+        logger.debug("Watching configuration file {} with a debounce of {} ms", path, debounce.toMillis());
+    }
+
+    private void watchLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                Path directory = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context() instanceof Path changed && watchedFiles.contains(directory.resolve(changed))) {
+                        scheduleReload();
+                    }
+                }
+                if (!key.reset()) {
+                    logger.warn("Configuration directory of {} is no longer accessible. Stopping watcher.", file);
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed
+        }
+    }
+
+    private synchronized void scheduleReload() {
+        if (pendingReload != null) {
+            pendingReload.cancel(false);
+        }
+        pendingReload = reloadExecutor.schedule(this::reload, debounce.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void reload() {
+        try {
+            loader.reload();
+        } catch (Exception e) {
+            logger.warn("Failed to reload configuration file {}: {}. Keeping the previous configuration.", file, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        watchThread.interrupt();
+        reloadExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,213 @@
+package dev.shiftsad.core.config;
+
+import com.typesafe.config.ConfigException;
+import com.typesafe.config.ConfigList;
+import com.typesafe.config.ConfigObject;
+import com.typesafe.config.ConfigValue;
+import com.typesafe.config.ConfigValueType;
+import dev.shiftsad.core.config.adapters.BooleanAdapter;
+import dev.shiftsad.core.config.adapters.ConfigAdapter;
+import dev.shiftsad.core.config.adapters.DoubleAdapter;
+import dev.shiftsad.core.config.adapters.FloatAdapter;
+import dev.shiftsad.core.config.adapters.IntAdapter;
+import dev.shiftsad.core.config.adapters.LongAdapter;
+import dev.shiftsad.core.config.adapters.StringAdapter;
+import dev.shiftsad.core.config.adapters.ValueDecoder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds and caches the {@link ValueDecoder} of every type that can be read from the config tree:
+ * the types with a registered adapter (their own or a supertype's), enums, records, and lists, sets and
+ * string-keyed maps of those.
+ * A decoder is built once per type from the decoders of its parts and reused for every read.
+ */
+final class Decoders {
+    private Decoders() {}
+
+    private static final Map<Type, ValueDecoder<?>> decoders = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Set<Type>> building = ThreadLocal.withInitial(HashSet::new);
+
+    static final ValueDecoder<String> STRING = (value, path) -> switch (value.valueType()) {
+        case STRING, NUMBER, BOOLEAN -> String.valueOf(value.unwrapped());
+        default -> throw wrongType(value, path, "STRING");
+    };
+    static final ValueDecoder<Boolean> BOOLEAN = (value, path) -> {
+        if (value.valueType() == ConfigValueType.BOOLEAN) return (Boolean) value.unwrapped();
+        if (value.valueType() == ConfigValueType.STRING) {
+            switch ((String) value.unwrapped()) {
+                case "true", "yes", "on" -> { return true; }
+                case "false", "no", "off" -> { return false; }
+                default -> { }
+            }
+        }
+        throw wrongType(value, path, "BOOLEAN");
+    };
+    static final ValueDecoder<Integer> INT = (value, path) -> {
+        long number = number(value, path).longValue();
+        if (number < Integer.MIN_VALUE || number > Integer.MAX_VALUE) throw wrongType(value, path, "32-bit integer");
+        return (int) number;
+    };
+    static final ValueDecoder<Long> LONG = (value, path) -> number(value, path).longValue();
+    static final ValueDecoder<Double> DOUBLE = (value, path) -> number(value, path).doubleValue();
+    static final ValueDecoder<Float> FLOAT = (value, path) -> number(value, path).floatValue();
+
+    /**
+     * Returns the decoder for the given type, building it on first use.
+     *
+     * @return the decoder, or null if the type (or one of its parts) cannot be decoded
+     */
+    static @Nullable ValueDecoder<?> forType(@NotNull Type type) {
+        ValueDecoder<?> decoder = decoders.get(type);
+        if (decoder != null) return decoder;
+
+        Set<Type> inProgress = building.get();
+        if (!inProgress.add(type)) {
+            // A type that contains itself; resolve the finished decoder when a value is actually decoded.
+            return (value, path) -> decoders.get(type).decode(value, path);
+        }
+        try {
+            decoder = build(type);
+        } finally {
+            inProgress.remove(type);
+        }
+        if (decoder == null) return null;
+
+        ValueDecoder<?> existing = decoders.putIfAbsent(type, decoder);
+        return existing != null ? existing : decoder;
+    }
+
+    /**
+     * Drops every built decoder, so that decoders built on top of a replaced adapter are rebuilt.
+     */
+    static void invalidate() {
+        decoders.clear();
+    }
+
+    private static @Nullable ValueDecoder<?> build(Type type) {
+        if (type instanceof Class<?> rawClass) {
+            Class<?> typeClass = SlotKind.wrap(rawClass);
+            ConfigAdapter<?> adapter = AdapterRegistry.registered(typeClass);
+            if (adapter != null) return scalar(adapter);
+            if (typeClass.isEnum()) return EnumDecoder.of(typeClass);
+            if (typeClass.isRecord()) return RecordDecoder.of(typeClass);
+            adapter = AdapterRegistry.inherited(typeClass);
+            return adapter == null ? null : scalar(adapter);
+        }
+
+        if (type instanceof WildcardType wildcard && wildcard.getLowerBounds().length == 0) {
+            return forType(wildcard.getUpperBounds()[0]);
+        }
+
+        if (type instanceof ParameterizedType parameterized && parameterized.getRawType() instanceof Class<?> raw) {
+            Type[] arguments = parameterized.getActualTypeArguments();
+            if (raw == List.class || raw == Collection.class || raw == Iterable.class) {
+                ValueDecoder<?> element = forType(arguments[0]);
+                return element == null ? null : list(element);
+            }
+            if (raw == Set.class) {
+                ValueDecoder<?> element = forType(arguments[0]);
+                return element == null ? null : set(element);
+            }
+            if (raw == Map.class && arguments[0] == String.class) {
+                ValueDecoder<?> entry = forType(arguments[1]);
+                return entry == null ? null : map(entry);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Built-in adapters get a decoder that reads the value directly.
+     * Other registered adapters only know how to read from a {@link com.typesafe.config.Config},
+     * so the value is wrapped in one.
+     */
+    private static ValueDecoder<?> scalar(ConfigAdapter<?> adapter) {
+        if (adapter instanceof ValueDecoder<?> decoder) return decoder;
+        if (adapter == StringAdapter.INSTANCE) return STRING;
+        if (adapter == BooleanAdapter.INSTANCE) return BOOLEAN;
+        if (adapter == IntAdapter.INSTANCE) return INT;
+        if (adapter == LongAdapter.INSTANCE) return LONG;
+        if (adapter == DoubleAdapter.INSTANCE) return DOUBLE;
+        if (adapter == FloatAdapter.INSTANCE) return FLOAT;
+        return (value, path) -> adapter.fromConfig(value.atKey("value"), "value");
+    }
+
+    private static ValueDecoder<List<?>> list(ValueDecoder<?> element) {
+        return (value, path) -> {
+            ConfigList list = requireList(value, path);
+            List<Object> result = new ArrayList<>(list.size());
+            for (int i = 0; i < list.size(); i++) {
+                result.add(element.decode(list.get(i), path + "[" + i + "]"));
+            }
+            return Collections.unmodifiableList(result);
+        };
+    }
+
+    private static ValueDecoder<Set<?>> set(ValueDecoder<?> element) {
+        return (value, path) -> {
+            ConfigList list = requireList(value, path);
+            Set<Object> result = new LinkedHashSet<>(list.size() * 2);
+            for (int i = 0; i < list.size(); i++) {
+                result.add(element.decode(list.get(i), path + "[" + i + "]"));
+            }
+            return Collections.unmodifiableSet(result);
+        };
+    }
+
+    private static ValueDecoder<Map<String, ?>> map(ValueDecoder<?> entry) {
+        return (value, path) -> {
+            ConfigObject object = requireObject(value, path);
+            Map<String, Object> result = new LinkedHashMap<>(object.size() * 2);
+            for (Map.Entry<String, ConfigValue> child : object.entrySet()) {
+                result.put(child.getKey(), entry.decode(child.getValue(), path + "." + child.getKey()));
+            }
+            return Collections.unmodifiableMap(result);
+        };
+    }
+
+    static ConfigList requireList(ConfigValue value, String path) {
+        if (value.valueType() != ConfigValueType.LIST) throw wrongType(value, path, "LIST");
+        return (ConfigList) value;
+    }
+
+    static ConfigObject requireObject(ConfigValue value, String path) {
+        if (value.valueType() != ConfigValueType.OBJECT) throw wrongType(value, path, "OBJECT");
+        return (ConfigObject) value;
+    }
+
+    private static Number number(ConfigValue value, String path) {
+        if (value.valueType() == ConfigValueType.NUMBER) return (Number) value.unwrapped();
+        if (value.valueType() == ConfigValueType.STRING) {
+            String text = (String) value.unwrapped();
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                try {
+                    return Double.parseDouble(text);
+                } catch (NumberFormatException ignored) {
+                    // reported as a wrong type below
+                }
+            }
+        }
+        throw wrongType(value, path, "NUMBER");
+    }
+
+    static ConfigException.WrongType wrongType(ConfigValue value, String path, String expected) {
+        return new ConfigException.WrongType(value.origin(), path, expected, value.valueType().name());
+    }
+}
@@ -0,0 +1,56 @@
+package dev.shiftsad.core.config;
+
+import com.typesafe.config.ConfigException;
+import com.typesafe.config.ConfigValue;
+import com.typesafe.config.ConfigValueType;
+import dev.shiftsad.core.config.adapters.ValueDecoder;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Decodes an enum constant from its name, built once per enum type.
+ * Names are matched exactly first, then ignoring case and treating dashes as underscores,
+ * so {@code "game-mode"} reads {@code GAME_MODE}.
+ */
+final class EnumDecoder<E extends Enum<E>> implements ValueDecoder<E> {
+
+    private final Class<E> type;
+    private final Map<String, E> constants = new HashMap<>();
+
+    private EnumDecoder(Class<E> type) {
+        this.type = type;
+        for (E constant : type.getEnumConstants()) {
+            constants.putIfAbsent(normalize(constant.name()), constant);
+        }
+        for (E constant : type.getEnumConstants()) {
+            constants.put(constant.name(), constant);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static @NotNull EnumDecoder<?> of(@NotNull Class<?> type) {
+        return new EnumDecoder(type);
+    }
+
+    @Override
+    public E decode(ConfigValue value, String path) {
+        if (value.valueType() != ConfigValueType.STRING) throw Decoders.wrongType(value, path, "STRING");
+
+        String name = (String) value.unwrapped();
+        E constant = constants.get(name);
+        if (constant == null) constant = constants.get(normalize(name));
+        if (constant == null) {
+            throw new ConfigException.BadValue(path, "Invalid value '" + name + "' for " + type.getSimpleName()
+                    + ", expected one of " + Arrays.toString(type.getEnumConstants()));
+        }
+        return constant;
+    }
+
+    private static String normalize(String name) {
+        return name.replace('-', '_').toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,279 @@
+package dev.shiftsad.core.config;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigException;
+import dev.shiftsad.core.config.adapters.ConfigAdapter;
+import dev.shiftsad.core.config.constraints.ConfigValidationException;
+import dev.shiftsad.core.config.constraints.Constraint;
+import dev.shiftsad.core.config.constraints.Constraints;
+import dev.shiftsad.core.config.constraints.Violation;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The injectable @Value fields of a package, resolved once into flat arrays of
+ * {@link VarHandle}s, config paths and adapters.
+ * Running a plan does no reflective lookups, and primitive fields backed by the built-in
+ * adapters are read and written without boxing.
+ * Constraint annotations are compiled into the plan as well: every value of a pass is read and
+ * checked before any field is written, so a pass either assigns all of its valid values or, when
+ * a constraint is broken, none of them. A field with constraints whose key is missing or cannot be read
+ * breaks them as well.
+ */
+final class InjectionPlan {
+
+    private final Class<?>[] owners;
+    private final String[] names;
+    private final String[] paths;
+    private final VarHandle[] handles;
+    private final ConfigAdapter<?>[] adapters;
+    private final byte[] kinds;
+    private final @Nullable Constraint[] constraints;
+
+    private InjectionPlan(Class<?>[] owners, String[] names, String[] paths, VarHandle[] handles, ConfigAdapter<?>[] adapters, byte[] kinds,
+                          @Nullable Constraint[] constraints) {
+        this.owners = owners;
+        this.names = names;
+        this.paths = paths;
+        this.handles = handles;
+        this.adapters = adapters;
+        this.kinds = kinds;
+        this.constraints = constraints;
+    }
+
+    /**
+     * Resolves the given fields into a plan, skipping (and logging) every field that cannot be injected.
+     */
+    static @NotNull InjectionPlan compile(@NotNull Set<Field> fields, @NotNull Logger logger) {
+        List<Class<?>> owners = new ArrayList<>(fields.size());
+        List<String> names = new ArrayList<>(fields.size());
+        List<String> paths = new ArrayList<>(fields.size());
+        List<VarHandle> handles = new ArrayList<>(fields.size());
+        List<ConfigAdapter<?>> adapters = new ArrayList<>(fields.size());
+        List<Byte> kinds = new ArrayList<>(fields.size());
+        List<Constraint> constraints = new ArrayList<>(fields.size());
+
+        for (Field field : fields) {
+            int modifiers = field.getModifiers();
+            Class<?> declaringClass = field.getDeclaringClass();
+            String fieldName = field.getName();
+
+            if (!Modifier.isStatic(modifiers)) {
+                logger.trace("Skipping non-static field {}.{}. Instance fields are injected with ConfigurationInjector.inject(Object).", declaringClass.getName(), fieldName);
+                continue;
+            }
+
+            if (Modifier.isFinal(modifiers)) {
+                logger.warn("Cannot inject value into final static field: {}.{}. Skipping.", declaringClass.getName(), fieldName);
+                continue;
+            }
+
+            Class<?> fieldType = field.getType();
+            ConfigAdapter<?> adapter = AdapterRegistry.findAdapter(field.getGenericType());
+            if (adapter == null) {
+                logger.warn("No adapter registered for type {} (field {}.{}). Skipping.", field.getGenericType().getTypeName(), declaringClass.getName(), fieldName);
+                continue;
+            }
+
+            Constraint constraint;
+            try {
+                constraint = Constraints.compile(field, fieldType);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid constraint on field {}.{}: {}. Skipping.", declaringClass.getName(), fieldName, e.getMessage());
+                continue;
+            }
+
+            VarHandle handle;
+            try {
+                handle = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup()).unreflectVarHandle(field);
+            } catch (IllegalAccessException e) {
+                logger.warn("Cannot access field {}.{}: {}. Skipping.", declaringClass.getName(), fieldName, e.getMessage());
+                continue;
+            }
+
+            owners.add(declaringClass);
+            names.add(declaringClass.getName() + "." + fieldName);
+            paths.add(field.getAnnotation(Value.class).value());
+            handles.add(handle);
+            adapters.add(adapter);
+            kinds.add(fieldType.isPrimitive() ? SlotKind.of(fieldType, adapter) : SlotKind.OBJECT);
+            constraints.add(constraint);
+        }
+
+        byte[] kindArray = new byte[kinds.size()];
+        for (int i = 0; i < kindArray.length; i++) {
+            kindArray[i] = kinds.get(i);
+        }
+
+        return new InjectionPlan(
+                owners.toArray(Class<?>[]::new),
+                names.toArray(String[]::new),
+                paths.toArray(String[]::new),
+                handles.toArray(VarHandle[]::new),
+                adapters.toArray(ConfigAdapter<?>[]::new),
+                kindArray,
+                constraints.toArray(Constraint[]::new)
+        );
+    }
+
+    int size() {
+        return handles.length;
+    }
+
+    /**
+     * Injects every field of the plan from the given config.
+     * A field that fails (missing key, wrong type) is logged and skipped without affecting the others,
+     * unless it declares a constraint, in which case the failure is reported as a violation.
+     *
+     * @throws ConfigValidationException if values break the constraints of their fields; no field is written then
+     */
+    void inject(@NotNull Config config, @NotNull Logger logger) {
+        injectSlots(config, null, logger);
+    }
+
+    /**
+     * Injects only the fields whose config path was affected by one of the changed keys.
+     * A path is affected when it equals a changed key or when one of the two is a parent of the other.
+     *
+     * @throws ConfigValidationException if values break the constraints of their fields; no field is written then
+     */
+    void inject(@NotNull Config config, @NotNull Set<String> changedKeys, @NotNull Logger logger) {
+        injectSlots(config, changedKeys, logger);
+    }
+
+    /**
+     * Reads and checks the fields whose config path was affected by one of the changed keys, without writing any of them.
+     *
+     * @throws ConfigValidationException if values break the constraints of their fields
+     */
+    void validate(@NotNull Config config, @NotNull Set<String> changedKeys) {
+        injectSlots(config, changedKeys, null);
+    }
+
+    /**
+     * Adds the classes declaring a field whose config path was affected by one of the changed keys.
+     */
+    void collectReaders(@NotNull Set<String> changedKeys, @NotNull Set<Class<?>> readers) {
+        for (int i = 0; i < paths.length; i++) {
+            if (isAffected(paths[i], changedKeys)) {
+                readers.add(owners[i]);
+            }
+        }
+    }
+
+    private static boolean isAffected(String path, Set<String> changedKeys) {
+        if (changedKeys.contains(path)) return true;
+
+        for (String key : changedKeys) {
+            if (isParentPath(path, key) || isParentPath(key, path)) return true;
+        }
+        return false;
+    }
+
+    private static boolean isParentPath(String parent, String child) {
+        return child.length() > parent.length()
+                && child.charAt(parent.length()) == '.'
+                && child.startsWith(parent);
+    }
+
+    /**
+     * Reads every selected slot, checks the constraints of those that were read, and writes them only if all hold.
+     * A constrained slot that cannot be read counts as a violation.
+     * Primitive slots are staged as raw bits and are only boxed when they carry a constraint.
+     */
+    private void injectSlots(Config config, @Nullable Set<String> changedKeys, Logger logger) {
+        int size = handles.length;
+        boolean[] read = new boolean[size];
+        long[] primitives = new long[size];
+        Object[] objects = new Object[size];
+        List<Violation> violations = null;
+
+        for (int slot = 0; slot < size; slot++) {
+            if (changedKeys != null && !isAffected(paths[slot], changedKeys)) continue;
+
+            Constraint constraint = constraints[slot];
+            try {
+                readSlot(slot, config, primitives, objects);
+            } catch (Exception e) {
+                if (constraint != null) {
+                    if (violations == null) violations = new ArrayList<>();
+                    violations.add(new Violation(names[slot], paths[slot], unreadable(e)));
+                } else if (logger != null) {
+                    logger.warn("Failed to inject value into field {} (config key '{}'): {}. Skipping.", names[slot], paths[slot], e.getMessage());
+                }
+                continue;
+            }
+            read[slot] = true;
+
+            if (constraint != null) {
+                String violation = constraint.violation(staged(slot, primitives, objects));
+                if (violation != null) {
+                    if (violations == null) violations = new ArrayList<>();
+                    violations.add(new Violation(names[slot], paths[slot], violation));
+                }
+            }
+        }
+
+        if (violations != null) {
+            throw new ConfigValidationException(violations);
+        }
+        if (logger == null) return;
+
+        for (int slot = 0; slot < size; slot++) {
+            if (read[slot]) {
+                writeSlot(slot, primitives, objects);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Injected value for {}: {}", names[slot], handles[slot].get());
+                }
+            }
+        }
+    }
+
+    /**
+     * Describes why a constrained value could not be read, since a missing or mistyped key cannot satisfy its constraints.
+     */
+    static @NotNull String unreadable(@NotNull Exception e) {
+        return e instanceof ConfigException.Missing ? "is missing" : "cannot be read: " + e.getMessage();
+    }
+
+    private void readSlot(int slot, Config config, long[] primitives, Object[] objects) {
+        String path = paths[slot];
+        switch (kinds[slot]) {
+            case SlotKind.INT -> primitives[slot] = config.getInt(path);
+            case SlotKind.LONG -> primitives[slot] = config.getLong(path);
+            case SlotKind.DOUBLE -> primitives[slot] = Double.doubleToRawLongBits(config.getDouble(path));
+            case SlotKind.BOOLEAN -> primitives[slot] = config.getBoolean(path) ? 1 : 0;
+            default -> objects[slot] = adapters[slot].fromConfig(config, path);
+        }
+    }
+
+    private Object staged(int slot, long[] primitives, Object[] objects) {
+        return switch (kinds[slot]) {
+            case SlotKind.INT -> (int) primitives[slot];
+            case SlotKind.LONG -> primitives[slot];
+            case SlotKind.DOUBLE -> Double.longBitsToDouble(primitives[slot]);
+            case SlotKind.BOOLEAN -> primitives[slot] != 0;
+            default -> objects[slot];
+        };
+    }
+
+    private void writeSlot(int slot, long[] primitives, Object[] objects) {
+        VarHandle handle = handles[slot];
+        switch (kinds[slot]) {
+            case SlotKind.INT -> handle.set((int) primitives[slot]);
+            case SlotKind.LONG -> handle.set(primitives[slot]);
+            case SlotKind.DOUBLE -> handle.set(Double.longBitsToDouble(primitives[slot]));
+            case SlotKind.BOOLEAN -> handle.set(primitives[slot] != 0);
+            default -> handle.set(objects[slot]);
+        }
+    }
+}
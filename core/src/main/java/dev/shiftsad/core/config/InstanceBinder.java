@@ -0,0 +1,317 @@
+package dev.shiftsad.core.config;
+
+import com.typesafe.config.Config;
+import dev.shiftsad.core.config.adapters.ConfigAdapter;
+import dev.shiftsad.core.config.constraints.ConfigValidationException;
+import dev.shiftsad.core.config.constraints.Constraint;
+import dev.shiftsad.core.config.constraints.Constraints;
+import dev.shiftsad.core.config.constraints.Violation;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The @Value instance fields and @Value constructor of a class, resolved once into
+ * {@link VarHandle}s, a constructor handle and adapters.
+ * The values are decoded once per configuration snapshot and shared by every object bound from it,
+ * so binding an object costs the constructor call and one handle write per field.
+ * Constraint annotations are checked when the values of a snapshot are decoded, not on every bind.
+ */
+final class InstanceBinder<T> {
+
+    /**
+     * One binder per class, compiled on first use.
+     */
+    static final ClassValue<InstanceBinder<?>> BINDERS = new ClassValue<>() {
+        @Override
+        protected InstanceBinder<?> computeValue(Class<?> type) {
+            return compile(type);
+        }
+    };
+
+    private static final Object SKIP = new Object();
+
+    private final Class<T> type;
+    private final int generation;
+    private final String[] fieldNames;
+    private final String[] fieldPaths;
+    private final VarHandle[] fieldHandles;
+    private final ConfigAdapter<?>[] fieldAdapters;
+    private final @Nullable Constraint[] fieldConstraints;
+    private final @Nullable MethodHandle constructor;
+    private final String[] parameterNames;
+    private final String[] parameterPaths;
+    private final ConfigAdapter<?>[] parameterAdapters;
+    private final @Nullable Constraint[] parameterConstraints;
+    private volatile Values values;
+
+    private InstanceBinder(Class<T> type, int generation, String[] fieldNames, String[] fieldPaths, VarHandle[] fieldHandles,
+                           ConfigAdapter<?>[] fieldAdapters, @Nullable Constraint[] fieldConstraints, @Nullable MethodHandle constructor,
+                           String[] parameterNames, String[] parameterPaths, ConfigAdapter<?>[] parameterAdapters, @Nullable Constraint[] parameterConstraints) {
+        this.type = type;
+        this.generation = generation;
+        this.fieldNames = fieldNames;
+        this.fieldPaths = fieldPaths;
+        this.fieldHandles = fieldHandles;
+        this.fieldAdapters = fieldAdapters;
+        this.fieldConstraints = fieldConstraints;
+        this.constructor = constructor;
+        this.parameterNames = parameterNames;
+        this.parameterPaths = parameterPaths;
+        this.parameterAdapters = parameterAdapters;
+        this.parameterConstraints = parameterConstraints;
+    }
+
+    /**
+     * The decoded values of one configuration snapshot and the constraints they break;
+     * arguments is null when they could not be decoded.
+     */
+    private record Values(Config config, Object[] fields, Object[] arguments, List<Violation> fieldViolations, List<Violation> argumentViolations) {}
+
+    /**
+     * Returns the binder of the type, compiling it again if an adapter was registered since it was compiled.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> @NotNull InstanceBinder<T> of(@NotNull Class<T> type) {
+        InstanceBinder<?> binder = BINDERS.get(type);
+        if (binder.generation != AdapterRegistry.generation()) {
+            BINDERS.remove(type);
+            binder = BINDERS.get(type);
+        }
+        return (InstanceBinder<T>) binder;
+    }
+
+    /**
+     * @throws IllegalStateException if a @Value field or parameter has a type that cannot be read,
+     *                               an invalid constraint, or cannot be accessed
+     */
+    private static <T> InstanceBinder<T> compile(Class<T> type) {
+        int generation = AdapterRegistry.generation();
+        List<String> fieldNames = new ArrayList<>();
+        List<String> fieldPaths = new ArrayList<>();
+        List<VarHandle> fieldHandles = new ArrayList<>();
+        List<ConfigAdapter<?>> fieldAdapters = new ArrayList<>();
+        List<Constraint> fieldConstraints = new ArrayList<>();
+
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                Value value = field.getAnnotation(Value.class);
+                int modifiers = field.getModifiers();
+                // Final fields, such as record components, are bound through the constructor.
+                if (value == null || Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)) continue;
+
+                fieldNames.add(current.getName() + "." + field.getName());
+                fieldPaths.add(value.value());
+                fieldAdapters.add(adapter(field.getGenericType(), field.toString()));
+                fieldConstraints.add(constraint(field, field.getType(), field.toString()));
+                try {
+                    fieldHandles.add(MethodHandles.privateLookupIn(current, MethodHandles.lookup()).unreflectVarHandle(field));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException("Cannot access field " + field, e);
+                }
+            }
+        }
+
+        MethodHandle constructor = null;
+        List<String> parameterNames = new ArrayList<>();
+        List<String> parameterPaths = new ArrayList<>();
+        List<ConfigAdapter<?>> parameterAdapters = new ArrayList<>();
+        List<Constraint> parameterConstraints = new ArrayList<>();
+        Constructor<?> bound = findValueConstructor(type);
+        if (bound != null) {
+            for (Parameter parameter : bound.getParameters()) {
+                parameterPaths.add(parameter.getAnnotation(Value.class).value());
+                parameterNames.add(type.getName() + "(" + parameter.getName() + ")");
+                parameterAdapters.add(adapter(parameter.getParameterizedType(), parameter + " of " + bound));
+                parameterConstraints.add(constraint(parameter, parameter.getType(), parameter + " of " + bound));
+            }
+            try {
+                constructor = MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+                        .unreflectConstructor(bound)
+                        .asSpreader(Object[].class, bound.getParameterCount())
+                        .asType(MethodType.methodType(Object.class, Object[].class));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot access constructor " + bound, e);
+            }
+        }
+
+        return new InstanceBinder<>(type, generation,
+                fieldNames.toArray(String[]::new),
+                fieldPaths.toArray(String[]::new),
+                fieldHandles.toArray(VarHandle[]::new),
+                fieldAdapters.toArray(ConfigAdapter<?>[]::new),
+                fieldConstraints.toArray(Constraint[]::new),
+                constructor,
+                parameterNames.toArray(String[]::new),
+                parameterPaths.toArray(String[]::new),
+                parameterAdapters.toArray(ConfigAdapter<?>[]::new),
+                parameterConstraints.toArray(Constraint[]::new));
+    }
+
+    /**
+     * Returns the constructor whose parameters are all annotated with @Value, such as the canonical
+     * constructor of a record whose components are annotated.
+     */
+    private static @Nullable Constructor<?> findValueConstructor(Class<?> type) {
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            if (constructor.getParameterCount() == 0) continue;
+
+            boolean bound = true;
+            for (Parameter parameter : constructor.getParameters()) {
+                if (!parameter.isAnnotationPresent(Value.class)) {
+                    bound = false;
+                    break;
+                }
+            }
+            if (bound) return constructor;
+        }
+        return null;
+    }
+
+    private static ConfigAdapter<?> adapter(Type genericType, String target) {
+        ConfigAdapter<?> adapter = AdapterRegistry.findAdapter(genericType);
+        if (adapter == null) {
+            throw new IllegalStateException("No adapter registered for type " + genericType.getTypeName() + " (" + target + ")");
+        }
+        return adapter;
+    }
+
+    private static @Nullable Constraint constraint(AnnotatedElement element, Class<?> rawType, String target) {
+        try {
+            return Constraints.compile(element, rawType);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid constraint on " + target + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Injects the @Value instance fields of the target.
+     * A field that cannot be read from the configuration is logged once per snapshot and left untouched,
+     * unless it declares a constraint, which it then breaks.
+     *
+     * @throws ConfigValidationException if values break the constraints of their fields; no field is written then
+     */
+    void inject(@NotNull T target, @NotNull Config config, @NotNull Logger logger) {
+        Values current = values(config, logger);
+        if (!current.fieldViolations.isEmpty()) {
+            throw new ConfigValidationException(current.fieldViolations);
+        }
+
+        Object[] fields = current.fields;
+        for (int i = 0; i < fieldHandles.length; i++) {
+            if (fields[i] != SKIP) {
+                fieldHandles[i].set(target, fields[i]);
+            }
+        }
+    }
+
+    /**
+     * Creates an instance through the @Value constructor and injects its @Value instance fields.
+     *
+     * @throws com.typesafe.config.ConfigException if a constructor argument cannot be read from the configuration
+     * @throws ConfigValidationException if arguments or field values break their constraints
+     */
+    @NotNull T create(@NotNull Config config, @NotNull Logger logger) {
+        if (constructor == null) {
+            throw new IllegalArgumentException("No constructor with only @Value parameters in " + type.getName());
+        }
+
+        Values current = values(config, logger);
+        Object[] arguments = current.arguments != null ? current.arguments : decodeArguments(config);
+        if (!current.argumentViolations.isEmpty() || !current.fieldViolations.isEmpty()) {
+            List<Violation> violations = new ArrayList<>(current.argumentViolations);
+            violations.addAll(current.fieldViolations);
+            throw new ConfigValidationException(violations);
+        }
+
+        T instance;
+        try {
+            instance = type.cast((Object) constructor.invokeExact(arguments));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Failed to create " + type.getName(), t);
+        }
+        inject(instance, config, logger);
+        return instance;
+    }
+
+    private Values values(Config config, Logger logger) {
+        Values current = values;
+        if (current != null && current.config == config) return current;
+
+        Object[] fields = new Object[fieldAdapters.length];
+        List<Violation> unreadable = List.of();
+        for (int i = 0; i < fields.length; i++) {
+            try {
+                fields[i] = fieldAdapters[i].fromConfig(config, fieldPaths[i]);
+            } catch (Exception e) {
+                if (fieldConstraints[i] != null) {
+                    if (unreadable.isEmpty()) unreadable = new ArrayList<>();
+                    unreadable.add(new Violation(fieldNames[i], fieldPaths[i], InjectionPlan.unreadable(e)));
+                } else {
+                    logger.warn("Failed to inject value into field {} (config key '{}'): {}. Skipping.", fieldNames[i], fieldPaths[i], e.getMessage());
+                }
+                fields[i] = SKIP;
+            }
+        }
+        List<Violation> fieldViolations = violations(fieldNames, fieldPaths, fieldConstraints, fields);
+        if (!unreadable.isEmpty()) {
+            unreadable.addAll(fieldViolations);
+            fieldViolations = unreadable;
+        }
+
+        Object[] arguments = null;
+        if (constructor != null) {
+            try {
+                arguments = decodeArguments(config);
+            } catch (RuntimeException e) {
+                // Reported by create(), which decodes the arguments again and throws.
+            }
+        }
+
+        List<Violation> argumentViolations = arguments == null
+                ? List.of()
+                : violations(parameterNames, parameterPaths, parameterConstraints, arguments);
+
+        current = new Values(config, fields, arguments, fieldViolations, argumentViolations);
+        values = current;
+        return current;
+    }
+
+    private static List<Violation> violations(String[] names, String[] paths, @Nullable Constraint[] constraints, Object[] values) {
+        List<Violation> violations = List.of();
+        for (int i = 0; i < values.length; i++) {
+            Constraint constraint = constraints[i];
+            if (constraint == null || values[i] == SKIP) continue;
+
+            String violation = constraint.violation(values[i]);
+            if (violation != null) {
+                if (violations.isEmpty()) violations = new ArrayList<>();
+                violations.add(new Violation(names[i], paths[i], violation));
+            }
+        }
+        return violations;
+    }
+
+    private Object[] decodeArguments(Config config) {
+        Object[] arguments = new Object[parameterAdapters.length];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = parameterAdapters[i].fromConfig(config, parameterPaths[i]);
+        }
+        return arguments;
+    }
+}
@@ -0,0 +1,88 @@
+package dev.shiftsad.core.config;
+
+import com.typesafe.config.ConfigException;
+import com.typesafe.config.ConfigObject;
+import com.typesafe.config.ConfigValue;
+import com.typesafe.config.ConfigValueType;
+import dev.shiftsad.core.config.adapters.ValueDecoder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+
+/**
+ * Decodes a record from a config object with one key per record component,
+ * for example {@code { x = 1, y = 64, z = 1, yaw = 0, pitch = 0 }} for a Minestom {@code Pos}.
+ * The component decoders and the canonical constructor handle are resolved once per record type;
+ * every component is required.
+ */
+final class RecordDecoder<T> implements ValueDecoder<T> {
+
+    private final Class<T> type;
+    private final String[] names;
+    private final ValueDecoder<?>[] components;
+    private final MethodHandle constructor;
+
+    private RecordDecoder(Class<T> type, String[] names, ValueDecoder<?>[] components, MethodHandle constructor) {
+        this.type = type;
+        this.names = names;
+        this.components = components;
+        this.constructor = constructor;
+    }
+
+    /**
+     * @return the decoder, or null if a component type cannot be decoded or the constructor is not accessible
+     */
+    static <T> @Nullable RecordDecoder<T> of(@NotNull Class<T> type) {
+        RecordComponent[] recordComponents = type.getRecordComponents();
+        String[] names = new String[recordComponents.length];
+        ValueDecoder<?>[] components = new ValueDecoder<?>[recordComponents.length];
+        Class<?>[] parameterTypes = new Class<?>[recordComponents.length];
+
+        for (int i = 0; i < recordComponents.length; i++) {
+            ValueDecoder<?> component = Decoders.forType(recordComponents[i].getGenericType());
+            if (component == null) return null;
+
+            names[i] = recordComponents[i].getName();
+            components[i] = component;
+            parameterTypes[i] = recordComponents[i].getType();
+        }
+
+        MethodHandle constructor;
+        try {
+            constructor = MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+                    .findConstructor(type, MethodType.methodType(void.class, parameterTypes))
+                    .asSpreader(Object[].class, parameterTypes.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+        return new RecordDecoder<>(type, names, components, constructor);
+    }
+
+    @Override
+    public T decode(ConfigValue value, String path) {
+        ConfigObject object = Decoders.requireObject(value, path);
+
+        Object[] arguments = new Object[components.length];
+        for (int i = 0; i < components.length; i++) {
+            String componentPath = path + "." + names[i];
+            ConfigValue component = object.get(names[i]);
+            if (component == null || component.valueType() == ConfigValueType.NULL) {
+                throw new ConfigException.Missing(componentPath);
+            }
+            arguments[i] = components[i].decode(component, componentPath);
+        }
+
+        try {
+            return type.cast((Object) constructor.invokeExact(arguments));
+        } catch (RuntimeException e) {
+            throw new ConfigException.BadValue(path, "Cannot create " + type.getSimpleName() + ": " + e.getMessage(), e);
+        } catch (Throwable t) {
+            throw new IllegalStateException("Failed to create " + type.getName(), t);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package dev.shiftsad.core.config;
+
+import dev.shiftsad.core.config.adapters.BooleanAdapter;
+import dev.shiftsad.core.config.adapters.ConfigAdapter;
+import dev.shiftsad.core.config.adapters.DoubleAdapter;
+import dev.shiftsad.core.config.adapters.IntAdapter;
+import dev.shiftsad.core.config.adapters.LongAdapter;
+
+import java.util.Map;
+
+/**
+ * Storage kinds shared by {@link InjectionPlan} and {@link ConfigSnapshot}.
+ * Values of a primitive kind are read from the config and stored without boxing.
+ */
+final class SlotKind {
+    private SlotKind() {}
+
+    static final byte OBJECT = 0;
+    static final byte INT = 1;
+    static final byte LONG = 2;
+    static final byte DOUBLE = 3;
+    static final byte BOOLEAN = 4;
+
+    private static final Map<Class<?>, Class<?>> PRIMITIVE_TO_WRAPPER = Map.of(
+            int.class, Integer.class,
+            long.class, Long.class,
+            double.class, Double.class,
+            float.class, Float.class,
+            boolean.class, Boolean.class,
+            char.class, Character.class,
+            byte.class, Byte.class,
+            short.class, Short.class,
+            void.class, Void.class
+    );
+
+    /**
+     * Primitive kinds are only used with the built-in adapters,
+     * so a custom adapter registered for a wrapper type still wins.
+     */
+    static byte of(Class<?> type, ConfigAdapter<?> adapter) {
+        Class<?> wrapper = wrap(type);
+        if (wrapper == Integer.class && adapter == IntAdapter.INSTANCE) return INT;
+        if (wrapper == Long.class && adapter == LongAdapter.INSTANCE) return LONG;
+        if (wrapper == Double.class && adapter == DoubleAdapter.INSTANCE) return DOUBLE;
+        if (wrapper == Boolean.class && adapter == BooleanAdapter.INSTANCE) return BOOLEAN;
+        return OBJECT;
+    }
+
+    /**
+     * Returns the wrapper type for a given class if it's a primitive, otherwise
+     * returns the class itself.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Class<T> wrap(Class<T> type) {
+        if (type.isPrimitive()) {
+            return (Class<T>) PRIMITIVE_TO_WRAPPER.get(type);
+        }
+        return type;
+    }
+}
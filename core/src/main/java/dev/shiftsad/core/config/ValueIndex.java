@@ -0,0 +1,116 @@
+package dev.shiftsad.core.config;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Build-time index of every field annotated with {@link Value}, written by
+ * {@link dev.shiftsad.core.config.processor.ValueIndexProcessor}.
+ * Each line holds the declaring class, field name, field type and config key separated by tabs.
+ */
+public final class ValueIndex {
+
+    public static final String LOCATION = "META-INF/shiftmc/value-index";
+
+    private final List<Entry> entries;
+
+    ValueIndex(@NotNull List<Entry> entries) {
+        this.entries = List.copyOf(entries);
+    }
+
+    /**
+     * Loads and merges every index visible to the given class loader.
+     *
+     * @return the merged index, or null if no index was generated for this classpath
+     */
+    static @Nullable ValueIndex load(@NotNull ClassLoader classLoader) {
+        List<Entry> entries = new ArrayList<>();
+        boolean found = false;
+        try {
+            Enumeration<URL> resources = classLoader.getResources(LOCATION);
+            while (resources.hasMoreElements()) {
+                found = true;
+                URL resource = resources.nextElement();
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.isBlank() || line.startsWith("#")) continue;
+                        entries.add(Entry.parse(line));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read @Value index", e);
+        }
+        return found ? new ValueIndex(entries) : null;
+    }
+
+    List<Entry> entries() {
+        return entries;
+    }
+
+    /**
+     * Resolves the indexed fields declared in the given package or any of its sub-packages.
+     *
+     * @return the resolved fields, or null if the index no longer matches the compiled classes
+     */
+    @Nullable Set<Field> resolve(@NotNull String packageName, @NotNull ClassLoader classLoader) {
+        String prefix = packageName + ".";
+        Set<Field> fields = new LinkedHashSet<>();
+        for (Entry entry : entries) {
+            if (!entry.declaringClass().startsWith(prefix)) continue;
+
+            Field field = entry.resolve(classLoader);
+            if (field == null) return null;
+            fields.add(field);
+        }
+        return Collections.unmodifiableSet(fields);
+    }
+
+    public record Entry(@NotNull String declaringClass, @NotNull String fieldName, @NotNull String type, @NotNull String key) {
+
+        private static final char SEPARATOR = '\t';
+
+        public static @NotNull Entry parse(@NotNull String line) {
+            String[] parts = line.split(String.valueOf(SEPARATOR), 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Malformed @Value index entry: " + line);
+            }
+            return new Entry(parts[0], parts[1], parts[2], parts[3]);
+        }
+
+        public @NotNull String toLine() {
+            return declaringClass + SEPARATOR + fieldName + SEPARATOR + type + SEPARATOR + key;
+        }
+
+        /**
+         * Looks up the indexed field without initializing its declaring class.
+         *
+         * @return the field, or null if the class, the field or its type changed since the index was written
+         */
+        @Nullable Field resolve(@NotNull ClassLoader classLoader) {
+            try {
+                Class<?> owner = Class.forName(declaringClass, false, classLoader);
+                Field field = owner.getDeclaredField(fieldName);
+                if (!type.equals(field.getType().getCanonicalName())) return null;
+                return field;
+            } catch (ClassNotFoundException | NoSuchFieldException | LinkageError e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package dev.shiftsad.core.config.adapters;
+
+import com.typesafe.config.Config;
+
+public final class FloatAdapter implements ConfigAdapter<Float> {
+
+    public static final FloatAdapter INSTANCE = new FloatAdapter();
+    private FloatAdapter() {}
+
+    @Override
+    public Float fromConfig(Config config, String path) {
+        return (float) config.getDouble(path);
+    }
+}
@@ -0,0 +1,25 @@
+package dev.shiftsad.core.config.adapters;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigValue;
+
+/**
+ * An adapter that converts a value already looked up in the config tree.
+ * Composite decoders hand the children of a list or object straight to the decoders of their elements,
+ * so decoding does not look paths up again or wrap each element in a new {@link Config}.
+ */
+@FunctionalInterface
+public interface ValueDecoder<T> extends ConfigAdapter<T> {
+
+    /**
+     * @param value the value to convert
+     * @param path the path of the value, used in error messages
+     * @throws com.typesafe.config.ConfigException if the value cannot be converted
+     */
+    T decode(ConfigValue value, String path);
+
+    @Override
+    default T fromConfig(Config config, String path) {
+        return decode(config.getValue(path), path);
+    }
+}
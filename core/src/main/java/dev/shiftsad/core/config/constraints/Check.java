@@ -0,0 +1,22 @@
+package dev.shiftsad.core.config.constraints;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.function.Predicate;
+
+/**
+ * Requires a @Value to satisfy a custom predicate.
+ * The predicate class needs a no-argument constructor; it is instantiated once, when the field is compiled.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+public @interface Check {
+    Class<? extends Predicate<?>> value();
+
+    /**
+     * Describes the violation, for example {@code "must be a known server"}.
+     */
+    String message() default "failed the check";
+}
@@ -0,0 +1,33 @@
+package dev.shiftsad.core.config.constraints;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Thrown when configured values break the constraints of the fields they are injected into.
+ * Every violation of the injection pass is reported, and none of the values of that pass are assigned.
+ */
+public class ConfigValidationException extends RuntimeException {
+
+    private final List<Violation> violations;
+
+    public ConfigValidationException(@NotNull List<Violation> violations) {
+        super(message(violations));
+        this.violations = List.copyOf(violations);
+    }
+
+    public @NotNull List<Violation> violations() {
+        return violations;
+    }
+
+    private static String message(List<Violation> violations) {
+        StringBuilder message = new StringBuilder()
+                .append(violations.size())
+                .append(violations.size() == 1 ? " configuration value is invalid:" : " configuration values are invalid:");
+        for (Violation violation : violations) {
+            message.append("\n  - ").append(violation);
+        }
+        return message.toString();
+    }
+}
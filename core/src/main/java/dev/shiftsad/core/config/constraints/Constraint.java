@@ -0,0 +1,15 @@
+package dev.shiftsad.core.config.constraints;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The checks declared on one @Value field or parameter, compiled by {@link Constraints#compile}.
+ */
+@FunctionalInterface
+public interface Constraint {
+
+    /**
+     * @return why the value is rejected, or null if it is valid
+     */
+    @Nullable String violation(@Nullable Object value);
+}
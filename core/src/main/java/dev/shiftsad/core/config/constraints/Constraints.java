@@ -0,0 +1,134 @@
+package dev.shiftsad.core.config.constraints;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Compiles the constraint annotations of a @Value field or parameter into a single {@link Constraint}.
+ * Patterns are compiled and predicates instantiated once, so checking a value does no reflection.
+ */
+public final class Constraints {
+    private Constraints() {}
+
+    /**
+     * @param element the annotated field or parameter
+     * @param type    the declared type of the element
+     * @return the constraint, or null if the element declares none
+     * @throws IllegalArgumentException if a constraint does not apply to the type, or a predicate cannot be created
+     */
+    public static @Nullable Constraint compile(@NotNull AnnotatedElement element, @NotNull Class<?> type) {
+        List<Constraint> constraints = new ArrayList<>(2);
+
+        Range range = element.getAnnotation(Range.class);
+        if (range != null) {
+            require(isNumeric(type), "@Range", type);
+            constraints.add(range(range.min(), range.max()));
+        }
+
+        if (element.isAnnotationPresent(NotEmpty.class)) {
+            require(CharSequence.class.isAssignableFrom(type) || Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type), "@NotEmpty", type);
+            constraints.add(Constraints::notEmpty);
+        }
+
+        Pattern pattern = element.getAnnotation(Pattern.class);
+        if (pattern != null) {
+            require(CharSequence.class.isAssignableFrom(type), "@Pattern", type);
+            constraints.add(pattern(pattern.value()));
+        }
+
+        Check check = element.getAnnotation(Check.class);
+        if (check != null) {
+            constraints.add(check(check.value(), check.message()));
+        }
+
+        return switch (constraints.size()) {
+            case 0 -> null;
+            case 1 -> constraints.getFirst();
+            default -> all(constraints.toArray(Constraint[]::new));
+        };
+    }
+
+    private static Constraint range(double min, double max) {
+        String message = "must be " + describe(min, max);
+        return value -> {
+            if (value == null) return "must be set";
+            double number = ((Number) value).doubleValue();
+            return number >= min && number <= max ? null : message + ", was " + value;
+        };
+    }
+
+    private static @Nullable String notEmpty(@Nullable Object value) {
+        boolean empty = switch (value) {
+            case null -> true;
+            case CharSequence text -> text.toString().isBlank();
+            case Collection<?> collection -> collection.isEmpty();
+            case Map<?, ?> map -> map.isEmpty();
+            default -> false;
+        };
+        return empty ? "must not be empty" : null;
+    }
+
+    private static Constraint pattern(String regex) {
+        java.util.regex.Pattern compiled = java.util.regex.Pattern.compile(regex);
+        String message = "must match " + regex;
+        return value -> value == null || compiled.matcher((CharSequence) value).matches() ? null : message + ", was '" + value + "'";
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Constraint check(Class<? extends Predicate<?>> type, String message) {
+        Predicate<Object> predicate;
+        try {
+            var constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            predicate = (Predicate<Object>) constructor.newInstance();
+        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalArgumentException("Cannot create @Check predicate " + type.getName(), e);
+        }
+        return value -> {
+            try {
+                return predicate.test(value) ? null : message;
+            } catch (ClassCastException e) {
+                return message + " (" + e.getMessage() + ")";
+            }
+        };
+    }
+
+    private static Constraint all(Constraint[] constraints) {
+        return value -> {
+            for (Constraint constraint : constraints) {
+                String violation = constraint.violation(value);
+                if (violation != null) return violation;
+            }
+            return null;
+        };
+    }
+
+    private static boolean isNumeric(Class<?> type) {
+        return type == int.class || type == long.class || type == double.class || type == float.class
+                || type == short.class || type == byte.class || Number.class.isAssignableFrom(type);
+    }
+
+    private static void require(boolean applies, String constraint, Class<?> type) {
+        if (!applies) {
+            throw new IllegalArgumentException(constraint + " does not apply to " + type.getName());
+        }
+    }
+
+    private static String describe(double min, double max) {
+        if (min == Double.NEGATIVE_INFINITY) return "at most " + format(max);
+        if (max == Double.POSITIVE_INFINITY) return "at least " + format(min);
+        return "between " + format(min) + " and " + format(max);
+    }
+
+    private static String format(double bound) {
+        return bound == Math.rint(bound) && Math.abs(bound) < 1e15 ? Long.toString((long) bound) : Double.toString(bound);
+    }
+}
@@ -0,0 +1,16 @@
+package dev.shiftsad.core.config.constraints;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requires a string @Value to contain something other than whitespace,
+ * and a collection or map @Value to have at least one element.
+ * A missing key breaks the constraint.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+public @interface NotEmpty {
+}
@@ -0,0 +1,18 @@
+package dev.shiftsad.core.config.constraints;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A configured value rejected by a constraint.
+ *
+ * @param target  the field or parameter the value was meant for
+ * @param path    the config path the value was read from
+ * @param message why the value was rejected
+ */
+public record Violation(@NotNull String target, @NotNull String path, @NotNull String message) {
+
+    @Override
+    public String toString() {
+        return target + " (config key '" + path + "') " + message;
+    }
+}
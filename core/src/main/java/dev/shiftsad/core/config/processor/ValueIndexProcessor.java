@@ -0,0 +1,72 @@
+package dev.shiftsad.core.config.processor;
+
+import dev.shiftsad.core.config.Value;
+import dev.shiftsad.core.config.ValueIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes {@link ValueIndex#LOCATION} at compile time so {@link dev.shiftsad.core.config.ConfigurationInjector}
+ * does not have to scan the classpath for {@link Value} fields on boot.
+ */
+@SupportedAnnotationTypes("dev.shiftsad.core.config.Value")
+public class ValueIndexProcessor extends AbstractProcessor {
+
+    private final Set<String> lines = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Value.class)) {
+            if (element.getKind() != ElementKind.FIELD) continue;
+
+            TypeElement owner = (TypeElement) element.getEnclosingElement();
+            ValueIndex.Entry entry = new ValueIndex.Entry(
+                    processingEnv.getElementUtils().getBinaryName(owner).toString(),
+                    element.getSimpleName().toString(),
+                    processingEnv.getTypeUtils().erasure(element.asType()).toString(),
+                    element.getAnnotation(Value.class).value()
+            );
+            lines.add(entry.toLine());
+        }
+
+        if (roundEnv.processingOver() && !lines.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", ValueIndex.LOCATION);
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("# Generated by " + ValueIndexProcessor.class.getName() + ". Do not edit.\n");
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write @Value index: " + e.getMessage());
+        }
+    }
+}
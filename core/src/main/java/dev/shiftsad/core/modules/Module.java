@@ -1,8 +1,21 @@
 package dev.shiftsad.core.modules;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface Module {
     void onEnable();
     void onDisable();
     void reload();
     boolean isReady();
-}
\ No newline at end of file
+
+    /**
+     * Enables the module and returns a future that completes once it is ready.
+     * Modules that warm up in the background override this to start their work and return without
+     * blocking; the modules that depend on them are only started once the future completes.
+     * By default this calls {@link #onEnable()} and is ready as soon as it returns.
+     */
+    default CompletableFuture<Void> enableAsync() {
+        onEnable();
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,135 @@
+package dev.shiftsad.core.modules;
+
+import dev.shiftsad.core.modules.annotations.DependsOn;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The {@link DependsOn} graph of a set of registered modules, validated and sorted once.
+ * Building the graph reports missing dependencies and cycles before any module is touched.
+ */
+final class ModuleGraph {
+
+    private final List<Module> order;
+    private final Map<Class<? extends Module>, List<Module>> dependencies;
+    private final Map<Class<? extends Module>, List<Module>> dependents;
+
+    private ModuleGraph(List<Module> order, Map<Class<? extends Module>, List<Module>> dependencies, Map<Class<? extends Module>, List<Module>> dependents) {
+        this.order = order;
+        this.dependencies = dependencies;
+        this.dependents = dependents;
+    }
+
+    /**
+     * Builds the graph of the given modules.
+     *
+     * @throws RuntimeException if a dependency is not registered or the dependencies form a cycle
+     */
+    static @NotNull ModuleGraph build(@NotNull Map<Class<? extends Module>, Module> modules) {
+        Map<Class<? extends Module>, List<Module>> dependencies = new HashMap<>();
+        Map<Class<? extends Module>, List<Module>> dependents = new HashMap<>();
+
+        for (Map.Entry<Class<? extends Module>, Module> entry : modules.entrySet()) {
+            Class<? extends Module> moduleClass = entry.getKey();
+            List<Module> moduleDependencies = new ArrayList<>();
+
+            DependsOn dependsOn = moduleClass.getAnnotation(DependsOn.class);
+            if (dependsOn != null) {
+                for (Class<? extends Module> dep : dependsOn.value()) {
+                    Module depModule = modules.get(dep);
+                    if (depModule == null) throw new RuntimeException("Missing dependency: " + dep.getName() + " for module " + moduleClass.getName());
+                    moduleDependencies.add(depModule);
+                    dependents.computeIfAbsent(dep, key -> new ArrayList<>()).add(entry.getValue());
+                }
+            }
+            dependencies.put(moduleClass, moduleDependencies);
+        }
+
+        List<Module> order = new ArrayList<>(modules.size());
+        Set<Class<? extends Module>> visited = new HashSet<>();
+        Set<Class<? extends Module>> visiting = new HashSet<>();
+        for (Module module : modules.values()) {
+            sort(module, dependencies, visited, visiting, order);
+        }
+
+        return new ModuleGraph(Collections.unmodifiableList(order), dependencies, dependents);
+    }
+
+    private static void sort(Module module, Map<Class<? extends Module>, List<Module>> dependencies,
+                             Set<Class<? extends Module>> visited, Set<Class<? extends Module>> visiting, List<Module> order) {
+        Class<? extends Module> moduleClass = module.getClass();
+        if (visited.contains(moduleClass)) return;
+
+        if (!visiting.add(moduleClass)) {
+            throw new RuntimeException("Circular dependency detected involving: " + moduleClass.getName());
+        }
+
+        for (Module dependency : dependencies.get(moduleClass)) {
+            sort(dependency, dependencies, visited, visiting, order);
+        }
+
+        visiting.remove(moduleClass);
+        visited.add(moduleClass);
+        order.add(module);
+    }
+
+    /**
+     * Returns every module ordered so that each one comes after all of its dependencies.
+     */
+    List<Module> order() {
+        return order;
+    }
+
+    /**
+     * Returns the given modules and all of their transitive dependencies, in enable order.
+     */
+    List<Module> orderFor(@NotNull Collection<Module> roots) {
+        Set<Class<? extends Module>> required = new HashSet<>();
+        for (Module root : roots) {
+            collect(root, dependencies, required);
+        }
+        return filterOrder(required);
+    }
+
+    /**
+     * Returns the given modules and all of their transitive dependents, in enable order.
+     */
+    List<Module> dependentOrderFor(@NotNull Collection<Module> roots) {
+        Set<Class<? extends Module>> affected = new HashSet<>();
+        for (Module root : roots) {
+            collect(root, dependents, affected);
+        }
+        return filterOrder(affected);
+    }
+
+    private List<Module> filterOrder(Set<Class<? extends Module>> included) {
+        List<Module> result = new ArrayList<>(included.size());
+        for (Module module : order) {
+            if (included.contains(module.getClass())) result.add(module);
+        }
+        return result;
+    }
+
+    private static void collect(Module module, Map<Class<? extends Module>, List<Module>> edges, Set<Class<? extends Module>> collected) {
+        if (!collected.add(module.getClass())) return;
+        for (Module next : edges.getOrDefault(module.getClass(), List.of())) {
+            collect(next, edges, collected);
+        }
+    }
+
+    List<Module> dependenciesOf(@NotNull Module module) {
+        return dependencies.getOrDefault(module.getClass(), List.of());
+    }
+
+    List<Module> dependentsOf(@NotNull Module module) {
+        return dependents.getOrDefault(module.getClass(), List.of());
+    }
+}
@@ -0,0 +1,114 @@
+package dev.shiftsad.core.modules;
+
+import dev.shiftsad.core.modules.annotations.Lazy;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A resolved reference to a registered module, for code that looks the module up often.
+ * Resolve it once with {@link ModuleManager#handle(Class)} and keep it: for a module that is not
+ * {@link Lazy}, {@link #get()} reads a single volatile field instead of looking the module up by class.
+ * <p>
+ * The handle stays valid for the lifetime of the module manager. The module and its enable state are
+ * published together as one binding, which the manager swaps whenever the module is enabled or
+ * disabled, so a reader never sees the module paired with a stale state.
+ * <p>
+ * Only {@link Lazy} modules track their lookups, since only their idle time is ever read. Lookups are
+ * recorded at a resolution of {@value #LOOKUP_RESOLUTION_MILLIS} ms, so most calls only read the
+ * last one; idle timeouts are meant to be much longer than that.
+ *
+ * @param <T> the class the module was registered with
+ */
+public final class ModuleHandle<T extends Module> {
+
+    static final long LOOKUP_RESOLUTION_MILLIS = 100;
+    private static final long LOOKUP_RESOLUTION_NANOS = TimeUnit.MILLISECONDS.toNanos(LOOKUP_RESOLUTION_MILLIS);
+
+    private record Binding<T>(T module, boolean enabled) {}
+
+    private final ModuleManager manager;
+    private final Class<T> moduleClass;
+    private final boolean lazy;
+    private volatile Binding<T> binding;
+    private volatile boolean lookedUp;
+    private volatile long lastLookup;
+    private volatile boolean checkingIdle;
+
+    ModuleHandle(@NotNull ModuleManager manager, @NotNull Class<T> moduleClass, @NotNull T module) {
+        this.manager = manager;
+        this.moduleClass = moduleClass;
+        this.lazy = moduleClass.isAnnotationPresent(Lazy.class);
+        this.binding = new Binding<>(module, false);
+    }
+
+    /**
+     * Returns the module. If it is {@link Lazy} and not enabled, it is enabled first, along with any of
+     * its dependencies that are not enabled yet; this counts as a lookup for its idle timeout.
+     * A lookup that races with {@link ModuleManager#disableIdleModules()} either keeps the module
+     * enabled or waits for the sweep and enables the module again, so it never returns a module that
+     * is being disabled.
+     *
+     * @throws RuntimeException if a dependency is missing or circular
+     * @see ModuleManager#get(Class)
+     */
+    public @NotNull T get() {
+        if (!lazy) return binding.module;
+
+        recordLookup();
+        // Read after the lookup is recorded: either the sweep sees the lookup, or this sees the sweep.
+        boolean checking = checkingIdle;
+        Binding<T> current = binding;
+        if (checking || !current.enabled) {
+            manager.activate(current.module);
+        }
+        return current.module;
+    }
+
+    private void recordLookup() {
+        long now = System.nanoTime();
+        if (!lookedUp || now - lastLookup >= LOOKUP_RESOLUTION_NANOS) {
+            lastLookup = now;
+            lookedUp = true;
+        }
+    }
+
+    /**
+     * Returns the module if it is enabled, without enabling it or counting as a lookup.
+     */
+    public @Nullable T getIfEnabled() {
+        Binding<T> current = binding;
+        return current.enabled ? current.module : null;
+    }
+
+    /**
+     * Returns whether the module is currently enabled.
+     */
+    public boolean isEnabled() {
+        return binding.enabled;
+    }
+
+    public @NotNull Class<T> moduleClass() {
+        return moduleClass;
+    }
+
+    void bind(boolean enabled) {
+        binding = new Binding<>(binding.module, enabled);
+    }
+
+    /**
+     * Marks whether the idle sweep is deciding to disable the module. Set before the sweep's final
+     * {@link #lookedUpWithin} check, and cleared once the module is disabled or kept.
+     */
+    void checkingIdle(boolean checkingIdle) {
+        this.checkingIdle = checkingIdle;
+    }
+
+    /**
+     * Returns whether the module was looked up through {@link #get()} less than the timeout before now.
+     */
+    boolean lookedUpWithin(long now, long timeoutNanos) {
+        return lookedUp && now - lastLookup < timeoutNanos;
+    }
+}
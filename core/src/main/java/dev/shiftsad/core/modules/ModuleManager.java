@@ -1,17 +1,60 @@
 package dev.shiftsad.core.modules;
 
-import dev.shiftsad.core.modules.annotations.DependsOn;
+import dev.shiftsad.core.config.ConfigReloadListener;
+import dev.shiftsad.core.config.ConfigurationInjector;
+import dev.shiftsad.core.config.ConfigurationLoader;
+import dev.shiftsad.core.modules.annotations.Lazy;
+import dev.shiftsad.core.modules.annotations.ReadinessTimeout;
+import dev.shiftsad.core.modules.annotations.ShutdownTimeout;
+import dev.shiftsad.core.profiling.Phase;
+import dev.shiftsad.core.profiling.Span;
+import dev.shiftsad.core.profiling.StartupProfiler;
 import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public class ModuleManager {
 
-    private final Map<Class<? extends Module>, Module> modules = new HashMap<>();
-    private final Set<Class<? extends Module>> enabledModules = new HashSet<>();
+    private final Logger logger = LoggerFactory.getLogger(ModuleManager.class);
+    private final Map<Class<? extends Module>, Module> modules = new LinkedHashMap<>();
+    private final Set<Class<? extends Module>> enabledModules = ConcurrentHashMap.newKeySet();
+    private final Map<Class<? extends Module>, ModuleHandle<?>> handles = new ConcurrentHashMap<>();
+    private final Map<Class<? extends Module>, CompletableFuture<Void>> readiness = new ConcurrentHashMap<>();
+    private final Map<Class<? extends Module>, CompletableFuture<Void>> enabling = new ConcurrentHashMap<>();
+    private final StartupProfiler profiler;
+    private volatile Duration lazyIdleTimeout = Duration.ofMinutes(5);
+    private volatile Duration readinessTimeout = Duration.ZERO;
+    private volatile Duration shutdownTimeout = Duration.ZERO;
+    private volatile boolean shutDown;
+    private ModuleGraph graph;
+
+    public ModuleManager() {
+        this(StartupProfiler.disabled());
+    }
+
+    /**
+     * @param profiler receives the timing of every module lifecycle call
+     */
+    public ModuleManager(@NotNull StartupProfiler profiler) {
+        this.profiler = profiler;
+    }
 
     /**
      * Registers a module in the module manager.
@@ -24,50 +67,570 @@ public class ModuleManager {
             throw new IllegalArgumentException("Module already registered: " + module.getClass().getName());
         }
         modules.put(module.getClass(), module);
+        handles.put(module.getClass(), handleOf(module));
+        graph = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Module> ModuleHandle<T> handleOf(T module) {
+        return new ModuleHandle<>(this, (Class<T>) module.getClass(), module);
+    }
+
+    /**
+     * Returns the registered module of the given class.
+     * If the module is {@link Lazy} and not enabled yet, it is enabled first, along with any of its
+     * dependencies that are not enabled yet.
+     *
+     * Code that looks the module up often should keep its {@link #handle(Class)} instead.
+     *
+     * @param moduleClass the class the module was registered with
+     * @throws IllegalArgumentException if no module of that class is registered
+     * @throws RuntimeException if a dependency is missing or circular
+     */
+    public <T extends Module> @NotNull T get(@NotNull Class<T> moduleClass) {
+        return handle(moduleClass).get();
+    }
+
+    /**
+     * Returns the handle of the registered module of the given class.
+     * The handle can be kept for as long as the module manager is used and reflects whether the module is enabled.
+     *
+     * @param moduleClass the class the module was registered with
+     * @throws IllegalArgumentException if no module of that class is registered
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Module> @NotNull ModuleHandle<T> handle(@NotNull Class<T> moduleClass) {
+        ModuleHandle<?> handle = handles.get(moduleClass);
+        if (handle == null) {
+            throw new IllegalArgumentException("Module not registered: " + moduleClass.getName());
+        }
+        return (ModuleHandle<T>) handle;
+    }
+
+    synchronized void activate(Module module) {
+        if (enabledModules.contains(module.getClass()) || !isLazy(module.getClass())) return;
+        if (shutDown) {
+            throw new IllegalStateException("Module manager is shut down, cannot enable " + module.getClass().getName());
+        }
+
+        ModuleGraph graph = graph();
+        for (Module required : graph.orderFor(List.of(module))) {
+            join(enable(required, graph, 0));
+        }
+    }
+
+    /**
+     * Returns whether the module of the given class is currently enabled.
+     */
+    public boolean isEnabled(@NotNull Class<? extends Module> moduleClass) {
+        return enabledModules.contains(moduleClass);
+    }
+
+    /**
+     * Sets how long a {@link Lazy} module may go without a lookup before {@link #disableIdleModules()}
+     * disables it, for modules that do not declare their own timeout.
+     * {@link Duration#ZERO} keeps them enabled.
+     */
+    public void setLazyIdleTimeout(@NotNull Duration lazyIdleTimeout) {
+        this.lazyIdleTimeout = lazyIdleTimeout;
+    }
+
+    /**
+     * Disables the enabled {@link Lazy} modules that have not been looked up within their idle timeout.
+     * A module is kept while any module that depends on it is still enabled. Dependents are checked
+     * first, so an idle chain of lazy modules is disabled in one call.
+     * Meant to be called periodically; a disabled module is enabled again on its next lookup.
+     *
+     * @return the modules that were disabled
+     */
+    public synchronized @NotNull List<Module> disableIdleModules() {
+        ModuleGraph graph = graph();
+        List<Module> order = graph.order();
+        List<Module> disabled = new ArrayList<>();
+        long now = System.nanoTime();
+
+        for (int i = order.size() - 1; i >= 0; i--) {
+            Module module = order.get(i);
+            Class<? extends Module> moduleClass = module.getClass();
+            if (!enabledModules.contains(moduleClass) || !isIdle(moduleClass, now)) continue;
+            if (hasEnabledDependents(module, graph)) continue;
+
+            // Handles do not take the lock, so check again once a new lookup would wait for it.
+            ModuleHandle<?> handle = handles.get(moduleClass);
+            handle.checkingIdle(true);
+            try {
+                if (!isIdle(moduleClass, System.nanoTime())) continue;
+
+                try (Span ignored = profiler.start(Phase.DISABLE, moduleClass.getName())) {
+                    module.onDisable();
+                }
+                markDisabled(moduleClass);
+                disabled.add(module);
+            } finally {
+                handle.checkingIdle(false);
+            }
+        }
+        return disabled;
+    }
+
+    private boolean isIdle(Class<? extends Module> moduleClass, long now) {
+        Lazy lazy = moduleClass.getAnnotation(Lazy.class);
+        if (lazy == null) return false;
+
+        Duration timeout = lazy.idleTimeoutSeconds() < 0 ? lazyIdleTimeout : Duration.ofSeconds(lazy.idleTimeoutSeconds());
+        if (timeout.isZero()) return false;
+
+        return !handles.get(moduleClass).lookedUpWithin(now, timeout.toNanos());
+    }
+
+    private boolean hasEnabledDependents(Module module, ModuleGraph graph) {
+        for (Module dependent : graph.dependentsOf(module)) {
+            if (enabledModules.contains(dependent.getClass())) return true;
+        }
+        return false;
     }
 
     /**
-     * Enables all registered modules in the module manager.
-     * This method will enable each module and its dependencies recursively.
+     * Enables all registered modules in the module manager, one at a time.
+     * Dependencies are always ready before the modules that depend on them are enabled,
+     * and a module that is already enabled will not be enabled again.
+     * {@link Lazy} modules are skipped unless an eager module depends on them.
+     *
+     * @throws RuntimeException if a dependency is missing or circular (nothing is enabled in that case),
+     *                          or the failure thrown by a module
      */
     public void enableModules() {
-        for (Module module : modules.values()) {
-            enableModuleWithDependencies(module, new HashSet<>());
+        ModuleGraph graph = graph();
+        for (Module module : eagerModules(graph)) {
+            join(enable(module, graph, 0));
+        }
+    }
+
+    /**
+     * Enables all registered modules concurrently on virtual threads.
+     *
+     * @see #enableModulesInParallel(Executor)
+     */
+    public void enableModulesInParallel() {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            enableModulesInParallel(executor);
+        }
+    }
+
+    /**
+     * Enables all registered modules concurrently on the given executor and waits for them to be ready.
+     *
+     * @param executor the executor that runs {@link Module#enableAsync()}
+     * @throws RuntimeException if a dependency is missing or circular (nothing is enabled in that case),
+     *                          or the first failure thrown by a module
+     * @see #enableModulesAsync(Executor)
+     */
+    public void enableModulesInParallel(@NotNull Executor executor) {
+        join(enableModulesAsync(executor));
+    }
+
+    /**
+     * Starts enabling all registered modules concurrently on the given executor, without waiting for them.
+     * Each module starts as soon as all of its dependencies are ready, so independent modules
+     * with slow {@link Module#enableAsync()} implementations do not wait on each other.
+     * If a module fails or times out, the modules that depend on it are not started.
+     * {@link Lazy} modules are skipped unless an eager module depends on them.
+     * Use {@link #readiness(Class[])} to wait for the modules that have to be ready before the server can be used.
+     *
+     * @param executor the executor that runs {@link Module#enableAsync()}
+     * @return a future that completes once every started module is ready, or fails with the first failure
+     * @throws RuntimeException if a dependency is missing or circular; nothing is enabled in that case
+     */
+    public @NotNull CompletableFuture<Void> enableModulesAsync(@NotNull Executor executor) {
+        ModuleGraph graph = graph();
+        List<Module> eager = eagerModules(graph);
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[eager.size()];
+
+        for (int i = 0; i < tasks.length; i++) {
+            Module module = eager.get(i);
+            Class<? extends Module> moduleClass = module.getClass();
+            resetFailedReadiness(moduleClass);
+
+            List<Module> dependencies = graph.dependenciesOf(module);
+            CompletableFuture<?>[] dependencyTasks = new CompletableFuture<?>[dependencies.size()];
+            for (int j = 0; j < dependencyTasks.length; j++) {
+                dependencyTasks[j] = readinessOf(dependencies.get(j).getClass());
+            }
+
+            long scheduledAt = System.nanoTime();
+            CompletableFuture<Void> task = CompletableFuture.allOf(dependencyTasks)
+                    .thenComposeAsync(ignored -> enable(module, graph, System.nanoTime() - scheduledAt), executor);
+            task.whenComplete((ignored, failure) -> {
+                if (failure != null) readinessOf(moduleClass).completeExceptionally(failure);
+            });
+            tasks[i] = task;
         }
+        return CompletableFuture.allOf(tasks);
     }
 
     /**
-     * Enables a module and its dependencies.
-     * If a module is already enabled, it will not be enabled again.
-     * Dependencies are enabled recursively before the module itself.
+     * Returns a future that completes once all of the given modules are ready.
+     * The future can be obtained before the modules are enabled, and fails if any of them fails or times out.
      *
-     * @param module the module to enable
-     * @param visiting a set of modules currently being visited to detect cycles
+     * @param moduleClasses the classes the modules were registered with
+     * @throws IllegalArgumentException if one of the modules is not registered
+     */
+    @SafeVarargs
+    public final @NotNull CompletableFuture<Void> readiness(@NotNull Class<? extends Module>... moduleClasses) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[moduleClasses.length];
+        for (int i = 0; i < futures.length; i++) {
+            if (!modules.containsKey(moduleClasses[i])) {
+                throw new IllegalArgumentException("Module not registered: " + moduleClasses[i].getName());
+            }
+            futures[i] = readinessOf(moduleClasses[i]);
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Returns a future that completes once every module enabled at boot is ready.
+     */
+    public @NotNull CompletableFuture<Void> readiness() {
+        List<Module> eager = eagerModules(graph());
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[eager.size()];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = readinessOf(eager.get(i).getClass());
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Sets how long a module may take to become ready, for modules without a {@link ReadinessTimeout}.
+     * {@link Duration#ZERO}, the default, waits indefinitely.
      */
-    private void enableModuleWithDependencies(Module module, @NotNull Set<Class<? extends Module>> visiting) {
+    public void setReadinessTimeout(@NotNull Duration readinessTimeout) {
+        this.readinessTimeout = readinessTimeout;
+    }
+
+    private CompletableFuture<Void> readinessOf(Class<? extends Module> moduleClass) {
+        return readiness.computeIfAbsent(moduleClass, key -> new CompletableFuture<>());
+    }
+
+    /**
+     * Forgets a previous failure of the module, so that enabling it again can make it ready.
+     */
+    private void resetFailedReadiness(Class<? extends Module> moduleClass) {
+        readiness.computeIfPresent(moduleClass, (key, future) -> future.isCompletedExceptionally() ? null : future);
+    }
+
+    private Duration readinessTimeout(Class<? extends Module> moduleClass) {
+        ReadinessTimeout timeout = moduleClass.getAnnotation(ReadinessTimeout.class);
+        return timeout == null ? readinessTimeout : Duration.ofSeconds(timeout.seconds());
+    }
+
+    /**
+     * Sets how long each module may take to disable during {@link #shutdown(Duration)},
+     * for modules without a {@link ShutdownTimeout}.
+     * {@link Duration#ZERO}, the default, bounds modules by the shutdown budget only.
+     */
+    public void setShutdownTimeout(@NotNull Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    /**
+     * Disables every enabled module, in reverse dependency order, within the given time budget.
+     * A module is disabled once all of its enabled dependents are, so it can still serve them while
+     * they flush; modules that do not depend on each other are disabled concurrently on virtual threads.
+     * Each module may take its {@link ShutdownTimeout}, or the default set with {@link #setShutdownTimeout},
+     * but never longer than what is left of the budget. A module that fails or misses its deadline is
+     * reported and no longer waited for: its dependencies are disabled anyway, and its
+     * {@link Module#onDisable()} is left running in the background.
+     * After a shutdown, {@link Lazy} modules are no longer enabled by {@link #get(Class)}.
+     *
+     * @param timeout the time budget of the whole shutdown
+     * @return the failure of every module that threw or missed its deadline, by module class;
+     *         empty if every module was disabled in time
+     */
+    public synchronized @NotNull Map<Class<? extends Module>, Throwable> shutdown(@NotNull Duration timeout) {
+        shutDown = true;
+        ModuleGraph graph = graph();
+        List<Module> order = graph.order();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Map<Class<? extends Module>, CompletableFuture<Void>> tasks = new HashMap<>();
+        Map<Class<? extends Module>, Throwable> failures = new ConcurrentHashMap<>();
+        // Not closed: closing waits for every task, including the ones that missed their deadline.
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        for (int i = order.size() - 1; i >= 0; i--) {
+            Module module = order.get(i);
+            Class<? extends Module> moduleClass = module.getClass();
+            if (!enabledModules.contains(moduleClass)) continue;
+
+            List<Module> dependents = new ArrayList<>();
+            List<CompletableFuture<Void>> dependentTasks = new ArrayList<>();
+            for (Module dependent : graph.dependentsOf(module)) {
+                CompletableFuture<Void> dependentTask = tasks.get(dependent.getClass());
+                if (dependentTask != null) {
+                    dependents.add(dependent);
+                    dependentTasks.add(dependentTask);
+                }
+            }
+
+            long scheduledAt = System.nanoTime();
+            tasks.put(moduleClass, CompletableFuture.allOf(dependentTasks.toArray(CompletableFuture<?>[]::new))
+                    .thenCompose(ignored -> disable(module, dependents, System.nanoTime() - scheduledAt, deadline, executor))
+                    .exceptionally(failure -> {
+                        failures.put(moduleClass, failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+                        return null;
+                    }));
+        }
+
+        CompletableFuture.allOf(tasks.values().toArray(CompletableFuture<?>[]::new)).join();
+        executor.shutdown();
+
+        for (Map.Entry<Class<? extends Module>, Throwable> failure : failures.entrySet()) {
+            logger.warn("Module {} was not disabled cleanly: {}", failure.getKey().getName(), failure.getValue().toString());
+        }
+        return failures;
+    }
+
+    /**
+     * Registers a JVM shutdown hook that calls {@link #shutdown(Duration)} with the given budget.
+     *
+     * @return the hook, to pass to {@link Runtime#removeShutdownHook(Thread)}
+     */
+    public @NotNull Thread registerShutdownHook(@NotNull Duration timeout) {
+        Thread hook = new Thread(() -> shutdown(timeout), "module-shutdown");
+        Runtime.getRuntime().addShutdownHook(hook);
+        return hook;
+    }
+
+    /**
+     * Runs {@link Module#onDisable()} on the executor and stops waiting for it at the module's deadline.
+     * The module counts as disabled either way. Its span is recorded on the executor thread once
+     * {@link Module#onDisable()} returns, and counts the time spent queued as waiting.
+     *
+     * @param dependents the dependents that were disabled first, for the profiler
+     */
+    private CompletableFuture<Void> disable(Module module, List<Module> dependents, long waitNanos, long deadline, Executor executor) {
         Class<? extends Module> moduleClass = module.getClass();
+        Duration moduleTimeout = shutdownTimeout(moduleClass);
+        long remaining = Math.max(0, deadline - System.nanoTime());
+        long limit = moduleTimeout.isZero() ? remaining : Math.min(remaining, moduleTimeout.toNanos());
+        List<String> dependencies = names(dependents);
+        long queuedAt = System.nanoTime();
 
-        if (enabledModules.contains(moduleClass)) return;
+        return CompletableFuture.runAsync(() -> {
+                    try (Span ignored = profiler.start(Phase.DISABLE, moduleClass.getName())
+                            .waited(waitNanos + System.nanoTime() - queuedAt)
+                            .dependencies(dependencies)) {
+                        module.onDisable();
+                    }
+                }, executor)
+                .orTimeout(limit, TimeUnit.NANOSECONDS)
+                .exceptionallyCompose(failure -> CompletableFuture.failedFuture(failure instanceof TimeoutException
+                        ? new TimeoutException("Module " + moduleClass.getName() + " was not disabled within " + Duration.ofNanos(limit))
+                        : failure))
+                .whenComplete((ignored, failure) -> markDisabled(moduleClass));
+    }
+
+    private Duration shutdownTimeout(Class<? extends Module> moduleClass) {
+        ShutdownTimeout timeout = moduleClass.getAnnotation(ShutdownTimeout.class);
+        return timeout == null ? shutdownTimeout : Duration.ofSeconds(timeout.seconds());
+    }
 
-        if (visiting.contains(moduleClass)) {
-            throw new RuntimeException("Circular dependency detected involving: " + module.getClass().getName());
+    private static void join(CompletableFuture<?> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new RuntimeException(e.getCause());
         }
+    }
 
-        visiting.add(moduleClass);
+    /**
+     * Reloads a module and every enabled module that transitively depends on it, and waits for them.
+     *
+     * @see #reloadAsync(Collection, Executor)
+     */
+    public void reload(@NotNull Class<? extends Module> moduleClass) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            join(reloadAsync(List.of(moduleClass), executor));
+        }
+    }
 
+    /**
+     * Calls {@link Module#reload()} on the given modules and on every module that transitively depends on them.
+     * A module is reloaded after the dependencies that are being reloaded with it, and independent branches
+     * are reloaded concurrently. If a module fails, the modules that depend on it are not reloaded.
+     * Modules that are not enabled are skipped.
+     *
+     * @param moduleClasses the classes the modules to reload were registered with
+     * @param executor the executor that runs {@link Module#reload()}
+     * @return a future that completes once every affected module is reloaded, or fails with the first failure
+     * @throws IllegalArgumentException if one of the modules is not registered
+     */
+    public @NotNull CompletableFuture<Void> reloadAsync(@NotNull Collection<Class<? extends Module>> moduleClasses, @NotNull Executor executor) {
+        List<Module> roots = new ArrayList<>(moduleClasses.size());
+        for (Class<? extends Module> moduleClass : moduleClasses) {
+            Module module = modules.get(moduleClass);
+            if (module == null) {
+                throw new IllegalArgumentException("Module not registered: " + moduleClass.getName());
+            }
+            roots.add(module);
+        }
 
-        DependsOn dependsOn = moduleClass.getAnnotation(DependsOn.class);
-        if (dependsOn != null) {
-            for (Class<? extends Module> dep : dependsOn.value()) {
-                Module depModule = modules.get(dep);
-                if (depModule == null) throw new RuntimeException("Missing dependency: " + dep.getName() + " for module " + moduleClass.getName());
-                enableModuleWithDependencies(depModule, visiting);
+        ModuleGraph graph = graph();
+        Map<Class<? extends Module>, CompletableFuture<Void>> tasks = new HashMap<>();
+        for (Module module : graph.dependentOrderFor(roots)) {
+            if (!enabledModules.contains(module.getClass())) continue;
+
+            List<CompletableFuture<Void>> dependencyTasks = new ArrayList<>();
+            for (Module dependency : graph.dependenciesOf(module)) {
+                CompletableFuture<Void> dependencyTask = tasks.get(dependency.getClass());
+                if (dependencyTask != null) dependencyTasks.add(dependencyTask);
+            }
+
+            long scheduledAt = System.nanoTime();
+            tasks.put(module.getClass(), CompletableFuture.allOf(dependencyTasks.toArray(CompletableFuture<?>[]::new))
+                    .thenRunAsync(() -> reload(module, graph, System.nanoTime() - scheduledAt), executor));
+        }
+        return CompletableFuture.allOf(tasks.values().toArray(CompletableFuture<?>[]::new));
+    }
+
+    /**
+     * Connects the modules to the configuration, so that a reload of the configuration
+     * re-injects the changed @Value fields and then reloads the modules whose fields read a changed key,
+     * along with their dependents.
+     * A module reads a key when the field is declared by its class or one of its superclasses.
+     * The injector is also registered as a {@link dev.shiftsad.core.config.ConfigValidator}, so a reload that breaks
+     * a constraint is rejected before any module sees it.
+     *
+     * @return the registered listener, to pass to {@link ConfigurationLoader#removeReloadListener}
+     */
+    public @NotNull ConfigReloadListener bindConfiguration(@NotNull ConfigurationLoader loader, @NotNull ConfigurationInjector injector) {
+        loader.addValidator(injector::validate);
+        ConfigReloadListener listener = changedKeys -> {
+            injector.reinject(changedKeys);
+
+            Set<Class<?>> readers = injector.classesReading(changedKeys);
+            List<Class<? extends Module>> affected = new ArrayList<>();
+            for (Class<? extends Module> moduleClass : modules.keySet()) {
+                for (Class<?> reader : readers) {
+                    if (reader.isAssignableFrom(moduleClass)) {
+                        affected.add(moduleClass);
+                        break;
+                    }
+                }
+            }
+
+            if (affected.isEmpty()) return;
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                join(reloadAsync(affected, executor));
             }
+        };
+        loader.addReloadListener(listener);
+        return listener;
+    }
+
+    private void reload(Module module, ModuleGraph graph, long waitNanos) {
+        try (Span ignored = profiler.start(Phase.RELOAD, module.getClass().getName())
+                .waited(waitNanos)
+                .dependencies(names(graph.dependenciesOf(module)))) {
+            module.reload();
         }
+    }
 
-        visiting.remove(moduleClass);
-        module.onEnable();
+    private synchronized ModuleGraph graph() {
+        if (graph == null) {
+            graph = ModuleGraph.build(modules);
+        }
+        return graph;
+    }
+
+    /**
+     * Returns the modules to enable at boot: every module that is not {@link Lazy},
+     * and everything those depend on.
+     */
+    private static List<Module> eagerModules(ModuleGraph graph) {
+        List<Module> eager = new ArrayList<>();
+        for (Module module : graph.order()) {
+            if (!isLazy(module.getClass())) eager.add(module);
+        }
+        return graph.orderFor(eager);
+    }
 
-        enabledModules.add(moduleClass);
+    private static boolean isLazy(Class<? extends Module> moduleClass) {
+        return moduleClass.isAnnotationPresent(Lazy.class);
+    }
+
+    /**
+     * Enables a module unless it is already enabled.
+     * If the module is still being enabled, for example by {@link #enableModulesAsync(Executor)} while a lookup
+     * activates it, the pending enabling is returned instead of calling {@link Module#enableAsync()} again.
+     * Callers are responsible for making sure its dependencies are ready first.
+     *
+     * @param waitNanos how long the module waited for its dependencies, for the profiler
+     * @return a future that completes once the module is ready
+     */
+    private CompletableFuture<Void> enable(Module module, ModuleGraph graph, long waitNanos) {
+        Class<? extends Module> moduleClass = module.getClass();
+        if (enabledModules.contains(moduleClass)) return CompletableFuture.completedFuture(null);
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        CompletableFuture<Void> pending = enabling.putIfAbsent(moduleClass, done);
+        if (pending != null) return pending;
+        // The previous enabling may have finished between the first check and the put
+        if (enabledModules.contains(moduleClass)) {
+            enabling.remove(moduleClass, done);
+            return CompletableFuture.completedFuture(null);
+        }
+        resetFailedReadiness(moduleClass);
+
+        Span span = profiler.start(Phase.ENABLE, moduleClass.getName())
+                .waited(waitNanos)
+                .dependencies(names(graph.dependenciesOf(module)));
+
+        CompletableFuture<Void> ready;
+        try {
+            ready = module.enableAsync().copy();
+        } catch (RuntimeException e) {
+            ready = CompletableFuture.failedFuture(e);
+        }
+
+        Duration timeout = readinessTimeout(moduleClass);
+        if (!timeout.isZero()) {
+            ready = ready.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+                    .exceptionallyCompose(failure -> CompletableFuture.failedFuture(failure instanceof TimeoutException
+                            ? new TimeoutException("Module " + moduleClass.getName() + " was not ready within " + timeout)
+                            : failure));
+        }
+
+        ready.whenComplete((ignored, failure) -> {
+            span.close();
+            if (failure == null) {
+                enabledModules.add(moduleClass);
+                handles.get(moduleClass).bind(true);
+                readinessOf(moduleClass).complete(null);
+            } else {
+                readinessOf(moduleClass).completeExceptionally(failure);
+            }
+            enabling.remove(moduleClass, done);
+            if (failure == null) {
+                done.complete(null);
+            } else {
+                done.completeExceptionally(failure);
+            }
+        });
+        return done;
+    }
+
+    private void markDisabled(Class<? extends Module> moduleClass) {
+        enabledModules.remove(moduleClass);
+        handles.get(moduleClass).bind(false);
+        readiness.remove(moduleClass);
+    }
+
+    private static List<String> names(List<Module> modules) {
+        List<String> names = new ArrayList<>(modules.size());
+        for (Module module : modules) {
+            names.add(module.getClass().getName());
+        }
+        return names;
     }
 }
@@ -0,0 +1,21 @@
+package dev.shiftsad.core.modules.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a module that is only enabled the first time it is looked up through
+ * {@link dev.shiftsad.core.modules.ModuleManager#get(Class)}, instead of at boot.
+ * A lazy module that an eager module depends on is still enabled at boot.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Lazy {
+    /**
+     * The number of seconds the module may go without a lookup before it is disabled again.
+     * A negative value uses the module manager's default, and 0 keeps the module enabled once it is.
+     */
+    long idleTimeoutSeconds() default -1;
+}
@@ -0,0 +1,19 @@
+package dev.shiftsad.core.modules.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets how long a module may take to become ready after it is enabled,
+ * overriding the module manager's default.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ReadinessTimeout {
+    /**
+     * The timeout in seconds, or 0 to wait indefinitely.
+     */
+    long seconds();
+}
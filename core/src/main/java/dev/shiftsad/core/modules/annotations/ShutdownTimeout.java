@@ -0,0 +1,19 @@
+package dev.shiftsad.core.modules.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets how long {@link dev.shiftsad.core.modules.Module#onDisable()} may run during a shutdown,
+ * overriding the module manager's default.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ShutdownTimeout {
+    /**
+     * The timeout in seconds, or 0 to be bounded by the shutdown budget only.
+     */
+    long seconds();
+}
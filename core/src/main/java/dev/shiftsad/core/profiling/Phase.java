@@ -0,0 +1,16 @@
+package dev.shiftsad.core.profiling;
+
+public enum Phase {
+    /** Locating @Value fields, from the build-time index or a classpath scan. */
+    SCAN,
+    /** Reading and parsing a configuration file. */
+    PARSE,
+    /** Injecting configuration values into @Value fields. */
+    INJECT,
+    /** A single module's {@code onEnable}. */
+    ENABLE,
+    /** A single module's {@code onDisable}. */
+    DISABLE,
+    /** A single module's {@code reload}. */
+    RELOAD
+}
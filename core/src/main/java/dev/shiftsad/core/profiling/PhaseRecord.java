@@ -0,0 +1,32 @@
+package dev.shiftsad.core.profiling;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * One timed phase.
+ *
+ * @param phase the kind of work that was timed
+ * @param name what was processed, e.g. a module class or a package name
+ * @param thread the name of the thread the work ran on; virtual threads, which are unnamed, are named after their id
+ * @param threadId the id of the thread the work ran on, which tells threads with the same name apart
+ * @param startNanos the {@link System#nanoTime()} at which the work started
+ * @param durationNanos how long the work took
+ * @param waitNanos how long the work waited for its dependencies before it could start
+ * @param dependencies the names of the records this one had to wait for
+ */
+public record PhaseRecord(
+        @NotNull Phase phase,
+        @NotNull String name,
+        @NotNull String thread,
+        long threadId,
+        long startNanos,
+        long durationNanos,
+        long waitNanos,
+        @NotNull List<String> dependencies
+) {
+    public long endNanos() {
+        return startNanos + durationNanos;
+    }
+}
@@ -0,0 +1,49 @@
+package dev.shiftsad.core.profiling;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * A phase that is being timed. Closing the span records it with its {@link StartupProfiler}.
+ */
+public final class Span implements AutoCloseable {
+
+    private final StartupProfiler profiler;
+    private final Phase phase;
+    private final String name;
+    private final Thread thread = Thread.currentThread();
+    private final long startNanos = System.nanoTime();
+    private long waitNanos;
+    private List<String> dependencies = List.of();
+
+    Span(StartupProfiler profiler, Phase phase, String name) {
+        this.profiler = profiler;
+        this.phase = phase;
+        this.name = name;
+    }
+
+    /**
+     * Sets how long the work waited for its dependencies before this span was started.
+     */
+    public Span waited(long waitNanos) {
+        this.waitNanos = waitNanos;
+        return this;
+    }
+
+    public Span dependencies(@NotNull List<String> dependencies) {
+        this.dependencies = List.copyOf(dependencies);
+        return this;
+    }
+
+    @Override
+    public void close() {
+        profiler.record(new PhaseRecord(phase, name, threadName(thread), thread.threadId(),
+                startNanos, System.nanoTime() - startNanos, waitNanos, dependencies));
+    }
+
+    private static String threadName(Thread thread) {
+        String name = thread.getName();
+        return name.isBlank() ? "virtual-" + thread.threadId() : name;
+    }
+}
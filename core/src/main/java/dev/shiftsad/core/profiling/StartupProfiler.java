@@ -0,0 +1,69 @@
+package dev.shiftsad.core.profiling;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects {@link PhaseRecord}s from the module and configuration subsystems.
+ * A profiler keeps at most {@value #MAX_RECORDS} records so it can stay attached after boot
+ * and still capture reloads without growing without bound.
+ */
+public final class StartupProfiler {
+
+    static final int MAX_RECORDS = 10_000;
+
+    private static final StartupProfiler DISABLED = new StartupProfiler(false);
+
+    private final boolean enabled;
+    private final List<PhaseRecord> records = new ArrayList<>();
+    private int droppedRecords;
+
+    public StartupProfiler() {
+        this(true);
+    }
+
+    private StartupProfiler(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns a profiler that discards everything it is given.
+     */
+    public static StartupProfiler disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts timing a phase. The phase is recorded when the returned span is closed.
+     */
+    public Span start(@NotNull Phase phase, @NotNull String name) {
+        return new Span(this, phase, name);
+    }
+
+    public void record(@NotNull PhaseRecord record) {
+        if (!enabled) return;
+
+        synchronized (records) {
+            if (records.size() >= MAX_RECORDS) {
+                droppedRecords++;
+                return;
+            }
+            records.add(record);
+        }
+    }
+
+    /**
+     * Returns a report of everything recorded so far.
+     */
+    public StartupReport report() {
+        synchronized (records) {
+            return new StartupReport(List.copyOf(records), droppedRecords);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package dev.shiftsad.core.profiling;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable view of the phases recorded by a {@link StartupProfiler}.
+ */
+public final class StartupReport {
+
+    private static final String CRITICAL_PATH_TRACK = "Critical path";
+
+    private final List<PhaseRecord> records;
+    private final int droppedRecords;
+    private final List<PhaseRecord> criticalPath;
+
+    StartupReport(@NotNull List<PhaseRecord> records, int droppedRecords) {
+        List<PhaseRecord> sorted = new ArrayList<>(records);
+        sorted.sort(Comparator.comparingLong(PhaseRecord::startNanos));
+        this.records = Collections.unmodifiableList(sorted);
+        this.droppedRecords = droppedRecords;
+        this.criticalPath = computeCriticalPath(this.records);
+    }
+
+    /**
+     * Returns every record, ordered by start time.
+     */
+    public List<PhaseRecord> records() {
+        return records;
+    }
+
+    public List<PhaseRecord> records(@NotNull Phase phase) {
+        return records.stream().filter(record -> record.phase() == phase).toList();
+    }
+
+    /**
+     * Returns how many records were discarded because the profiler was full.
+     */
+    public int droppedRecords() {
+        return droppedRecords;
+    }
+
+    public long totalNanos(@NotNull Phase phase) {
+        long total = 0;
+        for (PhaseRecord record : records) {
+            if (record.phase() == phase) total += record.durationNanos();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the chain of module enables that determined when the last module finished:
+     * starting from the last module to finish, each step goes to the dependency that finished last.
+     */
+    public List<PhaseRecord> criticalPath() {
+        return criticalPath;
+    }
+
+    private static List<PhaseRecord> computeCriticalPath(List<PhaseRecord> records) {
+        Map<String, PhaseRecord> enables = new HashMap<>();
+        PhaseRecord last = null;
+        for (PhaseRecord record : records) {
+            if (record.phase() != Phase.ENABLE) continue;
+            enables.put(record.name(), record);
+            if (last == null || record.endNanos() > last.endNanos()) last = record;
+        }
+
+        List<PhaseRecord> path = new ArrayList<>();
+        PhaseRecord current = last;
+        while (current != null) {
+            path.add(current);
+
+            PhaseRecord latestDependency = null;
+            for (String dependency : current.dependencies()) {
+                PhaseRecord candidate = enables.get(dependency);
+                if (candidate != null && (latestDependency == null || candidate.endNanos() > latestDependency.endNanos())) {
+                    latestDependency = candidate;
+                }
+            }
+            current = latestDependency;
+        }
+
+        Collections.reverse(path);
+        return Collections.unmodifiableList(path);
+    }
+
+    /**
+     * Formats the report as a human-readable table.
+     */
+    public String format() {
+        StringBuilder builder = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            long total = totalNanos(phase);
+            if (total > 0) {
+                builder.append(String.format("%-8s %10.2f ms%n", phase, millis(total)));
+            }
+        }
+
+        builder.append(String.format("%n%-8s %-60s %10s %10s  %s%n", "PHASE", "NAME", "TIME", "WAIT", "THREAD"));
+        for (PhaseRecord record : records) {
+            builder.append(String.format("%-8s %-60s %7.2f ms %7.2f ms  %s%n", record.phase(), record.name(),
+                    millis(record.durationNanos()), millis(record.waitNanos()), record.thread()));
+        }
+
+        if (!criticalPath.isEmpty()) {
+            builder.append(String.format("%nCritical path:%n"));
+            for (PhaseRecord record : criticalPath) {
+                builder.append(String.format("  %-60s %7.2f ms%n", record.name(), millis(record.durationNanos())));
+            }
+        }
+
+        if (droppedRecords > 0) {
+            builder.append(String.format("%n%d records were dropped%n", droppedRecords));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Serializes the report in the Chrome trace-event format, loadable in {@code chrome://tracing} or Perfetto.
+     * Every record becomes a complete event on its thread's track, and the critical path is repeated
+     * on a dedicated track.
+     */
+    public String toChromeTrace() {
+        long origin = records.isEmpty() ? 0 : records.get(0).startNanos();
+        // Tracks are keyed by thread id: several threads can share a name.
+        Map<Long, Integer> threadIds = new LinkedHashMap<>();
+        List<String> events = new ArrayList<>();
+        events.add(threadName(0, CRITICAL_PATH_TRACK));
+        for (PhaseRecord record : records) {
+            if (!threadIds.containsKey(record.threadId())) {
+                int track = threadIds.size() + 1;
+                threadIds.put(record.threadId(), track);
+                events.add(threadName(track, record.thread()));
+            }
+        }
+
+        Set<PhaseRecord> critical = Collections.newSetFromMap(new IdentityHashMap<>());
+        critical.addAll(criticalPath);
+        for (PhaseRecord record : records) {
+            events.add(event(record, threadIds.get(record.threadId()), origin, critical.contains(record)));
+        }
+        for (PhaseRecord record : criticalPath) {
+            events.add(event(record, 0, origin, true));
+        }
+
+        return "{\"displayTimeUnit\":\"ms\",\"traceEvents\":[\n" + String.join(",\n", events) + "\n]}\n";
+    }
+
+    public void writeChromeTrace(@NotNull Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.writeString(file, toChromeTrace());
+    }
+
+    private static String threadName(int track, String name) {
+        return "{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":" + track
+                + ",\"args\":{\"name\":" + quote(name) + "}}";
+    }
+
+    private static String event(PhaseRecord record, int threadId, long origin, boolean critical) {
+        StringBuilder dependencies = new StringBuilder("[");
+        for (int i = 0; i < record.dependencies().size(); i++) {
+            if (i > 0) dependencies.append(',');
+            dependencies.append(quote(record.dependencies().get(i)));
+        }
+        dependencies.append(']');
+
+        return "{\"name\":" + quote(record.name())
+                + ",\"cat\":" + quote(record.phase().name().toLowerCase())
+                + ",\"ph\":\"X\",\"pid\":1,\"tid\":" + threadId
+                + ",\"ts\":" + micros(record.startNanos() - origin)
+                + ",\"dur\":" + micros(record.durationNanos())
+                + ",\"args\":{\"thread\":" + quote(record.thread())
+                + ",\"waitMs\":" + String.format(Locale.ROOT, "%.3f", millis(record.waitNanos()))
+                + ",\"critical\":" + critical
+                + ",\"dependencies\":" + dependencies + "}}";
+    }
+
+    private static String quote(String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20) builder.append(String.format("\\u%04x", (int) c));
+                    else builder.append(c);
+                }
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000.0);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,232 @@
+package dev.shiftsad.core.config;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigException;
+import com.typesafe.config.ConfigFactory;
+import dev.shiftsad.core.config.adapters.ConfigAdapter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdapterRegistry Tests")
+public class AdapterRegistryTest {
+
+    private static final Config CONFIG = ConfigFactory.parseString("""
+            spawn { x = 1, y = 64, z = -3.5, yaw = 90 }
+            spawns = [
+              { x = 1, y = 64, z = 1, yaw = 0 }
+              { x = 2, y = 65, z = 2, yaw = 180 }
+            ]
+            mode = "game-mode"
+            modes = [SURVIVAL, "creative"]
+            limits { lobby = 100, menu = 20 }
+            route { name = "main", stops = [{ x = 0, y = 0, z = 0, yaw = 0 }] }
+            incomplete { x = 1, y = 2 }
+            badMode = "flying"
+            ratio = 0.25
+            """).resolve();
+
+    enum Mode { SURVIVAL, CREATIVE, GAME_MODE }
+
+    record Point(double x, double y, double z, float yaw) {}
+
+    record Route(String name, List<Point> stops) {}
+
+    record Positive(int value) {
+        Positive {
+            if (value <= 0) throw new IllegalArgumentException("value must be positive");
+        }
+    }
+
+    static abstract class Shape {
+        final String name;
+
+        Shape(String name) {
+            this.name = name;
+        }
+    }
+
+    static final class Circle extends Shape {
+        Circle(String name) {
+            super(name);
+        }
+    }
+
+    interface Labeled {
+        String label();
+    }
+
+    record Tag(String label) implements Labeled {
+        @Override
+        public String label() {
+            return label;
+        }
+    }
+
+    static final class Badge implements Labeled {
+        @Override
+        public String label() {
+            return "badge";
+        }
+    }
+
+    static final class Unreadable {}
+
+    static final class Registered {}
+
+    static List<Point> pointList;
+    static Set<Mode> modeSet;
+    static Map<String, Integer> limitMap;
+    static List<Object> objectList;
+
+    @Test
+    @DisplayName("Should decode records from their components")
+    void decodesRecords() {
+        assertEquals(new Point(1, 64, -3.5, 90f), AdapterRegistry.getAdapter(Point.class).fromConfig(CONFIG, "spawn"));
+    }
+
+    @Test
+    @DisplayName("Should decode lists of records")
+    void decodesListsOfRecords() throws NoSuchFieldException {
+        Object spawns = adapter("pointList").fromConfig(CONFIG, "spawns");
+
+        assertEquals(List.of(new Point(1, 64, 1, 0f), new Point(2, 65, 2, 180f)), spawns);
+    }
+
+    @Test
+    @DisplayName("Should decode records nested in records")
+    void decodesNestedRecords() {
+        Route route = AdapterRegistry.getAdapter(Route.class).fromConfig(CONFIG, "route");
+
+        assertEquals(new Route("main", List.of(new Point(0, 0, 0, 0f))), route);
+    }
+
+    @Test
+    @DisplayName("Should decode enums by name, ignoring case and dashes")
+    void decodesEnums() throws NoSuchFieldException {
+        assertEquals(Mode.GAME_MODE, AdapterRegistry.getAdapter(Mode.class).fromConfig(CONFIG, "mode"));
+        assertEquals(Set.of(Mode.SURVIVAL, Mode.CREATIVE), adapter("modeSet").fromConfig(CONFIG, "modes"));
+    }
+
+    @Test
+    @DisplayName("Should decode maps with string keys")
+    void decodesMaps() throws NoSuchFieldException {
+        assertEquals(Map.of("lobby", 100, "menu", 20), adapter("limitMap").fromConfig(CONFIG, "limits"));
+    }
+
+    @Test
+    @DisplayName("Should decode floats")
+    void decodesFloats() {
+        float ratio = AdapterRegistry.getAdapter(Float.class).fromConfig(CONFIG, "ratio");
+
+        assertEquals(0.25f, ratio);
+    }
+
+    @Test
+    @DisplayName("Should reuse the decoder built for a type")
+    void reusesDecoders() {
+        assertSame(AdapterRegistry.getAdapter(Point.class), AdapterRegistry.getAdapter(Point.class));
+    }
+
+    @Test
+    @DisplayName("Should report missing record components")
+    void reportsMissingComponents() {
+        ConfigException.Missing exception = assertThrows(
+                ConfigException.Missing.class,
+                () -> AdapterRegistry.getAdapter(Point.class).fromConfig(CONFIG, "incomplete")
+        );
+
+        assertTrue(exception.getMessage().contains("incomplete.z"));
+    }
+
+    @Test
+    @DisplayName("Should report unknown enum constants")
+    void reportsUnknownEnumConstants() {
+        assertThrows(ConfigException.BadValue.class, () -> AdapterRegistry.getAdapter(Mode.class).fromConfig(CONFIG, "badMode"));
+    }
+
+    @Test
+    @DisplayName("Should report values rejected by the record constructor")
+    void reportsRejectedValues() {
+        Config config = ConfigFactory.parseString("positive { value = -1 }");
+
+        assertThrows(ConfigException.BadValue.class, () -> AdapterRegistry.getAdapter(Positive.class).fromConfig(config, "positive"));
+    }
+
+    @Test
+    @DisplayName("Should reject types that cannot be decoded")
+    void rejectsUnsupportedTypes() throws NoSuchFieldException {
+        Type objectListType = AdapterRegistryTest.class.getDeclaredField("objectList").getGenericType();
+
+        assertThrows(IllegalStateException.class, () -> AdapterRegistry.getAdapter(objectListType));
+        assertThrows(IllegalStateException.class, () -> AdapterRegistry.getAdapter(StringBuilder.class));
+    }
+
+    @Test
+    @DisplayName("Should resolve the adapter of the nearest superclass")
+    void resolvesSuperclassAdapters() {
+        ConfigAdapter<Shape> shapes = (config, path) -> new Circle(config.getString(path));
+        AdapterRegistry.registerAdapter(Shape.class, shapes);
+
+        assertSame(shapes, AdapterRegistry.findAdapter(Circle.class));
+        assertEquals("game-mode", ((Shape) AdapterRegistry.getAdapter(Circle.class).fromConfig(CONFIG, "mode")).name);
+    }
+
+    @Test
+    @DisplayName("Should resolve the adapter of an implemented interface")
+    void resolvesInterfaceAdapters() {
+        ConfigAdapter<Labeled> labels = (config, path) -> new Badge();
+        AdapterRegistry.registerAdapter(Labeled.class, labels);
+
+        assertSame(labels, AdapterRegistry.findAdapter(Badge.class));
+        // Records are decoded from their components before falling back to the hierarchy.
+        assertNotSame(labels, AdapterRegistry.findAdapter(Tag.class));
+    }
+
+    @Test
+    @DisplayName("Should return null for types that cannot be decoded")
+    void findsNothingForUnsupportedTypes() throws NoSuchFieldException {
+        Type objectListType = AdapterRegistryTest.class.getDeclaredField("objectList").getGenericType();
+
+        assertNull(AdapterRegistry.findAdapter(objectListType));
+        assertNull(AdapterRegistry.findAdapter(Unreadable.class));
+    }
+
+    @Test
+    @DisplayName("Should answer repeated lookups from the cache, including misses")
+    void cachesResolutions() {
+        AdapterRegistry.findAdapter(Unreadable.class);
+        AdapterRegistry.findAdapter(Point.class);
+        long misses = AdapterRegistry.misses();
+        long hits = AdapterRegistry.hits();
+
+        for (int i = 0; i < 10; i++) {
+            assertNull(AdapterRegistry.findAdapter(Unreadable.class));
+            assertNotNull(AdapterRegistry.findAdapter(Point.class));
+        }
+
+        assertEquals(misses, AdapterRegistry.misses());
+        assertTrue(AdapterRegistry.hits() >= hits + 20);
+    }
+
+    @Test
+    @DisplayName("Should resolve again after an adapter is registered")
+    void invalidatesOnRegistration() {
+        assertNull(AdapterRegistry.findAdapter(Registered.class));
+
+        ConfigAdapter<Registered> adapter = (config, path) -> new Registered();
+        AdapterRegistry.registerAdapter(Registered.class, adapter);
+
+        assertSame(adapter, AdapterRegistry.findAdapter(Registered.class));
+    }
+
+    private static ConfigAdapter<?> adapter(String field) throws NoSuchFieldException {
+        return AdapterRegistry.getAdapter(AdapterRegistryTest.class.getDeclaredField(field).getGenericType());
+    }
+}
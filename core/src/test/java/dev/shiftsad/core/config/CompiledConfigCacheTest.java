@@ -0,0 +1,161 @@
+package dev.shiftsad.core.config;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CompiledConfigCache Tests")
+public class CompiledConfigCacheTest {
+
+    private static final String CONTENT = """
+            app {
+              name = "TestApp"
+              version = 1.5
+              enabled = true
+              tags = [lobby, "menu"]
+            }
+            server {
+              port = 8080
+              timeout = 5000000000
+              base = ${app.name}
+            }""";
+
+    @TempDir
+    Path tempDir;
+
+    private static ConfigSources.Resolved resolved(String content) {
+        return new ConfigSources.Resolved(ConfigFactory.parseString(content).resolve(), Map.of());
+    }
+
+    @Test
+    @DisplayName("Should read back the values it was written with")
+    void testRoundTrip() throws IOException {
+        Config config = ConfigFactory.parseString(CONTENT).resolve();
+        byte[] hash = CompiledConfigCache.hash(CONTENT.getBytes(StandardCharsets.UTF_8));
+        Path cache = tempDir.resolve("app.conf.cache");
+
+        CompiledConfigCache.write(cache, hash, new ConfigSources.Resolved(config, Map.of()));
+        ConfigSources.Resolved resolved = CompiledConfigCache.read(cache, hash);
+
+        assertNotNull(resolved);
+        Config cached = resolved.config();
+        assertEquals("TestApp", cached.getString("app.name"));
+        assertEquals(1.5, cached.getDouble("app.version"));
+        assertTrue(cached.getBoolean("app.enabled"));
+        assertEquals(List.of("lobby", "menu"), cached.getStringList("app.tags"));
+        assertEquals(8080, cached.getInt("server.port"));
+        assertEquals(5000000000L, cached.getLong("server.timeout"));
+        assertEquals("TestApp", cached.getString("server.base"));
+    }
+
+    @Test
+    @DisplayName("Should ignore a snapshot compiled from different content")
+    void testRead_hashMismatch() throws IOException {
+        Path cache = tempDir.resolve("app.conf.cache");
+        CompiledConfigCache.write(cache, CompiledConfigCache.hash(new byte[]{1}), resolved(CONTENT));
+
+        assertNull(CompiledConfigCache.read(cache, CompiledConfigCache.hash(new byte[]{2})));
+    }
+
+    @Test
+    @DisplayName("Should ignore a truncated snapshot")
+    void testRead_truncated() throws IOException {
+        Path cache = tempDir.resolve("app.conf.cache");
+        byte[] hash = CompiledConfigCache.hash(new byte[]{1});
+        CompiledConfigCache.write(cache, hash, resolved(CONTENT));
+
+        byte[] bytes = Files.readAllBytes(cache);
+        Files.write(cache, Arrays.copyOf(bytes, bytes.length - 8));
+
+        assertNull(CompiledConfigCache.read(cache, hash));
+    }
+
+    @Test
+    @DisplayName("Should return null when there is no snapshot")
+    void testRead_missing() throws IOException {
+        assertNull(CompiledConfigCache.read(tempDir.resolve("missing.cache"), new byte[32]));
+    }
+
+    @Test
+    @DisplayName("Should write the snapshot on first load and refresh it when the file changes")
+    void testLoader_compiledCache() throws IOException {
+        Path file = tempDir.resolve("app.conf");
+        Files.writeString(file, CONTENT);
+        Path cache = CompiledConfigCache.cacheFile(file);
+
+        ConfigurationLoader first = ConfigurationLoader.builder("app.conf").target(tempDir).compiledCache(true).build();
+        assertTrue(Files.exists(cache));
+
+        ConfigurationLoader second = ConfigurationLoader.builder("app.conf").target(tempDir).compiledCache(true).build();
+        assertEquals(first.get("server.port", Integer.class), second.get("server.port", Integer.class));
+        assertEquals("TestApp", second.get("server.base", String.class));
+
+        String changed = CONTENT.replace("8080", "9090");
+        Files.writeString(file, changed);
+        ConfigurationLoader third = ConfigurationLoader.builder("app.conf").target(tempDir).compiledCache(true).build();
+
+        assertEquals(9090, third.get("server.port", Integer.class));
+        assertNotNull(CompiledConfigCache.read(cache, CompiledConfigCache.hash(changed.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    @DisplayName("Should store the environment variables substitutions fell back to")
+    void testRoundTrip_substitutions() throws IOException {
+        Path cache = tempDir.resolve("app.conf.cache");
+        byte[] hash = CompiledConfigCache.hash(new byte[]{1});
+        Map<String, String> substitutions = new HashMap<>();
+        substitutions.put("GREETING", "hello");
+        substitutions.put("UNSET", null);
+
+        CompiledConfigCache.write(cache, hash, new ConfigSources.Resolved(ConfigFactory.parseString(CONTENT).resolve(), substitutions));
+
+        assertEquals(substitutions, CompiledConfigCache.read(cache, hash).substitutions());
+    }
+
+    @Test
+    @DisplayName("Should not serve a snapshot resolved with an environment variable that has changed since")
+    void testLoader_compiledCacheEnvironmentSubstitution() throws IOException {
+        Files.writeString(tempDir.resolve("app.conf"), """
+                greeting = ${SHIFTMC_TEST_GREETING}
+                """);
+        Map<String, String> environment = new HashMap<>(Map.of("SHIFTMC_TEST_GREETING", "hello"));
+
+        ConfigurationLoader first = ConfigurationLoader.builder("app.conf").target(tempDir).compiledCache(true)
+                .environment(() -> environment).build();
+        assertEquals("hello", first.get("greeting", String.class));
+
+        environment.put("SHIFTMC_TEST_GREETING", "goodbye");
+        ConfigurationLoader second = ConfigurationLoader.builder("app.conf").target(tempDir).compiledCache(true)
+                .environment(() -> environment).build();
+        assertEquals("goodbye", second.get("greeting", String.class));
+
+        environment.put("SHIFTMC_TEST_GREETING", "welcome back");
+        assertEquals(Set.of("greeting"), second.reload());
+        assertEquals("welcome back", second.get("greeting", String.class));
+    }
+
+    @Test
+    @DisplayName("Should not write a snapshot unless the compiled cache is enabled")
+    void testLoader_withoutCompiledCache() throws IOException {
+        Path file = tempDir.resolve("app.conf");
+        Files.writeString(file, CONTENT);
+
+        new ConfigurationLoader("app.conf", tempDir);
+
+        assertFalse(Files.exists(CompiledConfigCache.cacheFile(file)));
+    }
+}
@@ -0,0 +1,65 @@
+package dev.shiftsad.core.config;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConfigDiff Tests")
+public class ConfigDiffTest {
+
+    private static final String PREVIOUS_CONTENT = """
+            menu {
+              cameraPosition { x = 0, y = 64, z = 0 }
+              targetServer = "lobby"
+              removed = true
+            }
+            menu-v2 { enabled = false }
+            """;
+    private static final Config PREVIOUS = ConfigFactory.parseString(PREVIOUS_CONTENT);
+
+    private static final Config CURRENT = ConfigFactory.parseString("""
+            menu {
+              cameraPosition { x = 5, y = 64, z = 0 }
+              targetServer = "lobby"
+              added = 1
+            }
+            menu-v2 { enabled = true }
+            """);
+
+    @Test
+    @DisplayName("Should report added, removed and changed keys in key order")
+    void diffsFlattenedKeys() {
+        ConfigDiff diff = ConfigDiff.between(PREVIOUS, CURRENT);
+
+        assertEquals(List.of("menu-v2.enabled", "menu.added", "menu.cameraPosition.x", "menu.removed"), List.copyOf(diff.keys()));
+        assertEquals(ConfigChange.Kind.CHANGED, diff.changes().get(0).kind());
+        assertEquals(ConfigChange.Kind.ADDED, diff.changes().get(1).kind());
+        assertNull(diff.changes().get(1).previous());
+        assertEquals(ConfigChange.Kind.REMOVED, diff.changes().get(3).kind());
+        assertNull(diff.changes().get(3).current());
+    }
+
+    @Test
+    @DisplayName("Should select the changes under a prefix")
+    void selectsChangesUnderPrefix() {
+        ConfigDiff diff = ConfigDiff.between(PREVIOUS, CURRENT);
+
+        assertEquals(Set.of("menu.cameraPosition.x"), diff.under("menu.cameraPosition").keys());
+        assertEquals(Set.of("menu.cameraPosition.x"), diff.under("menu.cameraPosition.x").keys());
+        assertEquals(3, diff.under("menu").size(), "Siblings sharing the name as a prefix should not match");
+        assertTrue(diff.under("menu.targetServer").isEmpty());
+        assertSame(diff, diff.under(""));
+    }
+
+    @Test
+    @DisplayName("Should be empty for equal configurations")
+    void emptyForEqualConfigurations() {
+        assertTrue(ConfigDiff.between(PREVIOUS, ConfigFactory.parseString(PREVIOUS_CONTENT)).isEmpty());
+    }
+}
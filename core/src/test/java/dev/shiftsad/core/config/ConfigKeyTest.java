@@ -0,0 +1,110 @@
+package dev.shiftsad.core.config;
+
+import com.typesafe.config.ConfigException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConfigKey Tests")
+public class ConfigKeyTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final String CONFIG_FILE_NAME = "keys.conf";
+
+    private ConfigurationLoader loader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        writeConfig(5000, "lobby");
+        loader = new ConfigurationLoader(CONFIG_FILE_NAME, tempDir);
+    }
+
+    private void writeConfig(int animationDuration, String targetServer) throws IOException {
+        Files.writeString(tempDir.resolve(CONFIG_FILE_NAME), """
+                menuConfiguration {
+                  animationDuration = %d
+                  targetServer = "%s"
+                  maxPlayers = 10000000000
+                  scale = 1.5
+                  enabled = true
+                }
+                """.formatted(animationDuration, targetServer));
+    }
+
+    @Test
+    @DisplayName("Should read primitive values through their accessors")
+    void readsPrimitiveValues() {
+        assertEquals(5000, loader.key("menuConfiguration.animationDuration", int.class).getInt());
+        assertEquals(10_000_000_000L, loader.key("menuConfiguration.maxPlayers", long.class).getLong());
+        assertEquals(1.5, loader.key("menuConfiguration.scale", double.class).getDouble());
+        assertTrue(loader.key("menuConfiguration.enabled", boolean.class).getBoolean());
+    }
+
+    @Test
+    @DisplayName("Should read boxed and reference values through get()")
+    void readsObjectValues() {
+        assertEquals("lobby", loader.key("menuConfiguration.targetServer", String.class).get());
+        assertEquals(5000, loader.key("menuConfiguration.animationDuration", Integer.class).get());
+        assertEquals(5000, loader.key("menuConfiguration.animationDuration", Integer.class).getInt());
+    }
+
+    @Test
+    @DisplayName("Should return the same handle for the same path and type")
+    void reusesHandles() {
+        ConfigKey<Integer> first = loader.key("menuConfiguration.animationDuration", int.class);
+        ConfigKey<Integer> second = loader.key("menuConfiguration.animationDuration", int.class);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Should reject accessors that do not match the key type")
+    void rejectsMismatchedAccessor() {
+        ConfigKey<String> key = loader.key("menuConfiguration.targetServer", String.class);
+
+        assertThrows(IllegalStateException.class, key::getInt);
+    }
+
+    @Test
+    @DisplayName("Should fail to create a key for a missing path")
+    void rejectsMissingPath() {
+        assertThrows(ConfigException.Missing.class, () -> loader.key("menuConfiguration.missing", int.class));
+
+        ConfigKey<Integer> key = loader.key("menuConfiguration.animationDuration", int.class);
+        assertEquals(5000, key.getInt(), "A failed key must not break the snapshot");
+    }
+
+    @Test
+    @DisplayName("Should serve new values after a reload")
+    void readsReloadedValues() throws IOException {
+        ConfigKey<Integer> duration = loader.key("menuConfiguration.animationDuration", int.class);
+        ConfigKey<String> target = loader.key("menuConfiguration.targetServer", String.class);
+
+        writeConfig(250, "survival");
+        loader.reload();
+
+        assertEquals(250, duration.getInt());
+        assertEquals("survival", target.get());
+    }
+
+    @Test
+    @DisplayName("Should keep the previous snapshot when a reload breaks a registered key")
+    void keepsSnapshotWhenReloadBreaksKey() throws IOException {
+        ConfigKey<Integer> duration = loader.key("menuConfiguration.animationDuration", int.class);
+
+        Files.writeString(tempDir.resolve(CONFIG_FILE_NAME), "menuConfiguration { animationDuration = \"slow\" }");
+
+        assertThrows(ConfigException.WrongType.class, loader::reload);
+        assertEquals(5000, duration.getInt());
+        assertEquals("lobby", loader.get("menuConfiguration.targetServer", String.class));
+    }
+}
@@ -1,8 +1,16 @@
 package dev.shiftsad.core.config;
 
+import dev.shiftsad.core.config.constraints.ConfigValidationException;
+import dev.shiftsad.core.config.testclasses.TestConfigCompositeFields;
+import dev.shiftsad.core.config.testclasses.TestConfigConstructor;
 import dev.shiftsad.core.config.testclasses.TestConfigFinalField;
 import dev.shiftsad.core.config.testclasses.TestConfigInstanceFields;
+import dev.shiftsad.core.config.testclasses.TestConfigRecord;
 import dev.shiftsad.core.config.testclasses.TestConfigStaticFields;
+import dev.shiftsad.core.config.validatedclasses.TestConstrainedFields;
+import dev.shiftsad.core.config.validatedclasses.TestConstrainedRecord;
+import dev.shiftsad.core.profiling.Phase;
+import dev.shiftsad.core.profiling.StartupProfiler;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,6 +20,9 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -25,6 +36,7 @@ public class ConfigurationInjectorTest {
     private ConfigurationInjector injector;
 
     private static final String TEST_PACKAGE = "dev.shiftsad.core.config.testclasses";
+    private static final String VALIDATED_PACKAGE = "dev.shiftsad.core.config.validatedclasses";
     private static final String CONFIG_FILE_NAME = "test-injector-config.pkl";
 
     @BeforeEach
@@ -40,6 +52,12 @@ public class ConfigurationInjectorTest {
                   username = "injected_user"
                 }
                 badType = "this is not an integer"
+                world {
+                  spawn { x = 0.5, y = 64, z = 0.5, yaw = 90 }
+                  spawns = [{ x = 1, y = 64, z = 1, yaw = 0 }, { x = 2, y = 64, z = 2, yaw = 0 }]
+                  mode = "adventure"
+                  limits { lobby = 100 }
+                }
                 """;
         Files.writeString(configFile, configContent);
 
@@ -47,11 +65,51 @@ public class ConfigurationInjectorTest {
         injector = new ConfigurationInjector(loader);
 
         TestConfigStaticFields.reset();
+        TestConfigCompositeFields.reset();
+        TestConstrainedFields.reset();
     }
 
     @AfterEach
     void tearDown() {
         TestConfigStaticFields.reset();
+        TestConfigCompositeFields.reset();
+        TestConstrainedFields.reset();
+    }
+
+    @Test
+    @DisplayName("Should scan a package the index has no entries for")
+    void scansPackagesMissingFromIndex() {
+        ValueIndex otherPackagesOnly = new ValueIndex(List.of(
+                new ValueIndex.Entry("some.other.Owner", "field", "int", "other.key")));
+        injector = new ConfigurationInjector(loader, StartupProfiler.disabled(), otherPackagesOnly);
+
+        injector.configurate(TEST_PACKAGE);
+
+        assertEquals(42, TestConfigStaticFields.getMyInt());
+        assertEquals("Injected Value", TestConfigStaticFields.getMyString());
+    }
+
+    @Test
+    @DisplayName("Should only scan the requested package, not its siblings on the same classpath root")
+    void scansOnlyTheRequestedPackage() {
+        injector = new ConfigurationInjector(loader, StartupProfiler.disabled(), null);
+
+        injector.configurate(TEST_PACKAGE);
+
+        assertEquals(Set.of(TestConfigStaticFields.class), injector.classesReading(Set.of("app.testInt")));
+        assertTrue(injector.classesReading(Set.of("menu.targetServer")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should inject records, enums, lists and maps")
+    void injectsCompositeFields() {
+        injector.configurate(TEST_PACKAGE);
+
+        assertEquals(new TestConfigCompositeFields.Point(0.5, 64, 0.5, 90f), TestConfigCompositeFields.spawn);
+        assertEquals(2, TestConfigCompositeFields.spawns.size());
+        assertEquals(new TestConfigCompositeFields.Point(2, 64, 2, 0f), TestConfigCompositeFields.spawns.get(1));
+        assertEquals(TestConfigCompositeFields.Mode.ADVENTURE, TestConfigCompositeFields.mode);
+        assertEquals(Map.of("lobby", 100), TestConfigCompositeFields.limits);
     }
 
     @Test
@@ -131,10 +189,245 @@ public class ConfigurationInjectorTest {
                 "Instance field should remain null because the injector creates and injects into a different, discarded instance.");
     }
 
+    @Test
+    @DisplayName("Should inject instance fields of a given object")
+    void injectsInstanceFields() {
+        TestConfigInstanceFields instance = new TestConfigInstanceFields();
+
+        injector.inject(instance);
+
+        assertEquals("Injected Value", instance.instanceString);
+        assertNull(instance.missingKeyValue, "Missing keys should be skipped");
+        assertEquals(0, instance.badTypeInt, "Values of the wrong type should be skipped");
+    }
+
+    @Test
+    @DisplayName("Should create records from their annotated components")
+    void createsRecords() {
+        TestConfigRecord record = injector.create(TestConfigRecord.class);
+
+        assertEquals(new TestConfigRecord("Injected Value", 42), record);
+    }
+
+    @Test
+    @DisplayName("Should create objects through their @Value constructor and inject their fields")
+    void createsObjectsThroughConstructor() {
+        TestConfigConstructor created = injector.create(TestConfigConstructor.class);
+
+        assertEquals("injected_user", created.getUsername());
+        assertTrue(created.isEnabled());
+    }
+
+    @Test
+    @DisplayName("Should share decoded values within a snapshot and refresh them after a reload")
+    void refreshesInstanceValuesAfterReload() throws IOException {
+        TestConfigInstanceFields first = new TestConfigInstanceFields();
+        TestConfigInstanceFields second = new TestConfigInstanceFields();
+        injector.inject(first);
+        injector.inject(second);
+        assertSame(first.instanceString, second.instanceString);
+
+        Files.writeString(tempDir.resolve(CONFIG_FILE_NAME), "app { testString = \"Reloaded\", testInt = 7 }");
+        loader.reload();
+
+        assertEquals(new TestConfigRecord("Reloaded", 7), injector.create(TestConfigRecord.class));
+    }
+
+    @Test
+    @DisplayName("Should reject classes without a @Value constructor")
+    void rejectsClassesWithoutValueConstructor() {
+        assertThrows(IllegalArgumentException.class, () -> injector.create(TestConfigInstanceFields.class));
+    }
+
     @Test
     @DisplayName("Should not crash when scanning a package with no annotated fields")
     void handlesPackageWithNoAnnotatedFields() {
         assertDoesNotThrow(() -> injector.configurate("java.lang"),
                 "Injector should run without error on a package with no @Value annotations.");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should re-inject values when configurating the same package again")
+    void reusesCompiledPlanOnSecondPass() {
+        injector.configurate(TEST_PACKAGE);
+        TestConfigStaticFields.reset();
+
+        injector.configurate(TEST_PACKAGE);
+
+        assertEquals("Injected Value", TestConfigStaticFields.getMyString());
+        assertEquals(42, TestConfigStaticFields.getMyInt());
+        assertTrue(TestConfigStaticFields.isMyBoolean());
+        assertEquals("injected_user", TestConfigStaticFields.getDbUsername());
+    }
+
+    @Test
+    @DisplayName("Should re-inject every configurated package on reinject")
+    void reinjectRunsCompiledPlans() {
+        injector.configurate(TEST_PACKAGE);
+        TestConfigStaticFields.reset();
+
+        injector.reinject();
+
+        assertEquals("Injected Value", TestConfigStaticFields.getMyString());
+        assertEquals(42, TestConfigStaticFields.getMyInt());
+    }
+
+    @Test
+    @DisplayName("Should not inject anything on reinject before any package was configurated")
+    void reinjectWithoutPlansIsANoOp() {
+        injector.reinject();
+
+        assertNull(TestConfigStaticFields.getMyString());
+    }
+
+    @Test
+    @DisplayName("Should only re-inject fields whose keys changed")
+    void reinjectOnlyChangedKeys() {
+        injector.configurate(TEST_PACKAGE);
+        TestConfigStaticFields.reset();
+
+        injector.reinject(Set.of("app.testInt"));
+
+        assertEquals(42, TestConfigStaticFields.getMyInt());
+        assertNull(TestConfigStaticFields.getMyString(), "Unchanged keys should not be re-injected");
+        assertEquals("", TestConfigStaticFields.getDbUsername(), "Unchanged keys should not be re-injected");
+    }
+
+    @Test
+    @DisplayName("Should re-inject fields below a changed parent key")
+    void reinjectChildrenOfChangedKey() {
+        injector.configurate(TEST_PACKAGE);
+        TestConfigStaticFields.reset();
+
+        injector.reinject(Set.of("db"));
+
+        assertEquals("injected_user", TestConfigStaticFields.getDbUsername());
+        assertEquals(0, TestConfigStaticFields.getMyInt());
+    }
+
+    @Test
+    @DisplayName("Should report scan and inject timings to the profiler")
+    void recordsScanAndInjectTimings() {
+        StartupProfiler profiler = new StartupProfiler();
+        ConfigurationInjector profiled = new ConfigurationInjector(loader, profiler);
+
+        profiled.configurate(TEST_PACKAGE);
+        profiled.configurate(TEST_PACKAGE);
+
+        assertEquals(1, profiler.report().records(Phase.SCAN).size(), "A package should only be scanned once");
+        assertEquals(2, profiler.report().records(Phase.INJECT).size());
+    }
+
+    @Test
+    @DisplayName("Should inject values that satisfy their constraints")
+    void injectsValidConstrainedValues() throws IOException {
+        ConfigurationInjector validated = injectorFor("""
+                menu { animationDuration = 5000, targetServer = "lobby", serverId = "lobby-1", slots = 4 }
+                """);
+
+        validated.configurate(VALIDATED_PACKAGE);
+
+        assertEquals(5000, TestConstrainedFields.animationDuration);
+        assertEquals("lobby", TestConstrainedFields.targetServer);
+        assertEquals("lobby-1", TestConstrainedFields.serverId);
+        assertEquals(4, TestConstrainedFields.slots);
+    }
+
+    @Test
+    @DisplayName("Should report every constraint violation at once and assign nothing")
+    void reportsAllViolations() throws IOException {
+        ConfigurationInjector validated = injectorFor("""
+                menu { animationDuration = -5, targetServer = "  ", serverId = "Lobby 1", slots = 3 }
+                """);
+
+        ConfigValidationException exception = assertThrows(ConfigValidationException.class,
+                () -> validated.configurate(VALIDATED_PACKAGE));
+
+        assertEquals(4, exception.violations().size());
+        assertTrue(exception.getMessage().contains("menu.animationDuration"));
+        assertTrue(exception.getMessage().contains("must be between 1 and 60000"));
+        assertEquals(0, TestConstrainedFields.animationDuration, "No field should be written when a constraint fails");
+        assertNull(TestConstrainedFields.serverId, "No field should be written when a constraint fails");
+    }
+
+    @Test
+    @DisplayName("Should keep the previous values when a reload breaks a constraint")
+    void keepsValuesWhenReloadIsInvalid() throws IOException {
+        Files.writeString(tempDir.resolve("validated.conf"), """
+                menu { animationDuration = 5000, targetServer = "lobby", serverId = "lobby-1", slots = 4 }
+                """);
+        ConfigurationLoader validatedLoader = new ConfigurationLoader("validated.conf", tempDir);
+        ConfigurationInjector validated = new ConfigurationInjector(validatedLoader);
+        validated.configurate(VALIDATED_PACKAGE);
+
+        Files.writeString(tempDir.resolve("validated.conf"), """
+                menu { animationDuration = 0, targetServer = "hub", serverId = "lobby-1", slots = 4 }
+                """);
+        validatedLoader.reload();
+
+        assertThrows(ConfigValidationException.class, validated::reinject);
+        assertEquals(5000, TestConstrainedFields.animationDuration);
+        assertEquals("lobby", TestConstrainedFields.targetServer);
+    }
+
+    @Test
+    @DisplayName("Should report constrained keys that are missing or cannot be read")
+    void reportsMissingConstrainedKeys() throws IOException {
+        ConfigurationInjector validated = injectorFor("""
+                menu { animationDuration = "soon", serverId = "lobby-1", slots = 4 }
+                """);
+
+        ConfigValidationException exception = assertThrows(ConfigValidationException.class,
+                () -> validated.configurate(VALIDATED_PACKAGE));
+
+        assertEquals(2, exception.violations().size());
+        assertTrue(exception.getMessage().contains("menu.targetServer') is missing"));
+        assertTrue(exception.getMessage().contains("menu.animationDuration') cannot be read"));
+        assertNull(TestConstrainedFields.serverId, "No field should be written when a constraint fails");
+    }
+
+    @Test
+    @DisplayName("Should reject a reload that breaks a constraint before publishing it")
+    void rejectsInvalidReloadBeforePublishing() throws IOException {
+        Files.writeString(tempDir.resolve("validated.conf"), """
+                menu { animationDuration = 5000, targetServer = "lobby", serverId = "lobby-1", slots = 4 }
+                """);
+        ConfigurationLoader validatedLoader = new ConfigurationLoader("validated.conf", tempDir);
+        ConfigurationInjector validated = new ConfigurationInjector(validatedLoader);
+        validated.configurate(VALIDATED_PACKAGE);
+        validatedLoader.addValidator(validated::validate);
+        validatedLoader.addReloadListener(validated::reinject);
+
+        Files.writeString(tempDir.resolve("validated.conf"), """
+                menu { animationDuration = 5000, serverId = "lobby-1", slots = 4 }
+                """);
+
+        assertThrows(ConfigValidationException.class, validatedLoader::reload);
+        assertEquals("lobby", validatedLoader.get("menu.targetServer", String.class));
+        assertEquals("lobby", TestConstrainedFields.targetServer);
+
+        Files.writeString(tempDir.resolve("validated.conf"), """
+                menu { animationDuration = 5000, targetServer = "hub", serverId = "lobby-1", slots = 4 }
+                """);
+        validatedLoader.reload();
+        assertEquals("hub", TestConstrainedFields.targetServer);
+    }
+
+    @Test
+    @DisplayName("Should check the constraints of @Value constructor parameters")
+    void checksConstructorConstraints() throws IOException {
+        ConfigurationInjector validated = injectorFor("""
+                menu { animationDuration = 0, targetServer = "" }
+                """);
+
+        ConfigValidationException exception = assertThrows(ConfigValidationException.class,
+                () -> validated.create(TestConstrainedRecord.class));
+
+        assertEquals(2, exception.violations().size());
+    }
+
+    private ConfigurationInjector injectorFor(String content) throws IOException {
+        Files.writeString(tempDir.resolve("validated.conf"), content);
+        return new ConfigurationInjector(new ConfigurationLoader("validated.conf", tempDir));
+    }
+}
@@ -9,6 +9,10 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -147,4 +151,150 @@ public class ConfigurationLoaderTest {
 
         assertThrows(IllegalStateException.class, () -> loader.get("app.name", UnregisteredType.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should publish new values and report changed keys on reload")
+    void testReload_changedValues() throws IOException {
+        ConfigurationLoader loader = new ConfigurationLoader(EXISTING_CONFIG_FILENAME, tempDir);
+        Files.writeString(tempDir.resolve(EXISTING_CONFIG_FILENAME),
+                """
+                app {
+                  name = "Renamed"
+                  version = 1.0
+                  enabled = true
+                }
+                server {
+                  port = 8080
+                }""");
+
+        Set<String> changed = loader.reload();
+
+        assertEquals(Set.of("app.name", "server.timeout"), changed);
+        assertEquals("Renamed", loader.get("app.name", String.class));
+        assertThrows(ConfigException.Missing.class, () -> loader.get("server.timeout", Long.class));
+    }
+
+    @Test
+    @DisplayName("Should keep the previous snapshot when the reloaded file is invalid")
+    void testReload_invalidFileKeepsPreviousSnapshot() throws IOException {
+        ConfigurationLoader loader = new ConfigurationLoader(EXISTING_CONFIG_FILENAME, tempDir);
+        Files.writeString(tempDir.resolve(EXISTING_CONFIG_FILENAME), "app { name = ");
+
+        assertThrows(ConfigException.class, loader::reload);
+        assertEquals("TestApp", loader.get("app.name", String.class));
+    }
+
+    @Test
+    @DisplayName("Should notify reload listeners only when keys changed")
+    void testReload_notifiesListeners() throws IOException {
+        ConfigurationLoader loader = new ConfigurationLoader(EXISTING_CONFIG_FILENAME, tempDir);
+        List<Set<String>> notifications = new ArrayList<>();
+        loader.addReloadListener(notifications::add);
+
+        loader.reload();
+        assertTrue(notifications.isEmpty(), "Unchanged file should not notify listeners");
+
+        Files.writeString(tempDir.resolve(EXISTING_CONFIG_FILENAME), "app { name = \"Other\" }");
+        loader.reload();
+
+        assertEquals(1, notifications.size());
+        assertTrue(notifications.get(0).contains("app.name"));
+    }
+
+    @Test
+    @DisplayName("Should merge classpath defaults below the file without creating it")
+    void testLayers_classpathDefaults() throws IOException {
+        Files.writeString(tempDir.resolve(RESOURCE_CONFIG_FILENAME), "app { name = \"Node\" }");
+
+        ConfigurationLoader loader = ConfigurationLoader.builder(RESOURCE_CONFIG_FILENAME).target(tempDir).classpathDefaults(true).build();
+
+        assertEquals("Hello Hocon", loader.get("app.testString", String.class));
+        assertEquals("Node", loader.get("app.name", String.class));
+    }
+
+    @Test
+    @DisplayName("Should load classpath defaults alone when the file is missing")
+    void testLayers_missingFileWithDefaults() throws IOException {
+        ConfigurationLoader loader = ConfigurationLoader.builder(RESOURCE_CONFIG_FILENAME).target(tempDir).classpathDefaults(true).build();
+
+        assertEquals("Hello Hocon", loader.get("app.testString", String.class));
+        assertFalse(Files.exists(tempDir.resolve(RESOURCE_CONFIG_FILENAME)), "Merged defaults should not be copied");
+    }
+
+    @Test
+    @DisplayName("Should apply profile, environment and system property layers in order of precedence")
+    void testLayers_precedence() throws IOException {
+        Files.writeString(tempDir.resolve("my-app-test-node-3.conf"), "server { port = 9000, timeout = 100 }\napp.name = \"Profile\"");
+        System.setProperty("shiftmc.test.server.timeout", "300");
+        try {
+            ConfigurationLoader loader = ConfigurationLoader.builder(EXISTING_CONFIG_FILENAME)
+                    .target(tempDir)
+                    .profile("node-3")
+                    .environmentOverrides("SHIFTMC_TEST_")
+                    .environment(() -> Map.of("SHIFTMC_TEST_SERVER_TIMEOUT", "200", "SHIFTMC_TEST_APP_NAME", "Environment", "SHIFTMC_TEST_UNKNOWN", "x"))
+                    .systemPropertyOverrides("shiftmc.test.")
+                    .build();
+
+            assertEquals(9000, loader.get("server.port", Integer.class), "The profile overrides the file");
+            assertEquals("Environment", loader.get("app.name", String.class), "The environment overrides the profile");
+            assertEquals(300, loader.get("server.timeout", Integer.class), "System properties override the environment");
+            assertTrue(loader.get("app.enabled", Boolean.class), "Values set by one layer only are kept");
+            assertThrows(ConfigException.Missing.class, () -> loader.get("unknown"), "Unmatched variables are ignored");
+        } finally {
+            System.clearProperty("shiftmc.test.server.timeout");
+        }
+    }
+
+    @Test
+    @DisplayName("Should resolve substitutions after merging the layers")
+    void testLayers_substitutionsSeeOverrides() throws IOException {
+        Files.writeString(tempDir.resolve(EXISTING_CONFIG_FILENAME), "server { port = 8080, url = ${server.port} }");
+
+        ConfigurationLoader loader = ConfigurationLoader.builder(EXISTING_CONFIG_FILENAME)
+                .target(tempDir)
+                .environmentOverrides("SHIFTMC_TEST_")
+                .environment(() -> Map.of("SHIFTMC_TEST_SERVER_PORT", "25566"))
+                .build();
+
+        assertEquals("25566", loader.get("server.url", String.class));
+    }
+
+    @Test
+    @DisplayName("Should reload when the profile file changes")
+    void testLayers_reloadProfile() throws IOException {
+        Path profile = tempDir.resolve("my-app-test-node-3.conf");
+        Files.writeString(profile, "server.port = 9000");
+        ConfigurationLoader loader = ConfigurationLoader.builder(EXISTING_CONFIG_FILENAME).target(tempDir).profile("node-3").build();
+
+        assertTrue(loader.reload().isEmpty(), "Unchanged layers should not be parsed again");
+
+        Files.writeString(profile, "server.port = 9001");
+        Set<String> changed = loader.reload();
+
+        assertEquals(Set.of("server.port"), changed);
+        assertEquals(9001, loader.get("server.port", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should notify change listeners only for changes under their prefix")
+    void testReload_notifiesChangeListenersByPrefix() throws IOException {
+        ConfigurationLoader loader = new ConfigurationLoader(EXISTING_CONFIG_FILENAME, tempDir);
+        List<ConfigDiff> serverChanges = new ArrayList<>();
+        List<ConfigDiff> appChanges = new ArrayList<>();
+        loader.addChangeListener("server", serverChanges::add);
+        loader.addChangeListener("app", appChanges::add);
+
+        Files.writeString(tempDir.resolve(EXISTING_CONFIG_FILENAME), """
+                app { name = "TestApp", version = 1.0, enabled = true }
+                server { port = 8081, timeout = 5000 }
+                """);
+        loader.reload();
+
+        assertTrue(appChanges.isEmpty(), "Listeners should not be called for unchanged subtrees");
+        assertEquals(1, serverChanges.size());
+        ConfigChange change = serverChanges.get(0).changes().get(0);
+        assertEquals(ConfigChange.Kind.CHANGED, change.kind());
+        assertEquals("server.port", change.key());
+        assertEquals(8081, change.current().unwrapped());
+    }
+}
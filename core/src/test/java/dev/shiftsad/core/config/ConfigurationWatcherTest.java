@@ -0,0 +1,76 @@
+package dev.shiftsad.core.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConfigurationWatcher Tests")
+public class ConfigurationWatcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final String CONFIG_FILE_NAME = "watched.conf";
+    private static final Duration DEBOUNCE = Duration.ofMillis(50);
+
+    private ConfigurationLoader loader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.writeString(tempDir.resolve(CONFIG_FILE_NAME), "app { name = \"Before\", port = 1 }");
+        loader = new ConfigurationLoader(CONFIG_FILE_NAME, tempDir);
+    }
+
+    @Test
+    @DisplayName("Should reload the file in the background after it changes")
+    void reloadsChangedFile() throws Exception {
+        CountDownLatch reloaded = new CountDownLatch(1);
+        AtomicReference<Set<String>> changedKeys = new AtomicReference<>();
+        AtomicReference<String> reloadThread = new AtomicReference<>();
+        loader.addReloadListener(keys -> {
+            changedKeys.set(keys);
+            reloadThread.set(Thread.currentThread().getName());
+            reloaded.countDown();
+        });
+
+        try (ConfigurationWatcher ignored = loader.watch(DEBOUNCE)) {
+            Files.writeString(tempDir.resolve(CONFIG_FILE_NAME), "app { name = \"After\", port = 1 }");
+
+            assertTrue(reloaded.await(10, TimeUnit.SECONDS), "Watcher should have reloaded the file");
+        }
+
+        assertEquals(Set.of("app.name"), changedKeys.get());
+        assertEquals("After", loader.get("app.name", String.class));
+        assertNotEquals(Thread.currentThread().getName(), reloadThread.get());
+    }
+
+    @Test
+    @DisplayName("Should keep the previous snapshot after a bad edit")
+    void keepsPreviousSnapshotOnBadEdit() throws Exception {
+        CountDownLatch reloaded = new CountDownLatch(1);
+        loader.addReloadListener(keys -> reloaded.countDown());
+
+        try (ConfigurationWatcher ignored = loader.watch(DEBOUNCE)) {
+            Files.writeString(tempDir.resolve(CONFIG_FILE_NAME), "app { name = ");
+            assertFalse(reloaded.await(500, TimeUnit.MILLISECONDS), "A bad edit should not publish a snapshot");
+            assertEquals("Before", loader.get("app.name", String.class));
+
+            Files.writeString(tempDir.resolve(CONFIG_FILE_NAME), "app { name = \"Fixed\", port = 1 }");
+            assertTrue(reloaded.await(10, TimeUnit.SECONDS), "Fixing the file should publish a snapshot");
+        }
+
+        assertEquals("Fixed", loader.get("app.name", String.class));
+    }
+}
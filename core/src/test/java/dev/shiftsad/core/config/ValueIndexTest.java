@@ -0,0 +1,68 @@
+package dev.shiftsad.core.config;
+
+import dev.shiftsad.core.config.testclasses.TestConfigStaticFields;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ValueIndex Tests")
+public class ValueIndexTest {
+
+    private static final String TEST_PACKAGE = "dev.shiftsad.core.config.testclasses";
+    private final ClassLoader classLoader = ValueIndexTest.class.getClassLoader();
+
+    @Test
+    @DisplayName("Should round-trip an entry through its index line")
+    void entryRoundTrip() {
+        ValueIndex.Entry entry = new ValueIndex.Entry("a.b.Owner$Inner", "field", "java.lang.String", "some.key");
+        assertEquals(entry, ValueIndex.Entry.parse(entry.toLine()));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed index lines")
+    void rejectsMalformedLine() {
+        assertThrows(IllegalArgumentException.class, () -> ValueIndex.Entry.parse("only\ttwo"));
+    }
+
+    @Test
+    @DisplayName("Should load the index generated for the test classes")
+    void loadsGeneratedIndex() {
+        ValueIndex index = ValueIndex.load(classLoader);
+        assertNotNull(index, "The annotation processor should have generated an index for the test sources");
+
+        Set<Field> fields = index.resolve(TEST_PACKAGE, classLoader);
+        assertNotNull(fields);
+        assertTrue(fields.stream().anyMatch(field -> field.getName().equals("dbUsername")));
+    }
+
+    @Test
+    @DisplayName("Should only resolve fields inside the requested package")
+    void resolvesOnlyRequestedPackage() {
+        ValueIndex index = new ValueIndex(List.of(
+                new ValueIndex.Entry(TestConfigStaticFields.class.getName(), "myInt", "int", "app.testInt"),
+                new ValueIndex.Entry("some.other.Owner", "field", "int", "other.key")
+        ));
+
+        Set<Field> fields = index.resolve(TEST_PACKAGE, classLoader);
+        assertNotNull(fields);
+        assertEquals(1, fields.size());
+        assertTrue(index.resolve("java.lang", classLoader).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should report a stale index when a field no longer matches")
+    void detectsStaleEntries() {
+        ValueIndex renamed = new ValueIndex(List.of(
+                new ValueIndex.Entry(TestConfigStaticFields.class.getName(), "removedField", "int", "app.testInt")));
+        ValueIndex retyped = new ValueIndex(List.of(
+                new ValueIndex.Entry(TestConfigStaticFields.class.getName(), "myInt", "long", "app.testInt")));
+
+        assertNull(renamed.resolve(TEST_PACKAGE, classLoader));
+        assertNull(retyped.resolve(TEST_PACKAGE, classLoader));
+    }
+}
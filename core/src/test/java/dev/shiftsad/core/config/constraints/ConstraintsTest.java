@@ -0,0 +1,102 @@
+package dev.shiftsad.core.config.constraints;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Constraints Tests")
+public class ConstraintsTest {
+
+    @Range(min = 0, max = 1.5)
+    static double ratio;
+
+    @Range(min = 1)
+    static long positive;
+
+    @NotEmpty
+    static String name;
+
+    @NotEmpty
+    static List<String> names;
+
+    @Pattern("[a-z]+")
+    @NotEmpty
+    static String lowercase;
+
+    @Check(value = ShortText.class, message = "must be short")
+    static String shortText;
+
+    @Range(min = 0)
+    static String misplacedRange;
+
+    static String unconstrained;
+
+    static final class ShortText implements Predicate<String> {
+        @Override
+        public boolean test(String value) {
+            return value.length() <= 3;
+        }
+    }
+
+    @Test
+    @DisplayName("Should check numeric ranges with inclusive bounds")
+    void checksRanges() throws NoSuchFieldException {
+        Constraint constraint = compile("ratio");
+
+        assertNull(constraint.violation(0.0));
+        assertNull(constraint.violation(1.5));
+        assertEquals("must be between 0 and 1.5, was 2.0", constraint.violation(2.0));
+        assertEquals("must be at least 1, was 0", compile("positive").violation(0L));
+        assertEquals("must be set", constraint.violation(null));
+    }
+
+    @Test
+    @DisplayName("Should reject blank strings and empty collections")
+    void checksNotEmpty() throws NoSuchFieldException {
+        assertNotNull(compile("name").violation(" \t"));
+        assertNotNull(compile("name").violation(null));
+        assertNull(compile("name").violation("lobby"));
+        assertNotNull(compile("names").violation(List.of()));
+    }
+
+    @Test
+    @DisplayName("Should match patterns against the whole value and combine constraints")
+    void checksPatterns() throws NoSuchFieldException {
+        Constraint constraint = compile("lowercase");
+
+        assertNull(constraint.violation("lobby"));
+        assertNotNull(constraint.violation("lobby1"));
+        assertEquals("must not be empty", constraint.violation(""));
+    }
+
+    @Test
+    @DisplayName("Should run custom predicates")
+    void checksPredicates() throws NoSuchFieldException {
+        Constraint constraint = compile("shortText");
+
+        assertNull(constraint.violation("abc"));
+        assertEquals("must be short", constraint.violation("abcd"));
+    }
+
+    @Test
+    @DisplayName("Should compile nothing for unconstrained fields")
+    void compilesNothingWithoutAnnotations() throws NoSuchFieldException {
+        assertNull(compile("unconstrained"));
+    }
+
+    @Test
+    @DisplayName("Should reject constraints that do not apply to the type")
+    void rejectsMisplacedConstraints() {
+        assertThrows(IllegalArgumentException.class, () -> compile("misplacedRange"));
+    }
+
+    private static Constraint compile(String fieldName) throws NoSuchFieldException {
+        Field field = ConstraintsTest.class.getDeclaredField(fieldName);
+        return Constraints.compile(field, field.getType());
+    }
+}
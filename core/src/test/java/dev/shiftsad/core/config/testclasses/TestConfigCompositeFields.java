@@ -0,0 +1,32 @@
+package dev.shiftsad.core.config.testclasses;
+
+import dev.shiftsad.core.config.Value;
+
+import java.util.List;
+import java.util.Map;
+
+public class TestConfigCompositeFields {
+
+    public enum Mode { SURVIVAL, ADVENTURE }
+
+    public record Point(double x, double y, double z, float yaw) {}
+
+    @Value("world.spawn")
+    public static Point spawn;
+
+    @Value("world.spawns")
+    public static List<Point> spawns;
+
+    @Value("world.mode")
+    public static Mode mode;
+
+    @Value("world.limits")
+    public static Map<String, Integer> limits;
+
+    public static void reset() {
+        spawn = null;
+        spawns = null;
+        mode = null;
+        limits = null;
+    }
+}
@@ -0,0 +1,23 @@
+package dev.shiftsad.core.config.testclasses;
+
+import dev.shiftsad.core.config.Value;
+
+public class TestConfigConstructor {
+
+    private final String username;
+
+    @Value("app.testBoolean")
+    private boolean enabled;
+
+    public TestConfigConstructor(@Value("db.username") String username) {
+        this.username = username;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -0,0 +1,5 @@
+package dev.shiftsad.core.config.testclasses;
+
+import dev.shiftsad.core.config.Value;
+
+public record TestConfigRecord(@Value("app.testString") String name, @Value("app.testInt") int size) {}
@@ -0,0 +1,42 @@
+package dev.shiftsad.core.config.validatedclasses;
+
+import dev.shiftsad.core.config.Value;
+import dev.shiftsad.core.config.constraints.Check;
+import dev.shiftsad.core.config.constraints.NotEmpty;
+import dev.shiftsad.core.config.constraints.Pattern;
+import dev.shiftsad.core.config.constraints.Range;
+
+import java.util.function.Predicate;
+
+public class TestConstrainedFields {
+
+    @Value("menu.animationDuration")
+    @Range(min = 1, max = 60000)
+    public static int animationDuration;
+
+    @Value("menu.targetServer")
+    @NotEmpty
+    public static String targetServer;
+
+    @Value("menu.serverId")
+    @Pattern("[a-z0-9-]+")
+    public static String serverId;
+
+    @Value("menu.slots")
+    @Check(value = Even.class, message = "must be even")
+    public static Integer slots;
+
+    public static void reset() {
+        animationDuration = 0;
+        targetServer = null;
+        serverId = null;
+        slots = null;
+    }
+
+    public static final class Even implements Predicate<Integer> {
+        @Override
+        public boolean test(Integer value) {
+            return value % 2 == 0;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package dev.shiftsad.core.config.validatedclasses;
+
+import dev.shiftsad.core.config.Value;
+import dev.shiftsad.core.config.constraints.NotEmpty;
+import dev.shiftsad.core.config.constraints.Range;
+
+public record TestConstrainedRecord(
+        @Value("menu.targetServer") @NotEmpty String targetServer,
+        @Value("menu.animationDuration") @Range(min = 1) int animationDuration
+) {
+}
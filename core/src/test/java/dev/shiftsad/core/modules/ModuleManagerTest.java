@@ -1,10 +1,32 @@
 package dev.shiftsad.core.modules;
 
+import dev.shiftsad.core.config.ConfigurationInjector;
+import dev.shiftsad.core.config.ConfigurationLoader;
+import dev.shiftsad.core.config.Value;
 import dev.shiftsad.core.modules.annotations.DependsOn;
+import dev.shiftsad.core.modules.annotations.Lazy;
+import dev.shiftsad.core.profiling.Phase;
+import dev.shiftsad.core.profiling.PhaseRecord;
+import dev.shiftsad.core.profiling.StartupProfiler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InOrder;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -119,6 +141,583 @@ public class ModuleManagerTest {
         inOrder.verify(moduleC).onEnable();
     }
 
+    @Test
+    void shouldEnableIndependentModulesConcurrently() {
+        BarrierModuleA moduleA = new BarrierModuleA();
+        BarrierModuleB moduleB = new BarrierModuleB();
+
+        moduleManager.registerModule(moduleA);
+        moduleManager.registerModule(moduleB);
+
+        assertDoesNotThrow(() -> moduleManager.enableModulesInParallel());
+        assertTrue(moduleA.enabled);
+        assertTrue(moduleB.enabled);
+    }
+
+    @Test
+    void shouldEnableDependenciesBeforeDependentsInParallel() {
+        Module moduleA = spy(new TestModuleA());
+        Module moduleB = spy(new TestModuleB());
+        Module moduleD = spy(new TestModuleD());
+
+        moduleManager.registerModule(moduleD);
+        moduleManager.registerModule(moduleB);
+        moduleManager.registerModule(moduleA);
+        moduleManager.enableModulesInParallel();
+
+        InOrder inOrder = inOrder(moduleA, moduleB, moduleD);
+        inOrder.verify(moduleA).onEnable();
+        inOrder.verify(moduleB).onEnable();
+        inOrder.verify(moduleD).onEnable();
+    }
+
+    @Test
+    void shouldRunParallelEnableOnGivenExecutor() {
+        Module moduleA = spy(new TestModuleA());
+        Module moduleB = spy(new TestModuleB());
+        AtomicInteger executions = new AtomicInteger();
+
+        moduleManager.registerModule(moduleA);
+        moduleManager.registerModule(moduleB);
+        moduleManager.enableModulesInParallel(task -> {
+            executions.incrementAndGet();
+            task.run();
+        });
+
+        assertEquals(2, executions.get());
+        verify(moduleA, times(1)).onEnable();
+        verify(moduleB, times(1)).onEnable();
+    }
+
+    @Test
+    void shouldReportCircularDependencyBeforeEnablingInParallel() {
+        Module moduleA = spy(new TestModuleA());
+        Module moduleC = spy(new TestModuleC());
+        Module moduleE = spy(new TestModuleE());
+
+        moduleManager.registerModule(moduleA);
+        moduleManager.registerModule(moduleC);
+        moduleManager.registerModule(moduleE);
+
+        RuntimeException exception = assertThrows(
+                RuntimeException.class,
+                () -> moduleManager.enableModulesInParallel()
+        );
+
+        assertTrue(exception.getMessage().contains("Circular dependency detected"));
+        verify(moduleA, never()).onEnable();
+    }
+
+    @Test
+    void shouldReportMissingDependencyBeforeEnablingInParallel() {
+        Module moduleA = spy(new TestModuleA());
+        Module moduleD = spy(new TestModuleD());
+
+        moduleManager.registerModule(moduleA);
+        moduleManager.registerModule(moduleD);
+
+        RuntimeException exception = assertThrows(
+                RuntimeException.class,
+                () -> moduleManager.enableModulesInParallel()
+        );
+
+        assertTrue(exception.getMessage().contains("Missing dependency"));
+        verify(moduleA, never()).onEnable();
+    }
+
+    @Test
+    void shouldNotEnableDependentsOfFailedModuleInParallel() {
+        FailingModule failing = new FailingModule();
+        Module dependent = spy(new DependsOnFailingModule());
+
+        moduleManager.registerModule(failing);
+        moduleManager.registerModule(dependent);
+
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> moduleManager.enableModulesInParallel()
+        );
+
+        assertEquals("boom", exception.getMessage());
+        verify(dependent, never()).onEnable();
+    }
+
+    @Test
+    void shouldRecordEnableTimingsWithDependencies() {
+        StartupProfiler profiler = new StartupProfiler();
+        moduleManager = new ModuleManager(profiler);
+        moduleManager.registerModule(new TestModuleA());
+        moduleManager.registerModule(new TestModuleB());
+
+        moduleManager.enableModulesInParallel();
+
+        List<PhaseRecord> records = profiler.report().records(Phase.ENABLE);
+        assertEquals(2, records.size());
+
+        PhaseRecord moduleB = records.stream()
+                .filter(record -> record.name().equals(TestModuleB.class.getName()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(List.of(TestModuleA.class.getName()), moduleB.dependencies());
+        assertEquals(2, profiler.report().criticalPath().size());
+    }
+
+    @Test
+    void shouldNotEnableLazyModulesEagerly() {
+        LazyModule lazy = new LazyModule();
+        moduleManager.registerModule(new TestModuleA());
+        moduleManager.registerModule(lazy);
+
+        moduleManager.enableModules();
+
+        assertTrue(moduleManager.isEnabled(TestModuleA.class));
+        assertFalse(moduleManager.isEnabled(LazyModule.class));
+        assertEquals(0, lazy.enables.get());
+    }
+
+    @Test
+    void shouldEnableLazyModuleAndItsDependenciesOnLookup() {
+        LazyModule lazy = new LazyModule();
+        LazyDependentModule dependent = new LazyDependentModule();
+        moduleManager.registerModule(dependent);
+        moduleManager.registerModule(lazy);
+        moduleManager.enableModules();
+
+        assertSame(dependent, moduleManager.get(LazyDependentModule.class));
+        moduleManager.get(LazyDependentModule.class);
+
+        assertEquals(1, lazy.enables.get());
+        assertEquals(1, dependent.enables.get());
+        assertTrue(lazy.enabledBefore(dependent));
+    }
+
+    @Test
+    void shouldEnableLazyModuleWhenEagerModuleDependsOnIt() {
+        LazyModule lazy = new LazyModule();
+        moduleManager.registerModule(lazy);
+        moduleManager.registerModule(new DependsOnLazyModule());
+
+        moduleManager.enableModulesInParallel();
+
+        assertEquals(1, lazy.enables.get());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenLookingUpUnregisteredModule() {
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> moduleManager.get(TestModuleA.class)
+        );
+
+        assertTrue(exception.getMessage().contains("Module not registered"));
+    }
+
+    @Test
+    void shouldDisableIdleLazyChainDependentsFirst() {
+        LazyModule lazy = new LazyModule();
+        LazyDependentModule dependent = new LazyDependentModule();
+        moduleManager.registerModule(lazy);
+        moduleManager.registerModule(dependent);
+        moduleManager.setLazyIdleTimeout(Duration.ofNanos(1));
+        moduleManager.get(LazyDependentModule.class);
+
+        List<Module> disabled = moduleManager.disableIdleModules();
+
+        assertEquals(List.of(dependent, lazy), disabled);
+        assertEquals(1, lazy.disables.get());
+        assertFalse(moduleManager.isEnabled(LazyModule.class));
+
+        moduleManager.get(LazyModule.class);
+        assertEquals(2, lazy.enables.get());
+    }
+
+    @Test
+    void shouldKeepLazyModuleWithEnabledDependents() {
+        LazyModule lazy = new LazyModule();
+        moduleManager.registerModule(lazy);
+        moduleManager.registerModule(new DependsOnLazyModule());
+        moduleManager.setLazyIdleTimeout(Duration.ofNanos(1));
+        moduleManager.enableModules();
+
+        assertEquals(List.of(), moduleManager.disableIdleModules());
+        assertTrue(moduleManager.isEnabled(LazyModule.class));
+    }
+
+    @Test
+    void shouldKeepLazyModuleWithinIdleTimeout() {
+        moduleManager.registerModule(new LazyModule());
+        moduleManager.registerModule(new PinnedLazyModule());
+        moduleManager.setLazyIdleTimeout(Duration.ofHours(1));
+        moduleManager.get(LazyModule.class);
+        moduleManager.get(PinnedLazyModule.class);
+
+        assertEquals(List.of(), moduleManager.disableIdleModules());
+    }
+
+    @Test
+    void shouldStartDependentsOnlyOnceDependencyIsReady() {
+        AsyncModule async = new AsyncModule();
+        DependsOnAsyncModule dependent = new DependsOnAsyncModule();
+        moduleManager.registerModule(async);
+        moduleManager.registerModule(dependent);
+
+        CompletableFuture<Void> all = moduleManager.enableModulesAsync(Runnable::run);
+
+        assertEquals(1, async.enables.get());
+        assertEquals(0, dependent.enables.get());
+        assertFalse(moduleManager.isEnabled(AsyncModule.class));
+
+        async.ready.complete(null);
+
+        assertTrue(all.isDone());
+        assertEquals(1, dependent.enables.get());
+        assertTrue(moduleManager.isEnabled(AsyncModule.class));
+    }
+
+    @Test
+    void shouldNotStartSecondEnableWhileModuleIsEnabling() {
+        AsyncModule async = new AsyncModule();
+        moduleManager.registerModule(async);
+
+        CompletableFuture<Void> first = moduleManager.enableModulesAsync(Runnable::run);
+        CompletableFuture<Void> second = moduleManager.enableModulesAsync(Runnable::run);
+
+        assertEquals(1, async.enables.get());
+        assertFalse(second.isDone());
+
+        async.ready.complete(null);
+
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertEquals(1, async.enables.get());
+    }
+
+    @Test
+    void shouldJoinPendingEnableWhenLookingUpLazyModule() throws Exception {
+        LazyAsyncModule lazy = new LazyAsyncModule();
+        moduleManager.registerModule(lazy);
+        moduleManager.registerModule(new DependsOnLazyAsyncModule());
+
+        CompletableFuture<Void> all = moduleManager.enableModulesAsync(Runnable::run);
+        CompletableFuture<LazyAsyncModule> lookup = CompletableFuture.supplyAsync(() -> moduleManager.get(LazyAsyncModule.class));
+
+        assertThrows(TimeoutException.class, () -> lookup.get(50, TimeUnit.MILLISECONDS));
+        lazy.ready.complete(null);
+
+        assertSame(lazy, lookup.get(5, TimeUnit.SECONDS));
+        all.get(5, TimeUnit.SECONDS);
+        assertEquals(1, lazy.enables.get());
+    }
+
+    @Test
+    void shouldCompleteCriticalReadinessBeforeBackgroundModules() {
+        AsyncModule background = new AsyncModule();
+        moduleManager.registerModule(new TestModuleA());
+        moduleManager.registerModule(background);
+        CompletableFuture<Void> critical = moduleManager.readiness(TestModuleA.class);
+        CompletableFuture<Void> all = moduleManager.readiness();
+
+        moduleManager.enableModulesAsync(Runnable::run);
+
+        assertTrue(critical.isDone());
+        assertFalse(all.isDone());
+
+        background.ready.complete(null);
+        assertTrue(all.isDone());
+    }
+
+    @Test
+    void shouldFailReadinessOfModulesThatTimeOut() {
+        moduleManager.registerModule(new AsyncModule());
+        moduleManager.registerModule(new DependsOnAsyncModule());
+        moduleManager.setReadinessTimeout(Duration.ofMillis(50));
+
+        moduleManager.enableModulesAsync(Runnable::run);
+        CompletionException exception = assertThrows(
+                CompletionException.class,
+                () -> moduleManager.readiness(DependsOnAsyncModule.class).join()
+        );
+
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+    }
+
+    @Test
+    void shouldReportTimedOutModuleWhenEnablingSequentially() {
+        moduleManager.registerModule(new AsyncModule());
+        moduleManager.setReadinessTimeout(Duration.ofMillis(50));
+
+        RuntimeException exception = assertThrows(RuntimeException.class, moduleManager::enableModules);
+
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        assertTrue(exception.getCause().getMessage().contains(AsyncModule.class.getName()));
+        assertFalse(moduleManager.isEnabled(AsyncModule.class));
+    }
+
+    @Test
+    void shouldFailReadinessOfDependentsOfFailedModule() {
+        moduleManager.registerModule(new FailingModule());
+        moduleManager.registerModule(new DependsOnFailingModule());
+        CompletableFuture<Void> dependent = moduleManager.readiness(DependsOnFailingModule.class);
+
+        moduleManager.enableModulesAsync(Runnable::run);
+
+        assertTrue(dependent.isCompletedExceptionally());
+    }
+
+    @Test
+    void shouldReloadModuleAndItsDependentsInOrder() {
+        CountingModule root = new TestModuleF();
+        CountingModule dependent = new TestModuleG();
+        CountingModule unrelated = new TestModuleH();
+        moduleManager.registerModule(root);
+        moduleManager.registerModule(dependent);
+        moduleManager.registerModule(unrelated);
+        moduleManager.enableModules();
+
+        moduleManager.reload(TestModuleF.class);
+
+        assertEquals(1, root.reloads.get());
+        assertEquals(1, dependent.reloads.get());
+        assertEquals(0, unrelated.reloads.get());
+        assertTrue(root.reloadedAt < dependent.reloadedAt);
+    }
+
+    @Test
+    void shouldNotReloadModulesThatAreNotEnabled() {
+        LazyModule lazy = new LazyModule();
+        moduleManager.registerModule(lazy);
+        moduleManager.enableModules();
+
+        moduleManager.reload(LazyModule.class);
+
+        assertEquals(0, lazy.reloads.get());
+    }
+
+    @Test
+    void shouldRecordReloadTimings() {
+        StartupProfiler profiler = new StartupProfiler();
+        moduleManager = new ModuleManager(profiler);
+        moduleManager.registerModule(new TestModuleF());
+        moduleManager.registerModule(new TestModuleG());
+        moduleManager.enableModules();
+
+        moduleManager.reload(TestModuleF.class);
+
+        assertEquals(2, profiler.report().records(Phase.RELOAD).size());
+    }
+
+    @Test
+    void shouldReloadOnlyModulesReadingChangedKeys(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("modules.conf");
+        Files.writeString(file, "greeting = hello\nunrelated = 1");
+        ConfigurationLoader loader = new ConfigurationLoader("modules.conf", tempDir);
+        ConfigurationInjector injector = new ConfigurationInjector(loader);
+        injector.configurate("dev.shiftsad.core.modules");
+
+        ConfiguredModule configured = new ConfiguredModule();
+        CountingModule dependent = new DependsOnConfiguredModule();
+        CountingModule unrelated = new TestModuleH();
+        moduleManager.registerModule(configured);
+        moduleManager.registerModule(dependent);
+        moduleManager.registerModule(unrelated);
+        moduleManager.enableModules();
+        moduleManager.bindConfiguration(loader, injector);
+
+        Files.writeString(file, "greeting = hello\nunrelated = 2");
+        loader.reload();
+        assertEquals(0, configured.reloads.get());
+
+        Files.writeString(file, "greeting = bye\nunrelated = 2");
+        loader.reload();
+        assertEquals(1, configured.reloads.get());
+        assertEquals(1, dependent.reloads.get());
+        assertEquals(0, unrelated.reloads.get());
+        assertEquals("bye", configured.greetingOnReload);
+    }
+
+    @Test
+    void shouldReturnTheSameHandleForEveryLookup() {
+        TestModuleA module = new TestModuleA();
+        moduleManager.registerModule(module);
+
+        ModuleHandle<TestModuleA> handle = moduleManager.handle(TestModuleA.class);
+
+        assertSame(handle, moduleManager.handle(TestModuleA.class));
+        assertSame(module, handle.get());
+        assertSame(module, moduleManager.get(TestModuleA.class));
+        assertEquals(TestModuleA.class, handle.moduleClass());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenResolvingHandleOfUnregisteredModule() {
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> moduleManager.handle(TestModuleA.class)
+        );
+
+        assertTrue(exception.getMessage().contains("Module not registered"));
+    }
+
+    @Test
+    void shouldKeepHandleValidAcrossLazyReEnable() {
+        LazyModule lazy = new LazyModule();
+        moduleManager.registerModule(lazy);
+        moduleManager.setLazyIdleTimeout(Duration.ofNanos(1));
+        ModuleHandle<LazyModule> handle = moduleManager.handle(LazyModule.class);
+
+        assertFalse(handle.isEnabled());
+        assertNull(handle.getIfEnabled());
+
+        assertSame(lazy, handle.get());
+        assertTrue(handle.isEnabled());
+        assertSame(lazy, handle.getIfEnabled());
+
+        moduleManager.disableIdleModules();
+        assertFalse(handle.isEnabled());
+        assertNull(handle.getIfEnabled());
+
+        assertSame(lazy, handle.get());
+        assertTrue(handle.isEnabled());
+        assertEquals(2, lazy.enables.get());
+    }
+
+    @Test
+    void shouldKeepLazyModuleLookedUpThroughHandle() {
+        moduleManager.registerModule(new LazyModule());
+        moduleManager.setLazyIdleTimeout(Duration.ofHours(1));
+        ModuleHandle<LazyModule> handle = moduleManager.handle(LazyModule.class);
+        handle.get();
+
+        assertEquals(List.of(), moduleManager.disableIdleModules());
+        assertNotNull(handle.getIfEnabled());
+    }
+
+    @Test
+    void shouldTrackLookupsOfLazyModulesOnly() {
+        moduleManager.registerModule(new TestModuleA());
+        moduleManager.registerModule(new LazyModule());
+        ModuleHandle<TestModuleA> eager = moduleManager.handle(TestModuleA.class);
+        ModuleHandle<LazyModule> lazy = moduleManager.handle(LazyModule.class);
+
+        eager.get();
+        lazy.get();
+
+        assertFalse(eager.lookedUpWithin(System.nanoTime(), Long.MAX_VALUE));
+        assertTrue(lazy.lookedUpWithin(System.nanoTime(), Long.MAX_VALUE));
+    }
+
+    @Test
+    void shouldMakeLookupDuringIdleDisableWaitAndReEnable() throws Exception {
+        SlowDisableLazyModule lazy = new SlowDisableLazyModule();
+        moduleManager.registerModule(lazy);
+        moduleManager.setLazyIdleTimeout(Duration.ofNanos(1));
+        ModuleHandle<SlowDisableLazyModule> handle = moduleManager.handle(SlowDisableLazyModule.class);
+        handle.get();
+
+        CompletableFuture<List<Module>> sweep = CompletableFuture.supplyAsync(moduleManager::disableIdleModules);
+        assertTrue(lazy.disabling.await(5, TimeUnit.SECONDS));
+        CompletableFuture<SlowDisableLazyModule> lookup = new CompletableFuture<>();
+        Thread.ofPlatform().start(() -> lookup.complete(handle.get()));
+
+        try {
+            assertThrows(TimeoutException.class, () -> lookup.get(100, TimeUnit.MILLISECONDS),
+                    "A lookup must not return the module while it is being disabled");
+        } finally {
+            lazy.release.countDown();
+        }
+        assertEquals(List.of(lazy), sweep.get(5, TimeUnit.SECONDS));
+        assertSame(lazy, lookup.get(5, TimeUnit.SECONDS));
+        assertTrue(handle.isEnabled());
+        assertEquals(2, lazy.enables.get());
+    }
+
+    @Test
+    void shouldShowHandlesAsDisabledAfterShutdown() {
+        moduleManager.registerModule(new TestModuleF());
+        moduleManager.enableModules();
+        ModuleHandle<TestModuleF> handle = moduleManager.handle(TestModuleF.class);
+        assertTrue(handle.isEnabled());
+
+        moduleManager.shutdown(Duration.ofSeconds(5));
+
+        assertFalse(handle.isEnabled());
+    }
+
+    @Test
+    void shouldShutdownDependentsBeforeTheirDependencies() {
+        CountingModule root = new TestModuleF();
+        CountingModule dependent = new TestModuleG();
+        CountingModule unrelated = new TestModuleH();
+        moduleManager.registerModule(root);
+        moduleManager.registerModule(dependent);
+        moduleManager.registerModule(unrelated);
+        moduleManager.enableModules();
+
+        Map<Class<? extends Module>, Throwable> failures = moduleManager.shutdown(Duration.ofSeconds(5));
+
+        assertEquals(Map.of(), failures);
+        assertEquals(1, root.disables.get());
+        assertEquals(1, dependent.disables.get());
+        assertEquals(1, unrelated.disables.get());
+        assertTrue(dependent.disabledAt < root.disabledAt);
+        assertFalse(moduleManager.isEnabled(TestModuleF.class));
+    }
+
+    @Test
+    void shouldShutdownIndependentModulesInParallel() {
+        moduleManager.registerModule(new ShutdownBarrierModuleA());
+        moduleManager.registerModule(new ShutdownBarrierModuleB());
+        moduleManager.enableModules();
+
+        assertEquals(Map.of(), moduleManager.shutdown(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void shouldReportModulesThatMissTheirShutdownDeadline() {
+        CountingModule dependency = new TestModuleF();
+        HangingModule hanging = new HangingModule();
+        moduleManager.registerModule(dependency);
+        moduleManager.registerModule(hanging);
+        moduleManager.enableModules();
+        moduleManager.setShutdownTimeout(Duration.ofMillis(50));
+
+        try {
+            Map<Class<? extends Module>, Throwable> failures = moduleManager.shutdown(Duration.ofSeconds(5));
+
+            assertEquals(1, failures.size());
+            assertInstanceOf(TimeoutException.class, failures.get(HangingModule.class));
+            assertEquals(1, dependency.disables.get());
+            assertFalse(moduleManager.isEnabled(HangingModule.class));
+        } finally {
+            hanging.release.countDown();
+        }
+    }
+
+    @Test
+    void shouldRecordDisableTimings() {
+        StartupProfiler profiler = new StartupProfiler();
+        moduleManager = new ModuleManager(profiler);
+        moduleManager.registerModule(new TestModuleF());
+        moduleManager.registerModule(new TestModuleG());
+        moduleManager.enableModules();
+
+        moduleManager.shutdown(Duration.ofSeconds(5));
+
+        List<PhaseRecord> records = profiler.report().records(Phase.DISABLE);
+        assertEquals(2, records.size());
+        for (PhaseRecord record : records) {
+            assertNotEquals(Thread.currentThread().threadId(), record.threadId(), "onDisable should be timed on the thread that runs it");
+        }
+    }
+
+    @Test
+    void shouldNotEnableLazyModulesAfterShutdown() {
+        moduleManager.registerModule(new LazyModule());
+        moduleManager.shutdown(Duration.ofSeconds(1));
+
+        assertThrows(IllegalStateException.class, () -> moduleManager.get(LazyModule.class));
+    }
+
     private static class TestModuleA implements Module {
         @Override public void onEnable() {}
         @Override public void onDisable() {}
@@ -157,4 +756,184 @@ public class ModuleManagerTest {
         @Override public void reload() {}
         @Override public boolean isReady() { return false; }
     }
-}
\ No newline at end of file
+
+    private abstract static class BarrierModule implements Module {
+        private static final CyclicBarrier BARRIER = new CyclicBarrier(2);
+        volatile boolean enabled;
+
+        @Override
+        public void onEnable() {
+            try {
+                BARRIER.await(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException("Modules were not enabled concurrently", e);
+            }
+            enabled = true;
+        }
+
+        @Override public void onDisable() {}
+        @Override public void reload() {}
+        @Override public boolean isReady() { return enabled; }
+    }
+
+    private static class BarrierModuleA extends BarrierModule {}
+
+    private static class BarrierModuleB extends BarrierModule {}
+
+    private abstract static class ShutdownBarrierModule implements Module {
+        private static final CyclicBarrier BARRIER = new CyclicBarrier(2);
+
+        @Override public void onEnable() {}
+
+        @Override
+        public void onDisable() {
+            try {
+                BARRIER.await(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException("Modules were not disabled concurrently", e);
+            }
+        }
+
+        @Override public void reload() {}
+        @Override public boolean isReady() { return true; }
+    }
+
+    private static class ShutdownBarrierModuleA extends ShutdownBarrierModule {}
+
+    private static class ShutdownBarrierModuleB extends ShutdownBarrierModule {}
+
+    @DependsOn(TestModuleF.class)
+    private static class HangingModule extends CountingModule {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void onDisable() {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.onDisable();
+        }
+    }
+
+    @Lazy
+    private static class SlowDisableLazyModule extends CountingModule {
+        final CountDownLatch disabling = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void onDisable() {
+            disabling.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.onDisable();
+        }
+    }
+
+    private static class FailingModule implements Module {
+        @Override public void onEnable() { throw new IllegalStateException("boom"); }
+        @Override public void onDisable() {}
+        @Override public void reload() {}
+        @Override public boolean isReady() { return false; }
+    }
+
+    @DependsOn(FailingModule.class)
+    private static class DependsOnFailingModule implements Module {
+        @Override public void onEnable() {}
+        @Override public void onDisable() {}
+        @Override public void reload() {}
+        @Override public boolean isReady() { return false; }
+    }
+
+    private abstract static class CountingModule implements Module {
+        private static final AtomicInteger SEQUENCE = new AtomicInteger();
+        final AtomicInteger enables = new AtomicInteger();
+        final AtomicInteger disables = new AtomicInteger();
+        final AtomicInteger reloads = new AtomicInteger();
+        volatile int enabledAt;
+        volatile int reloadedAt;
+        volatile int disabledAt;
+
+        @Override
+        public void onEnable() {
+            enables.incrementAndGet();
+            enabledAt = SEQUENCE.incrementAndGet();
+        }
+
+        @Override
+        public void onDisable() {
+            disables.incrementAndGet();
+            disabledAt = SEQUENCE.incrementAndGet();
+        }
+
+        @Override public boolean isReady() { return enables.get() > disables.get(); }
+
+        @Override
+        public void reload() {
+            reloads.incrementAndGet();
+            reloadedAt = SEQUENCE.incrementAndGet();
+        }
+
+        boolean enabledBefore(CountingModule other) {
+            return enabledAt < other.enabledAt;
+        }
+    }
+
+    @Lazy
+    private static class LazyModule extends CountingModule {}
+
+    @Lazy
+    @DependsOn(LazyModule.class)
+    private static class LazyDependentModule extends CountingModule {}
+
+    @Lazy(idleTimeoutSeconds = 0)
+    private static class PinnedLazyModule extends CountingModule {}
+
+    @DependsOn(LazyModule.class)
+    private static class DependsOnLazyModule extends CountingModule {}
+
+    private static class AsyncModule extends CountingModule {
+        final CompletableFuture<Void> ready = new CompletableFuture<>();
+
+        @Override
+        public CompletableFuture<Void> enableAsync() {
+            onEnable();
+            return ready;
+        }
+    }
+
+    @DependsOn(AsyncModule.class)
+    private static class DependsOnAsyncModule extends CountingModule {}
+
+    @Lazy
+    private static class LazyAsyncModule extends AsyncModule {}
+
+    @DependsOn(LazyAsyncModule.class)
+    private static class DependsOnLazyAsyncModule extends CountingModule {}
+
+    private static class TestModuleF extends CountingModule {}
+
+    @DependsOn(TestModuleF.class)
+    private static class TestModuleG extends CountingModule {}
+
+    private static class TestModuleH extends CountingModule {}
+
+    private static class ConfiguredModule extends CountingModule {
+        @Value("greeting")
+        private static String greeting;
+        volatile String greetingOnReload;
+
+        @Override
+        public void reload() {
+            greetingOnReload = greeting;
+            super.reload();
+        }
+    }
+
+    @DependsOn(ConfiguredModule.class)
+    private static class DependsOnConfiguredModule extends CountingModule {}
+}
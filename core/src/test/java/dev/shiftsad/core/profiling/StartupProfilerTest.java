@@ -0,0 +1,128 @@
+package dev.shiftsad.core.profiling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StartupProfiler Tests")
+public class StartupProfilerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static PhaseRecord enable(String name, long start, long duration, String... dependencies) {
+        return new PhaseRecord(Phase.ENABLE, name, "worker", 1, start, duration, 0, List.of(dependencies));
+    }
+
+    @Test
+    @DisplayName("Should record closed spans")
+    void recordsSpans() {
+        StartupProfiler profiler = new StartupProfiler();
+
+        try (Span ignored = profiler.start(Phase.SCAN, "dev.shiftsad").waited(5)) {
+            // Timed work
+        }
+
+        List<PhaseRecord> records = profiler.report().records();
+        assertEquals(1, records.size());
+        assertEquals(Phase.SCAN, records.get(0).phase());
+        assertEquals("dev.shiftsad", records.get(0).name());
+        assertEquals(5, records.get(0).waitNanos());
+        assertEquals(Thread.currentThread().getName(), records.get(0).thread());
+        assertEquals(Thread.currentThread().threadId(), records.get(0).threadId());
+    }
+
+    @Test
+    @DisplayName("Should name virtual threads after their id and keep them on separate tracks")
+    void separatesVirtualThreads() throws InterruptedException {
+        StartupProfiler profiler = new StartupProfiler();
+        Thread first = Thread.ofVirtual().start(() -> profiler.start(Phase.ENABLE, "first").close());
+        first.join();
+        Thread second = Thread.ofVirtual().start(() -> profiler.start(Phase.ENABLE, "second").close());
+        second.join();
+
+        List<PhaseRecord> records = profiler.report().records();
+        assertEquals("virtual-" + first.threadId(), records.get(0).thread());
+        assertEquals("virtual-" + second.threadId(), records.get(1).thread());
+
+        String trace = profiler.report().toChromeTrace();
+        assertTrue(trace.contains("\"tid\":1,\"args\":{\"name\":\"virtual-" + first.threadId() + "\"}"));
+        assertTrue(trace.contains("\"tid\":2,\"args\":{\"name\":\"virtual-" + second.threadId() + "\"}"));
+    }
+
+    @Test
+    @DisplayName("Should discard everything when disabled")
+    void disabledProfilerRecordsNothing() {
+        StartupProfiler profiler = StartupProfiler.disabled();
+
+        profiler.start(Phase.PARSE, "config.conf").close();
+
+        assertTrue(profiler.report().records().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should drop records beyond the capacity")
+    void dropsRecordsBeyondCapacity() {
+        StartupProfiler profiler = new StartupProfiler();
+        for (int i = 0; i < StartupProfiler.MAX_RECORDS + 3; i++) {
+            profiler.record(enable("module" + i, i, 1));
+        }
+
+        StartupReport report = profiler.report();
+        assertEquals(StartupProfiler.MAX_RECORDS, report.records().size());
+        assertEquals(3, report.droppedRecords());
+    }
+
+    @Test
+    @DisplayName("Should follow the latest-finishing dependency for the critical path")
+    void computesCriticalPath() {
+        StartupProfiler profiler = new StartupProfiler();
+        profiler.record(enable("database", 0, 100));
+        profiler.record(enable("skins", 0, 300));
+        profiler.record(enable("world", 100, 50, "database"));
+        profiler.record(enable("lobby", 300, 10, "world", "skins"));
+
+        List<String> path = profiler.report().criticalPath().stream().map(PhaseRecord::name).toList();
+
+        assertEquals(List.of("skins", "lobby"), path);
+    }
+
+    @Test
+    @DisplayName("Should sum durations per phase")
+    void sumsPhaseDurations() {
+        StartupProfiler profiler = new StartupProfiler();
+        profiler.record(enable("a", 0, 100));
+        profiler.record(enable("b", 0, 50));
+        profiler.record(new PhaseRecord(Phase.PARSE, "config.conf", "main", 1, 0, 7, 0, List.of()));
+
+        StartupReport report = profiler.report();
+        assertEquals(150, report.totalNanos(Phase.ENABLE));
+        assertEquals(7, report.totalNanos(Phase.PARSE));
+        assertEquals(0, report.totalNanos(Phase.DISABLE));
+    }
+
+    @Test
+    @DisplayName("Should export a Chrome trace with a critical path track")
+    void exportsChromeTrace() throws IOException {
+        StartupProfiler profiler = new StartupProfiler();
+        profiler.record(enable("database", 1_000, 2_000));
+        profiler.record(enable("lobby \"main\"", 3_000, 1_000, "database"));
+
+        Path file = tempDir.resolve("trace/startup.json");
+        profiler.report().writeChromeTrace(file);
+        String trace = Files.readString(file);
+
+        assertTrue(trace.startsWith("{\"displayTimeUnit\":\"ms\",\"traceEvents\":["));
+        assertTrue(trace.contains("\"args\":{\"name\":\"Critical path\"}"));
+        assertTrue(trace.contains("\"name\":\"lobby \\\"main\\\"\""), "Names should be escaped");
+        assertTrue(trace.contains("\"ts\":2.000,\"dur\":1.000"), "Timestamps should be relative microseconds");
+        assertTrue(trace.contains("\"critical\":true"));
+    }
+}
@@ -9,15 +9,22 @@ repositories {
     mavenCentral()
 }
 
+val mockitoAgent = configurations.create("mockitoAgent")
+
 dependencies {
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
 
+    testImplementation("org.mockito:mockito-core:5.18.0")
+    mockitoAgent("org.mockito:mockito-core:5.18.0") { isTransitive = false }
+
     implementation("net.minestom:minestom-snapshots:b39badc77b")
     implementation("org.projectlombok:lombok:1.18.38")
     implementation(project(":core"))
+    annotationProcessor(project(":core"))
 }
 
 tasks.test {
     useJUnitPlatform()
+    jvmArgs!!.add("-javaagent:${mockitoAgent.asPath}")
 }
\ No newline at end of file
@@ -0,0 +1,202 @@
+package dev.shiftsad.lobby;
+
+import net.minestom.server.instance.InstanceManager;
+import net.minestom.server.instance.SharedInstance;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Keeps a pool of {@link SharedInstance}s of the menu scene so players joining the menu
+ * lease an already registered instance instead of creating one.
+ * <p>
+ * {@code size} instances are created up front and never evicted. Idle instances above that are
+ * unregistered after {@code idleTimeout}. At most {@code maxSize} instances exist at any time,
+ * which keeps memory bounded during join spikes. Once all of them are leased, a lease is rejected,
+ * unless {@code shareWhenExhausted} is set, in which case the player shares the least occupied
+ * instance. Both outcomes are counted, see {@link #rejectedLeases()} and {@link #sharedLeases()}.
+ */
+public class MenuInstancePool {
+
+    private final Logger logger = LoggerFactory.getLogger(MenuInstancePool.class);
+    private final InstanceManager instanceManager;
+    private final Supplier<SharedInstance> factory;
+    private final int size;
+    private final int maxSize;
+    private final long idleTimeoutNanos;
+    private final boolean shareWhenExhausted;
+
+    private final Deque<SharedInstance> idle = new ArrayDeque<>();
+    private final Map<SharedInstance, Long> idleSince = new IdentityHashMap<>();
+    private final Map<SharedInstance, Integer> leases = new IdentityHashMap<>();
+    private int highWaterMark;
+    private long created;
+    private long evicted;
+    private long sharedLeases;
+    private long rejectedLeases;
+
+    /**
+     * @param factory            creates and registers a new instance of the menu scene
+     * @param shareWhenExhausted whether players share an instance once {@code maxSize} instances are leased,
+     *                           instead of having their lease rejected
+     */
+    public MenuInstancePool(@NotNull InstanceManager instanceManager, @NotNull Supplier<SharedInstance> factory,
+                            int size, int maxSize, @NotNull Duration idleTimeout, boolean shareWhenExhausted) {
+        if (size < 0 || maxSize < 1 || size > maxSize) {
+            throw new IllegalArgumentException("Pool size must be between 0 and maxSize (" + size + ", " + maxSize + ")");
+        }
+        this.instanceManager = instanceManager;
+        this.factory = factory;
+        this.size = size;
+        this.maxSize = maxSize;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.shareWhenExhausted = shareWhenExhausted;
+    }
+
+    /**
+     * Creates and registers the initial {@code size} instances.
+     */
+    public synchronized void prewarm() {
+        long now = System.nanoTime();
+        while (total() < size) {
+            SharedInstance instance = create();
+            idle.push(instance);
+            idleSince.put(instance, now);
+        }
+        logger.info("Pre-warmed {} menu instances", size);
+    }
+
+    /**
+     * Leases an instance for one player. Must be paired with {@link #release(SharedInstance)}.
+     *
+     * @return the leased instance, or null if all {@code maxSize} instances are leased and sharing is disabled
+     */
+    public synchronized @Nullable SharedInstance lease() {
+        SharedInstance instance = idle.poll();
+        if (instance != null) {
+            idleSince.remove(instance);
+        } else if (total() < maxSize) {
+            instance = create();
+        } else if (shareWhenExhausted) {
+            instance = leases.entrySet().stream()
+                    .min(Comparator.comparingInt(Map.Entry::getValue))
+                    .orElseThrow()
+                    .getKey();
+            sharedLeases++;
+            logger.debug("Menu instance pool exhausted ({} instances). Sharing an instance.", maxSize);
+        } else {
+            rejectedLeases++;
+            logger.debug("Menu instance pool exhausted ({} instances). Rejecting the lease.", maxSize);
+            return null;
+        }
+
+        leases.merge(instance, 1, Integer::sum);
+        highWaterMark = Math.max(highWaterMark, leases.size());
+        return instance;
+    }
+
+    /**
+     * Returns a leased instance. Once its last lease is returned it becomes idle.
+     */
+    public synchronized void release(@NotNull SharedInstance instance) {
+        Integer count = leases.get(instance);
+        if (count == null) {
+            logger.warn("Released a menu instance that was not leased from this pool");
+            return;
+        }
+
+        if (count > 1) {
+            leases.put(instance, count - 1);
+            return;
+        }
+
+        leases.remove(instance);
+        idle.push(instance);
+        idleSince.put(instance, System.nanoTime());
+    }
+
+    /**
+     * Unregisters instances that have been idle longer than the idle timeout,
+     * never shrinking the pool below its pre-warmed size.
+     *
+     * @return the number of evicted instances
+     */
+    public synchronized int evictIdle() {
+        long now = System.nanoTime();
+        int count = 0;
+
+        // Idle instances are pushed to the front, so the oldest ones are at the back
+        Iterator<SharedInstance> oldestFirst = idle.descendingIterator();
+        while (oldestFirst.hasNext() && total() > size) {
+            SharedInstance instance = oldestFirst.next();
+            if (now - idleSince.get(instance) < idleTimeoutNanos) break;
+
+            oldestFirst.remove();
+            idleSince.remove(instance);
+            instanceManager.unregisterInstance(instance);
+            count++;
+        }
+
+        evicted += count;
+        if (count > 0) {
+            logger.debug("Evicted {} idle menu instances", count);
+        }
+        return count;
+    }
+
+    private SharedInstance create() {
+        created++;
+        return factory.get();
+    }
+
+    private int total() {
+        return idle.size() + leases.size();
+    }
+
+    public synchronized int leased() {
+        return leases.size();
+    }
+
+    public synchronized int idle() {
+        return idle.size();
+    }
+
+    /**
+     * Returns the highest number of instances that were leased at the same time.
+     */
+    public synchronized int highWaterMark() {
+        return highWaterMark;
+    }
+
+    public synchronized long created() {
+        return created;
+    }
+
+    public synchronized long evicted() {
+        return evicted;
+    }
+
+    /**
+     * Returns how many leases were handed an instance that was already leased, because the pool was exhausted.
+     */
+    public synchronized long sharedLeases() {
+        return sharedLeases;
+    }
+
+    /**
+     * Returns how many leases were rejected because the pool was exhausted and sharing is disabled.
+     */
+    public synchronized long rejectedLeases() {
+        return rejectedLeases;
+    }
+}
@@ -0,0 +1,237 @@
+package dev.shiftsad.lobby;
+
+import dev.shiftsad.lobby.shard.LobbyShard;
+import dev.shiftsad.lobby.shard.ShardManager;
+import net.minestom.server.instance.SharedInstance;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+/**
+ * Tracks which pooled menu instance each player is using.
+ * Sessions are keyed by player UUID and released explicitly, so an instance goes back to the
+ * {@link MenuInstancePool} of its shard as soon as its player disconnects instead of when the player is collected.
+ * Safe to use from the different threads Minestom fires events on.
+ */
+public class MenuSessionRegistry {
+
+    private final Logger logger = LoggerFactory.getLogger(MenuSessionRegistry.class);
+    private final ShardManager shards;
+    private final Map<UUID, MenuSession> sessions = new ConcurrentHashMap<>();
+    private final LongAdder closedSessions = new LongAdder();
+    private final LongAdder closedLifetimeNanos = new LongAdder();
+    private final LongAdder leakedSessions = new LongAdder();
+    private final LongAdder movedSessions = new LongAdder();
+    private final Map<LobbyShard, Integer> departing = new ConcurrentHashMap<>();
+
+    public MenuSessionRegistry(@NotNull ShardManager shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * Opens a session for the player, leasing a menu instance on the least loaded shard.
+     * A session the player still had open is closed first.
+     *
+     * @return the instance leased for the session, or null if every shard is full and no session was opened
+     */
+    public @Nullable SharedInstance open(@NotNull UUID playerId) {
+        SharedInstance instance = shards.lease();
+        if (instance == null) {
+            close(playerId);
+            return null;
+        }
+
+        MenuSession session = new MenuSession(playerId, instance, System.nanoTime());
+        MenuSession previous = sessions.put(playerId, session);
+        if (previous != null) {
+            release(previous);
+        }
+        return session.instance();
+    }
+
+    /**
+     * Closes the player's session and returns its instance to the pool.
+     *
+     * @return whether the player had an open session
+     */
+    public boolean close(@NotNull UUID playerId) {
+        MenuSession session = sessions.remove(playerId);
+        if (session == null) return false;
+
+        release(session);
+        return true;
+    }
+
+    public @Nullable MenuSession get(@NotNull UUID playerId) {
+        return sessions.get(playerId);
+    }
+
+    /**
+     * Closes sessions whose player is gone without a disconnect having been handled.
+     * Sessions younger than the grace period are left alone, since a player that is still
+     * configuring is not reported as online yet.
+     *
+     * @param isOnline whether a player is still connected
+     * @param grace the minimum age of a session before it can be considered leaked
+     * @return the number of leaked sessions that were closed
+     */
+    public int sweep(@NotNull Predicate<UUID> isOnline, @NotNull Duration grace) {
+        long cutoff = System.nanoTime() - grace.toNanos();
+        int leaked = 0;
+
+        for (MenuSession session : sessions.values()) {
+            if (session.openedAt() - cutoff > 0 || isOnline.test(session.playerId())) continue;
+
+            if (sessions.remove(session.playerId(), session)) {
+                release(session);
+                leaked++;
+            }
+        }
+
+        if (leaked > 0) {
+            leakedSessions.add(leaked);
+            logger.warn("Closed {} leaked menu sessions", leaked);
+        }
+        return leaked;
+    }
+
+    /**
+     * Moves sessions from the most to the least loaded shard until their player counts differ by at most
+     * the tolerance, or the move limit is reached. Each moved session leases an instance on the target
+     * shard and keeps its opening time. Its old instance is released once the move completes; if the move
+     * fails, the session goes back to its old instance and the new one is released instead. Players still
+     * moving count towards the shard they leave. Stops early when the target shard's pool is exhausted.
+     *
+     * @param tolerance the player count difference left alone, at least 1 so that moves cannot oscillate
+     * @param maxMoves  the maximum number of sessions moved by this call
+     * @param movable   whether the player can be moved now
+     * @param move      moves the player into the new instance, completing once the player is in it
+     * @return the number of sessions whose move was started
+     */
+    public int rebalance(int tolerance, int maxMoves, @NotNull Predicate<UUID> movable,
+                         @NotNull BiFunction<UUID, SharedInstance, CompletableFuture<?>> move) {
+        if (tolerance < 1) {
+            throw new IllegalArgumentException("Rebalance tolerance must be at least 1: " + tolerance);
+        }
+
+        Map<LobbyShard, Deque<MenuSession>> candidates = new IdentityHashMap<>();
+        for (MenuSession session : sessions.values()) {
+            LobbyShard shard = shards.shardOf(session.instance());
+            if (shard != null && movable.test(session.playerId())) {
+                candidates.computeIfAbsent(shard, key -> new ArrayDeque<>()).add(session);
+            }
+        }
+
+        int moved = 0;
+        while (moved < maxMoves) {
+            LobbyShard from = Collections.max(shards.shards(), Comparator.comparingInt(this::load));
+            LobbyShard to = Collections.min(shards.shards(), Comparator.comparingInt(this::load));
+            if (load(from) - load(to) <= tolerance) break;
+
+            Deque<MenuSession> queue = candidates.get(from);
+            MenuSession session = queue == null ? null : queue.poll();
+            if (session == null) break;
+
+            SharedInstance instance = shards.lease(to);
+            if (instance == null) break;
+
+            MenuSession target = new MenuSession(session.playerId(), instance, session.openedAt());
+            if (!sessions.replace(session.playerId(), session, target)) {
+                // Closed or reopened since the candidates were collected.
+                shards.release(target.instance());
+                continue;
+            }
+            move(from, session, target, move);
+            moved++;
+        }
+
+        if (moved > 0) {
+            movedSessions.add(moved);
+            logger.debug("Moved {} menu sessions between lobby shards", moved);
+        }
+        return moved;
+    }
+
+    private void move(LobbyShard from, MenuSession session, MenuSession target,
+                      BiFunction<UUID, SharedInstance, CompletableFuture<?>> move) {
+        departing.merge(from, 1, Integer::sum);
+        CompletableFuture<?> moving;
+        try {
+            moving = move.apply(session.playerId(), target.instance());
+        } catch (RuntimeException e) {
+            moving = CompletableFuture.failedFuture(e);
+        }
+
+        moving.whenComplete((ignored, error) -> {
+            if (error != null && sessions.replace(session.playerId(), target, session)) {
+                logger.warn("Failed to move {} to another lobby shard: {}", session.playerId(), error.getMessage());
+                shards.release(target.instance());
+            } else {
+                // Moved, or the session was closed meanwhile and only released its new instance.
+                shards.release(session.instance());
+            }
+            departing.merge(from, -1, Integer::sum);
+        });
+    }
+
+    /**
+     * Returns the players of the shard, leaving out those being moved to another shard.
+     */
+    private int load(LobbyShard shard) {
+        return shard.players() - departing.getOrDefault(shard, 0);
+    }
+
+    private void release(MenuSession session) {
+        shards.release(session.instance());
+        closedSessions.increment();
+        closedLifetimeNanos.add(System.nanoTime() - session.openedAt());
+    }
+
+    public int activeSessions() {
+        return sessions.size();
+    }
+
+    /**
+     * Returns how many sessions were found by {@link #sweep} instead of being closed on disconnect.
+     */
+    public long leakedSessions() {
+        return leakedSessions.sum();
+    }
+
+    /**
+     * Returns how many sessions {@link #rebalance} moved to another shard.
+     */
+    public long movedSessions() {
+        return movedSessions.sum();
+    }
+
+    /**
+     * Returns the average lifetime of the sessions closed so far.
+     */
+    public Duration averageSessionLifetime() {
+        long closed = closedSessions.sum();
+        return closed == 0 ? Duration.ZERO : Duration.ofNanos(closedLifetimeNanos.sum() / closed);
+    }
+
+    /**
+     * @param playerId the player owning the session
+     * @param instance the pooled instance leased for the session
+     * @param openedAt the {@link System#nanoTime()} at which the session was opened
+     */
+    public record MenuSession(@NotNull UUID playerId, @NotNull SharedInstance instance, long openedAt) {}
+}
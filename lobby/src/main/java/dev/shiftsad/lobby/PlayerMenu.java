@@ -1,14 +1,46 @@
 package dev.shiftsad.lobby;
 
-import lombok.NoArgsConstructor;
+import dev.shiftsad.lobby.animation.AnimationPlayer;
+import dev.shiftsad.lobby.animation.Easing;
+import dev.shiftsad.lobby.animation.IntroTrack;
+import dev.shiftsad.lobby.shard.LobbyShard;
+import dev.shiftsad.lobby.shard.ShardManager;
+import dev.shiftsad.lobby.skin.MojangSkinSource;
+import dev.shiftsad.lobby.skin.SkinResolver;
+import dev.shiftsad.lobby.skin.SkinStore;
+import dev.shiftsad.lobby.transfer.PluginMessageBridge;
+import dev.shiftsad.lobby.transfer.ProxyBridge;
+import dev.shiftsad.lobby.transfer.TransferPacketBridge;
+import dev.shiftsad.lobby.transfer.TransferQueue;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.entity.Player;
+import net.minestom.server.entity.PlayerSkin;
+import net.minestom.server.event.EventFilter;
+import net.minestom.server.event.EventNode;
+import net.minestom.server.event.player.AsyncPlayerConfigurationEvent;
+import net.minestom.server.event.player.PlayerDisconnectEvent;
+import net.minestom.server.event.player.PlayerMoveEvent;
+import net.minestom.server.event.player.PlayerSpawnEvent;
+import net.minestom.server.event.trait.PlayerEvent;
+import net.minestom.server.instance.InstanceManager;
 import net.minestom.server.instance.SharedInstance;
 import dev.shiftsad.core.config.Value;
+import dev.shiftsad.core.config.constraints.NotEmpty;
+import dev.shiftsad.core.config.constraints.Range;
+import net.minestom.server.network.ConnectionManager;
+import net.minestom.server.timer.SchedulerManager;
+import net.minestom.server.timer.TaskSchedule;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.WeakHashMap;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
 
-@NoArgsConstructor
 public class PlayerMenu {
     @Value("menuConfiguration.npcPosition")
     private static Pos npcPosition;
@@ -17,13 +49,222 @@ public class PlayerMenu {
     @Value("menuConfiguration.portalPosition")
     private static Pos portalPosition;
     @Value("menuConfiguration.animationDuration")
+    @Range(min = 1)
     private static Integer animationDuration;
     @Value("menuConfiguration.npcDisplayname")
     private static String npcDisplayname;
     @Value("menuConfiguration.npcSkin")
     private static String npcSkin;
     @Value("menuConfiguration.targetServer")
+    @NotEmpty
     private static String targetServer;
+    @Value("menuConfiguration.pool.size")
+    @Range(min = 0)
+    private static Integer poolSize;
+    @Value("menuConfiguration.pool.maxSize")
+    @Range(min = 1)
+    private static Integer poolMaxSize;
+    @Value("menuConfiguration.pool.idleTimeout")
+    @Range(min = 0)
+    private static Long poolIdleTimeout;
+    @Value("menuConfiguration.pool.shareWhenExhausted")
+    private static Boolean shareWhenExhausted;
+    @Value("menuConfiguration.shards.count")
+    @Range(min = 0)
+    private static Integer shardCount;
+    @Value("menuConfiguration.shards.rebalanceTolerance")
+    @Range(min = 1)
+    private static Integer rebalanceTolerance;
+    @Value("menuConfiguration.shards.maxMovesPerRun")
+    @Range(min = 0)
+    private static Integer maxMovesPerRun;
+    @Value("menuConfiguration.skins.cacheSize")
+    @Range(min = 1)
+    private static Integer skinCacheSize;
+    @Value("menuConfiguration.skins.directory")
+    @NotEmpty
+    private static String skinCacheDirectory;
+    @Value("menuConfiguration.skins.ttl")
+    @Range(min = 0)
+    private static Long skinCacheTtl;
+    @Value("menuConfiguration.skins.negativeTtl")
+    @Range(min = 0)
+    private static Long skinNegativeTtl;
+    @Value("menuConfiguration.transfer.bridge")
+    @NotEmpty
+    private static String transferBridge;
+    @Value("menuConfiguration.transfer.address")
+    private static String transferAddress;
+    @Value("menuConfiguration.transfer.perTick")
+    @Range(min = 1)
+    private static Integer transfersPerTick;
+    @Value("menuConfiguration.transfer.capacity")
+    @Range(min = 1)
+    private static Integer transferCapacity;
+    @Value("menuConfiguration.transfer.portalRadius")
+    @Range(min = 0)
+    private static Double portalRadius;
+    @Value("menuConfiguration.transfer.queueAfterIntro")
+    private static Boolean queueAfterIntro;
 
-    private final WeakHashMap<Player, SharedInstance> players = new WeakHashMap<>();
+    private static final Duration LEAK_GRACE = Duration.ofSeconds(30);
+
+    private final Logger logger = LoggerFactory.getLogger(PlayerMenu.class);
+    private final ShardManager shards;
+    private final MenuSessionRegistry sessions;
+    private final SkinResolver skins;
+    private final TransferQueue transfers;
+    private final IntroTrack intro = new IntroTrack(Easing.EASE_IN_OUT);
+    private final AnimationPlayer animations = new AnimationPlayer();
+
+    public PlayerMenu(InstanceManager instanceManager) {
+        this.shards = new ShardManager(instanceManager, ShardManager.shardCount(shardCount),
+                poolSize, poolMaxSize, Duration.ofMillis(poolIdleTimeout), shareWhenExhausted);
+        this.sessions = new MenuSessionRegistry(shards);
+        this.skins = new SkinResolver(new MojangSkinSource(),
+                new SkinStore(Path.of(skinCacheDirectory), Duration.ofMillis(skinCacheTtl), Clock.systemUTC()),
+                Executors.newVirtualThreadPerTaskExecutor(), skinCacheSize, Duration.ofMillis(skinNegativeTtl), Clock.systemUTC());
+        this.transfers = new TransferQueue(proxyBridge(), targetServer, transfersPerTick, transferCapacity);
+    }
+
+    /**
+     * Pre-warms the menu instances of every shard, resolves the NPC skin ahead of the first session, starts the
+     * intro animations and the transfer queue, and schedules the eviction of idle instances and leaked sessions
+     * and the rebalancing of the shards.
+     */
+    public void start(SchedulerManager scheduler, ConnectionManager connections) {
+        shards.prewarm();
+        npcSkin().whenComplete((skin, error) -> {
+            if (error != null) logger.warn("Failed to resolve the NPC skin {}: {}", npcSkin, error.getMessage());
+            else if (skin == null) logger.warn("No player is named {}; the NPC keeps the default skin", npcSkin);
+        });
+        animations.start(scheduler);
+        transfers.start(scheduler);
+        scheduler.buildTask(() -> {
+                    sessions.sweep(playerId -> connections.getOnlinePlayerByUuid(playerId) != null, LEAK_GRACE);
+                    shards.evictIdle();
+                    rebalance(connections);
+                })
+                .repeat(TaskSchedule.seconds(10))
+                .schedule();
+    }
+
+    /**
+     * Moves players from crowded shards to the least loaded one. Players watching the intro stay
+     * where they are, since their camera lives in their current instance.
+     */
+    private void rebalance(ConnectionManager connections) {
+        sessions.rebalance(rebalanceTolerance, maxMovesPerRun,
+                playerId -> !animations.isPlaying(playerId) && connections.getOnlinePlayerByUuid(playerId) != null,
+                (playerId, instance) -> {
+                    Player player = connections.getOnlinePlayerByUuid(playerId);
+                    return player != null ? player.setInstance(instance) : CompletableFuture.completedFuture(null);
+                });
+
+        if (logger.isDebugEnabled()) {
+            for (LobbyShard shard : shards.shards()) {
+                logger.debug("Lobby shard {}: {} players, tick {} ms (average {}, max {} ms)", shard.index(), shard.players(),
+                        String.format("%.2f", shard.lastTickMillis()), String.format("%.2f", shard.averageTickMillis()),
+                        String.format("%.2f", shard.maxTickMillis()));
+            }
+            logger.debug("Menu instance leases: {} shared, {} rejected", shards.sharedLeases(), shards.rejectedLeases());
+        }
+    }
+
+    /**
+     * Returns the node that opens a menu session when a player configures (kicking the player when
+     * the lobby is full), plays the intro once the player spawns, queues the player for the target
+     * server on entering the portal, and releases the session as soon as the player disconnects.
+     */
+    public EventNode<PlayerEvent> eventNode() {
+        EventNode<PlayerEvent> node = EventNode.type("player-menu", EventFilter.PLAYER);
+        node.addListener(AsyncPlayerConfigurationEvent.class, event -> {
+            SharedInstance instance = open(event.getPlayer());
+            if (instance != null) {
+                event.setSpawningInstance(instance);
+            } else {
+                event.getPlayer().kick("The lobby is full, please try again in a moment.");
+            }
+        });
+        node.addListener(PlayerSpawnEvent.class, event -> {
+            if (event.isFirstSpawn()) playIntro(event.getPlayer());
+        });
+        node.addListener(PlayerMoveEvent.class, event -> {
+            if (event.getNewPosition().distanceSquared(portalPosition) <= portalRadius * portalRadius) {
+                transfers.enqueue(event.getPlayer());
+            }
+        });
+        node.addListener(PlayerDisconnectEvent.class, event -> close(event.getPlayer()));
+        return node;
+    }
+
+    /**
+     * Plays the intro camera track to the player. Once it ends the player is left in front of the NPC,
+     * or in the portal and queued for the target server when {@code queueAfterIntro} is set.
+     * The track is shared by every session of the same configuration.
+     */
+    public void playIntro(Player player) {
+        animations.play(player, intro.track(cameraPosition, npcPosition, portalPosition, animationDuration), () -> {
+            if (queueAfterIntro) {
+                player.teleport(portalPosition);
+                transfers.enqueue(player);
+            } else {
+                player.teleport(npcPosition);
+            }
+        });
+    }
+
+    /**
+     * Returns the skin of the menu NPC. After the first lookup it completes immediately from memory,
+     * and a restart reads it from the disk cache instead of asking Mojang again.
+     */
+    public CompletableFuture<PlayerSkin> npcSkin() {
+        return skins.resolve(npcSkin);
+    }
+
+    /**
+     * Opens a menu session for the player.
+     *
+     * @return the instance the player should spawn in, or null if every menu instance is taken
+     */
+    public @Nullable SharedInstance open(Player player) {
+        return sessions.open(player.getUuid());
+    }
+
+    /**
+     * Closes the player's menu session, returning its instance to the pool of its shard.
+     */
+    public void close(Player player) {
+        animations.stop(player.getUuid());
+        transfers.cancel(player.getUuid());
+        sessions.close(player.getUuid());
+    }
+
+    public ShardManager shards() {
+        return shards;
+    }
+
+    public MenuSessionRegistry sessions() {
+        return sessions;
+    }
+
+    public AnimationPlayer animations() {
+        return animations;
+    }
+
+    public SkinResolver skins() {
+        return skins;
+    }
+
+    public TransferQueue transfers() {
+        return transfers;
+    }
+
+    private static ProxyBridge proxyBridge() {
+        return switch (transferBridge) {
+            case "plugin-message" -> new PluginMessageBridge();
+            case "transfer-packet" -> new TransferPacketBridge(Map.of(targetServer, transferAddress));
+            default -> throw new IllegalArgumentException("Unknown transfer bridge " + transferBridge + ", expected plugin-message or transfer-packet");
+        };
+    }
 }
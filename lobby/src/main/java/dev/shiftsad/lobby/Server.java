@@ -1,8 +1,28 @@
 package dev.shiftsad.lobby;
 
+import dev.shiftsad.core.config.ConfigurationInjector;
+import dev.shiftsad.core.config.ConfigurationLoader;
+import net.minestom.server.MinecraftServer;
+
+import java.io.IOException;
+
 public class Server {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        MinecraftServer server = MinecraftServer.init();
+
+        ConfigurationLoader loader = ConfigurationLoader.builder("configuration.conf")
+                .profile(System.getenv("LOBBY_PROFILE"))
+                .environmentOverrides("LOBBY_")
+                .systemPropertyOverrides("lobby.")
+                .compiledCache(true)
+                .build();
+        new ConfigurationInjector(loader).configurate("dev.shiftsad.lobby");
+
+        PlayerMenu menu = new PlayerMenu(MinecraftServer.getInstanceManager());
+        menu.start(MinecraftServer.getSchedulerManager(), MinecraftServer.getConnectionManager());
+        MinecraftServer.getGlobalEventHandler().addChild(menu.eventNode());
 
+        server.start("0.0.0.0", 25565);
     }
 }
@@ -0,0 +1,122 @@
+package dev.shiftsad.lobby.animation;
+
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.entity.Player;
+import net.minestom.server.timer.SchedulerManager;
+import net.minestom.server.timer.Task;
+import net.minestom.server.timer.TaskSchedule;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Plays {@link AnimationTrack}s to players through a camera entity they spectate.
+ * Every tick advances each playback by one frame, which is an index into the shared track.
+ * Playbacks can be started and stopped from any thread; frames are advanced on the scheduler thread.
+ */
+public class AnimationPlayer {
+
+    private final Logger logger = LoggerFactory.getLogger(AnimationPlayer.class);
+    private final Map<UUID, Playback> playbacks = new ConcurrentHashMap<>();
+
+    private static final class Playback {
+        final Player viewer;
+        final Entity camera;
+        final AnimationTrack track;
+        final Runnable onFinish;
+        int frame;
+
+        Playback(Player viewer, Entity camera, AnimationTrack track, Runnable onFinish) {
+            this.viewer = viewer;
+            this.camera = camera;
+            this.track = track;
+            this.onFinish = onFinish;
+        }
+    }
+
+    /**
+     * Advances every playback once per tick.
+     *
+     * @return the repeating task, which stops the animations when cancelled
+     */
+    public @NotNull Task start(@NotNull SchedulerManager scheduler) {
+        return scheduler.buildTask(this::tick)
+                .repeat(TaskSchedule.tick(1))
+                .schedule();
+    }
+
+    /**
+     * Starts playing the track to the viewer from its first frame, in the viewer's instance.
+     * An animation the viewer was already watching is stopped without running its callback.
+     *
+     * @param onFinish run on the scheduler thread once the last frame was shown
+     */
+    public void play(@NotNull Player viewer, @NotNull AnimationTrack track, @NotNull Runnable onFinish) {
+        Entity camera = new Entity(EntityType.ARMOR_STAND);
+        camera.setInvisible(true);
+        camera.setNoGravity(true);
+
+        Playback playback = new Playback(viewer, camera, track, onFinish);
+        Playback previous = playbacks.put(viewer.getUuid(), playback);
+        if (previous != null) {
+            release(previous);
+        }
+        camera.setInstance(viewer.getInstance(), track.position(0)).thenRun(() -> viewer.spectate(camera));
+    }
+
+    /**
+     * Stops the viewer's animation without running its callback, for example when the viewer disconnects.
+     *
+     * @return whether the viewer was watching an animation
+     */
+    public boolean stop(@NotNull UUID viewerId) {
+        Playback playback = playbacks.remove(viewerId);
+        if (playback == null) return false;
+
+        release(playback);
+        return true;
+    }
+
+    /**
+     * Shows the next frame of every playback and finishes those that showed their last one.
+     */
+    public void tick() {
+        for (Playback playback : playbacks.values()) {
+            int frame = ++playback.frame;
+            if (frame < playback.track.length()) {
+                playback.camera.teleport(playback.track.position(frame));
+                continue;
+            }
+
+            if (playbacks.remove(playback.viewer.getUuid(), playback)) {
+                release(playback);
+                try {
+                    playback.onFinish.run();
+                } catch (RuntimeException e) {
+                    logger.warn("Animation callback for {} failed: {}", playback.viewer.getUsername(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void release(Playback playback) {
+        playback.viewer.stopSpectating();
+        playback.camera.remove();
+    }
+
+    /**
+     * Returns whether the viewer is watching an animation.
+     */
+    public boolean isPlaying(@NotNull UUID viewerId) {
+        return playbacks.containsKey(viewerId);
+    }
+
+    public int activePlaybacks() {
+        return playbacks.size();
+    }
+}
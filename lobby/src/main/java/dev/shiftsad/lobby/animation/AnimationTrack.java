@@ -0,0 +1,95 @@
+package dev.shiftsad.lobby.animation;
+
+import net.minestom.server.coordinate.Pos;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * A keyframe animation sampled once for every tick it lasts.
+ * The {@link Pos} of every tick is computed up front, so playing the track is an index lookup
+ * that neither interpolates nor allocates.
+ * A track is immutable and meant to be shared by every viewer playing it.
+ */
+public final class AnimationTrack {
+
+    private final Pos[] positions;
+
+    private AnimationTrack(Pos[] positions) {
+        this.positions = positions;
+    }
+
+    /**
+     * Samples the keyframes for the given number of ticks.
+     * Positions are interpolated linearly between keyframes after easing the progress, and yaw turns
+     * the short way around. Before the first and after the last keyframe the track holds still.
+     *
+     * @param keyframes the keyframes, ordered by time
+     * @param ticks     how many ticks the track lasts
+     * @throws IllegalArgumentException if there are no keyframes, they are out of order, or ticks is not positive
+     */
+    public static @NotNull AnimationTrack compile(@NotNull List<Keyframe> keyframes, int ticks, @NotNull Easing easing) {
+        if (keyframes.isEmpty()) {
+            throw new IllegalArgumentException("A track needs at least one keyframe");
+        }
+        if (ticks <= 0) {
+            throw new IllegalArgumentException("A track must last at least one tick: " + ticks);
+        }
+        for (int i = 1; i < keyframes.size(); i++) {
+            if (keyframes.get(i).at() < keyframes.get(i - 1).at()) {
+                throw new IllegalArgumentException("Keyframes must be ordered by time");
+            }
+        }
+
+        Pos[] positions = new Pos[ticks];
+        int segment = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            double time = ticks == 1 ? 1 : tick / (double) (ticks - 1);
+            // Time only grows, so the current segment is found by walking forward.
+            while (segment < keyframes.size() - 1 && keyframes.get(segment + 1).at() <= time) {
+                segment++;
+            }
+
+            Keyframe from = keyframes.get(segment);
+            Keyframe to = segment + 1 < keyframes.size() ? keyframes.get(segment + 1) : from;
+            double span = to.at() - from.at();
+            double progress = span <= 0 ? 0 : easing.apply(Math.clamp((time - from.at()) / span, 0, 1));
+
+            Pos a = from.position();
+            Pos b = to.position();
+            positions[tick] = new Pos(
+                    a.x() + (b.x() - a.x()) * progress,
+                    a.y() + (b.y() - a.y()) * progress,
+                    a.z() + (b.z() - a.z()) * progress,
+                    (float) (a.yaw() + shortestTurn(a.yaw(), b.yaw()) * progress),
+                    (float) (a.pitch() + (b.pitch() - a.pitch()) * progress));
+        }
+        return new AnimationTrack(positions);
+    }
+
+    /**
+     * Returns how many ticks the track lasts.
+     */
+    public int length() {
+        return positions.length;
+    }
+
+    /**
+     * Returns the position at the given tick; ticks past the end hold the last position.
+     */
+    public @NotNull Pos position(int tick) {
+        return positions[index(tick)];
+    }
+
+    private int index(int tick) {
+        if (tick < 0) throw new IndexOutOfBoundsException("Negative tick: " + tick);
+        return Math.min(tick, positions.length - 1);
+    }
+
+    private static double shortestTurn(float from, float to) {
+        double turn = (to - from) % 360;
+        if (turn > 180) turn -= 360;
+        if (turn < -180) turn += 360;
+        return turn;
+    }
+}
@@ -0,0 +1,28 @@
+package dev.shiftsad.lobby.animation;
+
+/**
+ * How the progress between two keyframes is spread over the ticks between them.
+ */
+public enum Easing {
+    LINEAR {
+        @Override
+        public double apply(double progress) {
+            return progress;
+        }
+    },
+    /**
+     * Starts and ends slowly, so the camera does not jerk at keyframes.
+     */
+    EASE_IN_OUT {
+        @Override
+        public double apply(double progress) {
+            return progress * progress * (3 - 2 * progress);
+        }
+    };
+
+    /**
+     * @param progress the linear progress between two keyframes, from 0 to 1
+     * @return the eased progress, from 0 to 1
+     */
+    public abstract double apply(double progress);
+}
@@ -0,0 +1,58 @@
+package dev.shiftsad.lobby.animation;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Pos;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * The camera track of the menu intro: from the camera position, past the NPC, to the portal.
+ * The track is compiled the first time it is requested for a configuration and reused until
+ * the configured positions or duration change, so every session plays the same track.
+ */
+public final class IntroTrack {
+
+    private record Compiled(Pos camera, Pos npc, Pos portal, int durationMillis, AnimationTrack track) {
+        boolean matches(Pos camera, Pos npc, Pos portal, int durationMillis) {
+            return this.durationMillis == durationMillis
+                    && this.camera.equals(camera)
+                    && this.npc.equals(npc)
+                    && this.portal.equals(portal);
+        }
+    }
+
+    private final Easing easing;
+    private volatile Compiled compiled;
+
+    public IntroTrack(@NotNull Easing easing) {
+        this.easing = easing;
+    }
+
+    /**
+     * Returns the track for the given configuration, compiling it if the configuration changed.
+     *
+     * @param durationMillis how long the intro lasts; it is rounded down to whole ticks
+     */
+    public @NotNull AnimationTrack track(@NotNull Pos camera, @NotNull Pos npc, @NotNull Pos portal, int durationMillis) {
+        Compiled current = compiled;
+        if (current != null && current.matches(camera, npc, portal, durationMillis)) {
+            return current.track;
+        }
+
+        synchronized (this) {
+            current = compiled;
+            if (current == null || !current.matches(camera, npc, portal, durationMillis)) {
+                int ticks = Math.max(1, durationMillis / MinecraftServer.TICK_MS);
+                AnimationTrack track = AnimationTrack.compile(List.of(
+                        new Keyframe(0, camera),
+                        new Keyframe(0.5, npc),
+                        new Keyframe(1, portal)
+                ), ticks, easing);
+                current = new Compiled(camera, npc, portal, durationMillis, track);
+                compiled = current;
+            }
+            return current.track;
+        }
+    }
+}
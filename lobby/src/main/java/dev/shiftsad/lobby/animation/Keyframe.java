@@ -0,0 +1,19 @@
+package dev.shiftsad.lobby.animation;
+
+import net.minestom.server.coordinate.Pos;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A position an {@link AnimationTrack} passes through.
+ *
+ * @param at       when the position is reached, from 0 (the first tick) to 1 (the last tick)
+ * @param position the position and view at that point
+ */
+public record Keyframe(double at, @NotNull Pos position) {
+
+    public Keyframe {
+        if (!(at >= 0 && at <= 1)) {
+            throw new IllegalArgumentException("Keyframe time must be between 0 and 1: " + at);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package dev.shiftsad.lobby.shard;
+
+import dev.shiftsad.lobby.MenuInstancePool;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.InstanceManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One copy of the lobby scene, with the pool of menu instances leased from it.
+ * Minestom ticks every instance on its own thread, so each shard adds a core the lobby can use.
+ * <p>
+ * The tick time of a shard is the time its menu instances spent ticking during one server tick.
+ * A tick is recorded once the next one starts, so the figures trail the server by one tick.
+ */
+public final class LobbyShard {
+
+    /**
+     * The weight of the latest tick in {@link #averageTickMillis()}.
+     */
+    private static final double SMOOTHING = 0.05;
+
+    private final int index;
+    private final InstanceContainer scene;
+    private final MenuInstancePool pool;
+    private final AtomicInteger players = new AtomicInteger();
+
+    // Guarded by this, since the instances of a shard may be ticked on different threads.
+    private long currentTick;
+    private long currentTickNanos;
+
+    private volatile long ticks;
+    private volatile long lastTickNanos;
+    private volatile long maxTickNanos;
+    private volatile double averageTickNanos;
+
+    LobbyShard(int index, @NotNull InstanceManager instanceManager, @NotNull InstanceContainer scene,
+               int poolSize, int poolMaxSize, @NotNull Duration idleTimeout, boolean shareWhenExhausted) {
+        this.index = index;
+        this.scene = scene;
+        this.pool = new MenuInstancePool(instanceManager, () -> instanceManager.registerSharedInstance(new ShardInstance(scene, this)),
+                poolSize, poolMaxSize, idleTimeout, shareWhenExhausted);
+    }
+
+    /**
+     * Adds the work of one menu instance to the server tick starting at {@code time}, recording the
+     * previous tick when this is the first instance of a new one. Safe to call from several tick threads at once.
+     */
+    synchronized void recordWork(long time, long nanos) {
+        if (time != currentTick) {
+            if (currentTick != 0) recordTick(currentTickNanos);
+            currentTick = time;
+            currentTickNanos = 0;
+        }
+        currentTickNanos += nanos;
+    }
+
+    private void recordTick(long nanos) {
+        averageTickNanos = ticks == 0 ? nanos : averageTickNanos + SMOOTHING * (nanos - averageTickNanos);
+        lastTickNanos = nanos;
+        if (nanos > maxTickNanos) maxTickNanos = nanos;
+        ticks++;
+    }
+
+    void joined() {
+        players.incrementAndGet();
+    }
+
+    void left() {
+        players.decrementAndGet();
+    }
+
+    public int index() {
+        return index;
+    }
+
+    public @NotNull InstanceContainer scene() {
+        return scene;
+    }
+
+    public @NotNull MenuInstancePool pool() {
+        return pool;
+    }
+
+    /**
+     * Returns how many players hold a menu session on this shard.
+     */
+    public int players() {
+        return players.get();
+    }
+
+    public long ticks() {
+        return ticks;
+    }
+
+    /**
+     * Returns the time the menu instances of this shard spent on the latest recorded tick.
+     */
+    public double lastTickMillis() {
+        return millis(lastTickNanos);
+    }
+
+    /**
+     * Returns the exponentially smoothed tick time, which follows sustained load rather than single spikes.
+     */
+    public double averageTickMillis() {
+        return millis(averageTickNanos);
+    }
+
+    public double maxTickMillis() {
+        return millis(maxTickNanos);
+    }
+
+    private static double millis(double nanos) {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
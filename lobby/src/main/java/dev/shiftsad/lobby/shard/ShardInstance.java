@@ -0,0 +1,30 @@
+package dev.shiftsad.lobby.shard;
+
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.SharedInstance;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * A menu instance that reports how long each of its ticks takes to the shard it belongs to.
+ */
+final class ShardInstance extends SharedInstance {
+
+    private final LobbyShard shard;
+
+    ShardInstance(@NotNull InstanceContainer scene, @NotNull LobbyShard shard) {
+        super(UUID.randomUUID(), scene);
+        this.shard = shard;
+    }
+
+    @Override
+    public void tick(long time) {
+        long start = System.nanoTime();
+        try {
+            super.tick(time);
+        } finally {
+            shard.recordWork(time, System.nanoTime() - start);
+        }
+    }
+}
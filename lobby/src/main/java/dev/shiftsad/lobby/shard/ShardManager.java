@@ -0,0 +1,190 @@
+package dev.shiftsad.lobby.shard;
+
+import dev.shiftsad.lobby.MenuInstancePool;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.InstanceManager;
+import net.minestom.server.instance.SharedInstance;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spreads the lobby over several identical {@link LobbyShard}s, each with its own scene and
+ * {@link MenuInstancePool}, so that the players are ticked on as many threads as there are shards.
+ * <p>
+ * New sessions go to the shard with the fewest players. The pool sizes are totals split evenly
+ * across the shards, so adding shards does not multiply the memory kept warm.
+ * Each pool keeps its own lock, so leases on different shards do not contend.
+ * When the pool of the least loaded shard is exhausted, the other shards are tried before the lease is rejected.
+ */
+public final class ShardManager {
+
+    private final Logger logger = LoggerFactory.getLogger(ShardManager.class);
+    private final List<LobbyShard> shards;
+    private final Map<Instance, LobbyShard> byScene = new IdentityHashMap<>();
+
+    /**
+     * @param count       the number of shards
+     * @param poolSize    the number of menu instances pre-warmed across all shards
+     * @param poolMaxSize the maximum number of menu instances across all shards
+     * @param shareWhenExhausted whether players share a menu instance once a pool is exhausted, see {@link MenuInstancePool}
+     */
+    public ShardManager(@NotNull InstanceManager instanceManager, int count, int poolSize, int poolMaxSize,
+                        @NotNull Duration idleTimeout, boolean shareWhenExhausted) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1: " + count);
+        }
+
+        int shardPoolSize = Math.ceilDiv(poolSize, count);
+        int shardPoolMaxSize = Math.max(shardPoolSize, Math.ceilDiv(poolMaxSize, count));
+        List<LobbyShard> shards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            InstanceContainer scene = instanceManager.createInstanceContainer();
+            LobbyShard shard = new LobbyShard(i, instanceManager, scene, shardPoolSize, shardPoolMaxSize, idleTimeout, shareWhenExhausted);
+            shards.add(shard);
+            byScene.put(scene, shard);
+        }
+        this.shards = List.copyOf(shards);
+    }
+
+    /**
+     * Returns the configured shard count, or one shard per available core when it is not positive.
+     */
+    public static int shardCount(int configured) {
+        return configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Pre-warms the menu instances of every shard.
+     */
+    public void prewarm() {
+        for (LobbyShard shard : shards) {
+            shard.pool().prewarm();
+        }
+        logger.info("Started {} lobby shards", shards.size());
+    }
+
+    /**
+     * Evicts the idle menu instances of every shard.
+     *
+     * @return the number of evicted instances
+     */
+    public int evictIdle() {
+        int evicted = 0;
+        for (LobbyShard shard : shards) {
+            evicted += shard.pool().evictIdle();
+        }
+        return evicted;
+    }
+
+    /**
+     * Leases a menu instance for one player on the shard with the fewest players,
+     * or on any other shard if its pool is exhausted.
+     * Must be paired with {@link #release(SharedInstance)}.
+     *
+     * @return the leased instance, or null if the pools of every shard are exhausted
+     */
+    public @Nullable SharedInstance lease() {
+        LobbyShard least = leastLoaded();
+        SharedInstance instance = lease(least);
+        for (int i = 0; instance == null && i < shards.size(); i++) {
+            LobbyShard shard = shards.get(i);
+            if (shard != least) instance = lease(shard);
+        }
+        return instance;
+    }
+
+    /**
+     * Leases a menu instance for one player on the given shard.
+     * Must be paired with {@link #release(SharedInstance)}.
+     *
+     * @return the leased instance, or null if the pool of the shard is exhausted
+     */
+    public @Nullable SharedInstance lease(@NotNull LobbyShard shard) {
+        SharedInstance instance = shard.pool().lease();
+        if (instance != null) shard.joined();
+        return instance;
+    }
+
+    /**
+     * Returns a leased instance to the pool of its shard.
+     */
+    public void release(@NotNull SharedInstance instance) {
+        LobbyShard shard = shardOf(instance);
+        if (shard == null) {
+            logger.warn("Released a menu instance that does not belong to a lobby shard");
+            return;
+        }
+        shard.pool().release(instance);
+        shard.left();
+    }
+
+    /**
+     * Returns the shard the instance was leased from, or null if it belongs to none.
+     */
+    public @Nullable LobbyShard shardOf(@NotNull SharedInstance instance) {
+        return byScene.get(instance.getInstanceContainer());
+    }
+
+    public @NotNull LobbyShard leastLoaded() {
+        LobbyShard least = shards.getFirst();
+        for (LobbyShard shard : shards) {
+            if (shard.players() < least.players()) least = shard;
+        }
+        return least;
+    }
+
+    public @NotNull LobbyShard mostLoaded() {
+        LobbyShard most = shards.getFirst();
+        for (LobbyShard shard : shards) {
+            if (shard.players() > most.players()) most = shard;
+        }
+        return most;
+    }
+
+    public @NotNull List<LobbyShard> shards() {
+        return shards;
+    }
+
+    /**
+     * Returns how many leases were handed a shared instance on any shard.
+     */
+    public long sharedLeases() {
+        long shared = 0;
+        for (LobbyShard shard : shards) {
+            shared += shard.pool().sharedLeases();
+        }
+        return shared;
+    }
+
+    /**
+     * Returns how many leases were rejected on any shard. A lease that another shard
+     * could still serve is counted as well.
+     */
+    public long rejectedLeases() {
+        long rejected = 0;
+        for (LobbyShard shard : shards) {
+            rejected += shard.pool().rejectedLeases();
+        }
+        return rejected;
+    }
+
+    /**
+     * Returns how many players hold a menu session on any shard.
+     */
+    public int players() {
+        int players = 0;
+        for (LobbyShard shard : shards) {
+            players += shard.players();
+        }
+        return players;
+    }
+}
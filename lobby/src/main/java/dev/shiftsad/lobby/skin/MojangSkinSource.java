@@ -0,0 +1,17 @@
+package dev.shiftsad.lobby.skin;
+
+import net.minestom.server.entity.PlayerSkin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Fetches skins from the Mojang session servers through {@link PlayerSkin#fromUsername(String)},
+ * which resolves the username to a UUID and then the UUID to its signed textures.
+ */
+public final class MojangSkinSource implements SkinSource {
+
+    @Override
+    public @Nullable PlayerSkin fetch(@NotNull String username) {
+        return PlayerSkin.fromUsername(username);
+    }
+}
@@ -0,0 +1,249 @@
+package dev.shiftsad.lobby.skin;
+
+import net.minestom.server.entity.PlayerSkin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resolves usernames to signed skins through three levels:
+ * <ol>
+ *     <li>an in-memory LRU of the most recently used skins;</li>
+ *     <li>an optional {@link SkinStore} on disk, whose entries survive restarts until their TTL expires;</li>
+ *     <li>the {@link SkinSource}, asked only when neither cache has a fresh skin.</li>
+ * </ol>
+ * Concurrent lookups of the same username share one future, so a login storm costs one upstream
+ * request per name. Usernames are case-insensitive. When the upstream fails, a stale disk entry is
+ * served instead of failing the lookup. Usernames that belong to no player are remembered in memory
+ * for a short negative TTL, so repeated lookups of a wrong name do not reach the upstream each time.
+ */
+public final class SkinResolver {
+
+    private final Logger logger = LoggerFactory.getLogger(SkinResolver.class);
+    private final SkinSource source;
+    private final @Nullable SkinStore store;
+    private final Executor executor;
+    private final long negativeTtlMillis;
+    private final Clock clock;
+    private final Map<String, Cached> memory;
+    private final ConcurrentHashMap<String, CompletableFuture<PlayerSkin>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder sharedLookups = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder fetches = new LongAdder();
+
+    /**
+     * An in-memory entry: a skin, or the time until which the username is known to belong to no player.
+     */
+    private record Cached(@Nullable PlayerSkin skin, long missingUntil) {}
+
+    /**
+     * @param capacity    how many skins and unknown usernames the in-memory cache holds
+     * @param store       the disk cache, or null to keep skins in memory only
+     * @param executor    runs the disk reads and upstream lookups
+     * @param negativeTtl how long a username that belongs to no player is answered from memory
+     */
+    public SkinResolver(@NotNull SkinSource source, @Nullable SkinStore store, @NotNull Executor executor, int capacity,
+                        @NotNull Duration negativeTtl, @NotNull Clock clock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Skin cache capacity must be at least 1: " + capacity);
+        }
+        if (negativeTtl.isNegative()) {
+            throw new IllegalArgumentException("Negative skin cache TTL must not be negative: " + negativeTtl);
+        }
+        this.source = source;
+        this.store = store;
+        this.executor = executor;
+        this.negativeTtlMillis = negativeTtl.toMillis();
+        this.clock = clock;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the skin of the player with the given username.
+     * The future completes with null if no player has that username, and exceptionally if the
+     * upstream failed and no stored skin could stand in.
+     */
+    public @NotNull CompletableFuture<PlayerSkin> resolve(@NotNull String username) {
+        String key = username.toLowerCase(Locale.ROOT);
+        Cached cached = memoryEntry(key);
+        if (cached != null) {
+            if (cached.skin() != null) {
+                memoryHits.increment();
+            } else {
+                negativeHits.increment();
+            }
+            return CompletableFuture.completedFuture(cached.skin());
+        }
+
+        CompletableFuture<PlayerSkin> created = new CompletableFuture<>();
+        CompletableFuture<PlayerSkin> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            sharedLookups.increment();
+            return existing;
+        }
+
+        try {
+            executor.execute(() -> load(key, created));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    /**
+     * Returns the skin of the username if it is in memory, without blocking or starting a lookup.
+     */
+    public @Nullable PlayerSkin cached(@NotNull String username) {
+        Cached cached = memoryEntry(username.toLowerCase(Locale.ROOT));
+        return cached == null ? null : cached.skin();
+    }
+
+    /**
+     * Returns the in-memory entry of the lowercase username, dropping an expired negative entry.
+     */
+    private @Nullable Cached memoryEntry(String key) {
+        synchronized (memory) {
+            Cached cached = memory.get(key);
+            if (cached != null && cached.skin() == null && clock.millis() >= cached.missingUntil()) {
+                memory.remove(key);
+                return null;
+            }
+            return cached;
+        }
+    }
+
+    /**
+     * Forgets the skin of the username, in memory and on disk, so the next lookup asks the upstream.
+     * This also forgets that the username belonged to no player.
+     */
+    public void invalidate(@NotNull String username) {
+        String key = username.toLowerCase(Locale.ROOT);
+        synchronized (memory) {
+            memory.remove(key);
+        }
+        if (store != null) {
+            try {
+                store.delete(key);
+            } catch (Exception e) {
+                logger.warn("Failed to delete the stored skin of {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    private void load(String key, CompletableFuture<PlayerSkin> future) {
+        try {
+            PlayerSkin skin = lookup(key);
+            if (skin != null || negativeTtlMillis > 0) {
+                Cached cached = skin != null ? new Cached(skin, 0) : new Cached(null, clock.millis() + negativeTtlMillis);
+                synchronized (memory) {
+                    memory.put(key, cached);
+                }
+            }
+            // Remembered before the future leaves the map, so a lookup never misses both.
+            inFlight.remove(key, future);
+            future.complete(skin);
+        } catch (Throwable t) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(t);
+        }
+    }
+
+    private @Nullable PlayerSkin lookup(String key) throws Exception {
+        SkinStore.Entry stored = null;
+        if (store != null) {
+            try {
+                stored = store.read(key);
+            } catch (Exception e) {
+                logger.warn("Failed to read the stored skin of {}: {}", key, e.getMessage());
+            }
+            if (stored != null && !stored.stale()) {
+                diskHits.increment();
+                return stored.skin();
+            }
+        }
+
+        fetches.increment();
+        PlayerSkin skin;
+        try {
+            skin = source.fetch(key);
+        } catch (Exception e) {
+            if (stored == null) throw e;
+            logger.warn("Failed to fetch the skin of {}, using the stored one: {}", key, e.getMessage());
+            return stored.skin();
+        }
+
+        if (skin != null && store != null) {
+            try {
+                store.write(key, skin);
+            } catch (Exception e) {
+                logger.warn("Failed to store the skin of {}: {}", key, e.getMessage());
+            }
+        }
+        return skin;
+    }
+
+    /**
+     * Returns how many skins and unknown usernames are in memory.
+     */
+    public int size() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    /**
+     * Returns how many lookups were answered from memory.
+     */
+    public long memoryHits() {
+        return memoryHits.sum();
+    }
+
+    /**
+     * Returns how many lookups were answered from memory with the username belonging to no player.
+     */
+    public long negativeHits() {
+        return negativeHits.sum();
+    }
+
+    /**
+     * Returns how many lookups joined a lookup of the same username already in flight.
+     */
+    public long sharedLookups() {
+        return sharedLookups.sum();
+    }
+
+    /**
+     * Returns how many lookups were answered by a fresh skin on disk.
+     */
+    public long diskHits() {
+        return diskHits.sum();
+    }
+
+    /**
+     * Returns how many lookups asked the upstream.
+     */
+    public long fetches() {
+        return fetches.sum();
+    }
+}
@@ -0,0 +1,23 @@
+package dev.shiftsad.lobby.skin;
+
+import net.minestom.server.entity.PlayerSkin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+
+/**
+ * The upstream a {@link SkinResolver} asks for skins it has not cached.
+ * Lookups may block; the resolver runs them off the calling thread.
+ */
+@FunctionalInterface
+public interface SkinSource {
+
+    /**
+     * Fetches the signed skin of the player with the given username.
+     *
+     * @return the skin, or null if no player has that username
+     * @throws IOException if the upstream cannot be reached
+     */
+    @Nullable PlayerSkin fetch(@NotNull String username) throws IOException;
+}
@@ -0,0 +1,105 @@
+package dev.shiftsad.lobby.skin;
+
+import net.minestom.server.entity.PlayerSkin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * The on-disk skin cache: one {@code <username>.skin} file per player holding the time the skin was
+ * fetched, its textures and its signature, one per line.
+ * Entries older than the TTL are still returned, marked stale, so the resolver can fall back to
+ * them when the upstream is unavailable.
+ */
+public final class SkinStore {
+
+    /**
+     * The usernames Mojang allows; anything else is never turned into a file name.
+     */
+    private static final Pattern USERNAME = Pattern.compile("[a-z0-9_]{1,16}");
+
+    private final Path directory;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    public SkinStore(@NotNull Path directory, @NotNull Duration ttl, @NotNull Clock clock) {
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("Skin cache TTL must not be negative: " + ttl);
+        }
+        this.directory = directory;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * A skin read from disk and whether it outlived the TTL.
+     */
+    public record Entry(@NotNull PlayerSkin skin, long fetchedAt, boolean stale) {}
+
+    /**
+     * Reads the stored skin of the lowercase username.
+     *
+     * @return the entry, or null if none is stored or the file is unreadable
+     * @throws IOException if the file exists but cannot be read
+     */
+    public @Nullable Entry read(@NotNull String username) throws IOException {
+        Path file = file(username);
+        if (file == null || !Files.exists(file)) return null;
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        if (lines.size() < 3) return null;
+
+        long fetchedAt;
+        try {
+            fetchedAt = Long.parseLong(lines.get(0));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        boolean stale = clock.millis() - fetchedAt > ttlMillis;
+        return new Entry(new PlayerSkin(lines.get(1), lines.get(2)), fetchedAt, stale);
+    }
+
+    /**
+     * Stores the skin of the lowercase username, stamped with the current time.
+     * The file is written next to its destination and moved into place, so readers never see a partial entry.
+     */
+    public void write(@NotNull String username, @NotNull PlayerSkin skin) throws IOException {
+        Path file = file(username);
+        if (file == null) return;
+
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, username, ".tmp");
+        try {
+            Files.writeString(temporary, clock.millis() + "\n" + skin.textures() + "\n" + skin.signature() + "\n", StandardCharsets.UTF_8);
+            try {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Deletes the stored skin of the lowercase username.
+     */
+    public void delete(@NotNull String username) throws IOException {
+        Path file = file(username);
+        if (file != null) Files.deleteIfExists(file);
+    }
+
+    private @Nullable Path file(String username) {
+        return USERNAME.matcher(username).matches() ? directory.resolve(username + ".skin") : null;
+    }
+}
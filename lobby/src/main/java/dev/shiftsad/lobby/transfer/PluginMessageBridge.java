@@ -0,0 +1,39 @@
+package dev.shiftsad.lobby.transfer;
+
+import net.minestom.server.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Transfers players through a BungeeCord-compatible proxy (BungeeCord, Velocity with its
+ * BungeeCord channel enabled) with the {@code Connect} plugin message.
+ * The message only depends on the target, so it is encoded once per server and shared by every transfer.
+ */
+public final class PluginMessageBridge implements ProxyBridge {
+
+    private static final String CHANNEL = "BungeeCord";
+
+    private final Map<String, byte[]> messages = new ConcurrentHashMap<>();
+
+    @Override
+    public void transfer(@NotNull Player player, @NotNull String server) {
+        player.sendPluginMessage(CHANNEL, messages.computeIfAbsent(server, PluginMessageBridge::connect));
+    }
+
+    private static byte[] connect(String server) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF("Connect");
+            out.writeUTF(server);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,18 @@
+package dev.shiftsad.lobby.transfer;
+
+import net.minestom.server.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Tells the proxy, or the client, to move a player to another server.
+ * Called on the tick thread by {@link TransferQueue}; implementations must only write to the
+ * player's connection and never block.
+ */
+@FunctionalInterface
+public interface ProxyBridge {
+
+    /**
+     * Sends the player to the server with the given name.
+     */
+    void transfer(@NotNull Player player, @NotNull String server);
+}
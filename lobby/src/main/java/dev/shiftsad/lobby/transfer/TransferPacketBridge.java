@@ -0,0 +1,55 @@
+package dev.shiftsad.lobby.transfer;
+
+import net.minestom.server.entity.Player;
+import net.minestom.server.network.packet.server.common.TransferPacket;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Transfers players without a proxy, with the transfer packet that makes the client connect to
+ * another address. The packet of each server is created once and sent to every player going there.
+ */
+public final class TransferPacketBridge implements ProxyBridge {
+
+    private final Map<String, TransferPacket> packets = new HashMap<>();
+
+    /**
+     * @param servers the address of every server players can be sent to, as {@code host:port}
+     * @throws IllegalArgumentException if an address has no valid port
+     */
+    public TransferPacketBridge(@NotNull Map<String, String> servers) {
+        for (Map.Entry<String, String> server : servers.entrySet()) {
+            packets.put(server.getKey(), packet(server.getValue()));
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the server has no configured address
+     */
+    @Override
+    public void transfer(@NotNull Player player, @NotNull String server) {
+        TransferPacket packet = packets.get(server);
+        if (packet == null) {
+            throw new IllegalArgumentException("No address configured for server " + server);
+        }
+        player.sendPacket(packet);
+    }
+
+    private static TransferPacket packet(String address) {
+        int colon = address.lastIndexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("Server address must be host:port: " + address);
+        }
+        try {
+            int port = Integer.parseInt(address.substring(colon + 1));
+            if (port < 1 || port > 65535) {
+                throw new IllegalArgumentException("Invalid port in server address: " + address);
+            }
+            return new TransferPacket(address.substring(0, colon), port);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid port in server address: " + address, e);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package dev.shiftsad.lobby.transfer;
+
+import net.minestom.server.entity.Player;
+import net.minestom.server.timer.SchedulerManager;
+import net.minestom.server.timer.TaskSchedule;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queues players for a transfer to one target server and sends at most {@code perTick} of them
+ * through the {@link ProxyBridge} every tick, in the order they were queued.
+ * <p>
+ * Entering the portal only queues the player, so a wave of players costs the tick at most
+ * {@code perTick} transfers. The queue holds at most {@code capacity} players; past that,
+ * {@link #enqueue(Player)} rejects new players, instead of letting the backlog and its latency grow
+ * without bound. Rejected players wait outside the queue and are let in by the tick, in the order
+ * they were rejected, as soon as it has room, so they do not have to enter the portal again.
+ * Queueing a player twice has no effect, and neither does queueing a player that was already
+ * transferred but is still connected; {@link #cancel(UUID)} forgets the player.
+ */
+public final class TransferQueue {
+
+    private final Logger logger = LoggerFactory.getLogger(TransferQueue.class);
+    private final ProxyBridge bridge;
+    private final String server;
+    private final int perTick;
+    private final int capacity;
+
+    private record Pending(Player player, long queuedAt) {}
+
+    private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final Map<UUID, Pending> queued = new ConcurrentHashMap<>();
+    private final Set<UUID> sent = ConcurrentHashMap.newKeySet();
+    private final Queue<Pending> overflow = new ConcurrentLinkedQueue<>();
+    private final Map<UUID, Pending> waiting = new ConcurrentHashMap<>();
+
+    private final LongAdder transferred = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    public TransferQueue(@NotNull ProxyBridge bridge, @NotNull String server, int perTick, int capacity) {
+        if (perTick < 1 || capacity < 1) {
+            throw new IllegalArgumentException("Transfers per tick and queue capacity must be at least 1 (" + perTick + ", " + capacity + ")");
+        }
+        this.bridge = bridge;
+        this.server = server;
+        this.perTick = perTick;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Drains the queue every tick.
+     */
+    public void start(@NotNull SchedulerManager scheduler) {
+        scheduler.buildTask(this::tick)
+                .repeat(TaskSchedule.tick(1))
+                .schedule();
+    }
+
+    /**
+     * Queues the player for a transfer. A player rejected because the queue is full is counted once
+     * and queued by a later tick, without having to be enqueued again.
+     *
+     * @return false if the player has to wait for room in the queue; a player that is already queued counts as queued
+     */
+    public boolean enqueue(@NotNull Player player) {
+        UUID id = player.getUuid();
+        if (queued.containsKey(id) || sent.contains(id)) return true;
+        if (waiting.containsKey(id)) return false;
+
+        Pending pending = new Pending(player, System.nanoTime());
+        // Players already waiting for room go first.
+        if (queued.size() >= capacity || !waiting.isEmpty()) {
+            if (waiting.putIfAbsent(id, pending) == null) {
+                overflow.add(pending);
+                rejected.increment();
+            }
+            return false;
+        }
+
+        if (queued.putIfAbsent(id, pending) == null) {
+            queue.add(pending);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the player from the queue, or forgets that they were transferred, for example when they disconnect.
+     */
+    public void cancel(@NotNull UUID playerId) {
+        queued.remove(playerId);
+        waiting.remove(playerId);
+        sent.remove(playerId);
+    }
+
+    /**
+     * Transfers up to {@code perTick} queued players, then lets waiting players into the room that freed up.
+     * Players that left or were cancelled are dropped without counting against the limit.
+     */
+    public void tick() {
+        transferQueued();
+        admitWaiting();
+    }
+
+    private void admitWaiting() {
+        Pending pending;
+        while (queued.size() < capacity && (pending = overflow.poll()) != null) {
+            Player player = pending.player;
+            if (!waiting.remove(player.getUuid(), pending) || !player.isOnline()) continue;
+
+            if (queued.putIfAbsent(player.getUuid(), pending) == null) {
+                queue.add(pending);
+            }
+        }
+    }
+
+    private void transferQueued() {
+        int count = 0;
+        Pending pending;
+        while (count < perTick && (pending = queue.poll()) != null) {
+            Player player = pending.player;
+            if (!queued.remove(player.getUuid(), pending) || !player.isOnline()) continue;
+
+            try {
+                bridge.transfer(player, server);
+            } catch (RuntimeException e) {
+                failed.increment();
+                logger.warn("Failed to transfer {} to {}: {}", player.getUsername(), server, e.getMessage());
+                continue;
+            }
+            sent.add(player.getUuid());
+            count++;
+            long latency = System.nanoTime() - pending.queuedAt;
+            transferred.increment();
+            latencyNanos.add(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+        }
+    }
+
+    /**
+     * Returns how many players are waiting for a transfer.
+     */
+    public int depth() {
+        return queued.size();
+    }
+
+    /**
+     * Returns how many rejected players are waiting for room in the queue.
+     */
+    public int waiting() {
+        return waiting.size();
+    }
+
+    /**
+     * Returns how many players were handed to the proxy bridge.
+     */
+    public long transferred() {
+        return transferred.sum();
+    }
+
+    /**
+     * Returns how many players had to wait because the queue was full, counting each player once per wait.
+     */
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Returns how many transfers the proxy bridge failed to send.
+     */
+    public long failed() {
+        return failed.sum();
+    }
+
+    /**
+     * Returns the average time between queueing and sending a transfer, in milliseconds.
+     */
+    public double averageLatencyMillis() {
+        long count = transferred.sum();
+        return count == 0 ? 0 : latencyNanos.sum() / (double) count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Returns the longest time between queueing and sending a transfer, in milliseconds.
+     */
+    public double maxLatencyMillis() {
+        return maxLatencyNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
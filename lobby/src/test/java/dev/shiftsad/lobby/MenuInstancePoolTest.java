@@ -0,0 +1,126 @@
+package dev.shiftsad.lobby;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.InstanceManager;
+import net.minestom.server.instance.SharedInstance;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MenuInstancePool Tests")
+public class MenuInstancePoolTest {
+
+    @BeforeAll
+    static void init() {
+        MinecraftServer.init();
+    }
+
+    private static MenuInstancePool pool(int size, int maxSize, Duration idleTimeout, boolean shareWhenExhausted) {
+        InstanceManager instanceManager = MinecraftServer.getInstanceManager();
+        InstanceContainer scene = instanceManager.createInstanceContainer();
+        return new MenuInstancePool(instanceManager, () -> instanceManager.createSharedInstance(scene),
+                size, maxSize, idleTimeout, shareWhenExhausted);
+    }
+
+    @Test
+    @DisplayName("Should create the pre-warmed instances up front and reuse released ones")
+    void prewarmsAndReuses() {
+        MenuInstancePool pool = pool(2, 4, Duration.ofMinutes(1), false);
+        pool.prewarm();
+        assertEquals(2, pool.idle());
+        assertEquals(2, pool.created());
+
+        SharedInstance instance = pool.lease();
+        pool.release(instance);
+        assertSame(instance, pool.lease());
+        assertEquals(2, pool.created(), "Leases should reuse idle instances before creating new ones");
+    }
+
+    @Test
+    @DisplayName("Should reject a lease once maxSize instances are leased")
+    void rejectsAtMaxSize() {
+        MenuInstancePool pool = pool(0, 2, Duration.ofMinutes(1), false);
+
+        assertNotNull(pool.lease());
+        assertNotNull(pool.lease());
+        assertNull(pool.lease());
+
+        assertEquals(2, pool.created());
+        assertEquals(1, pool.rejectedLeases());
+        assertEquals(0, pool.sharedLeases());
+    }
+
+    @Test
+    @DisplayName("Should share the least occupied instance once maxSize instances are leased")
+    void sharesWhenExhausted() {
+        MenuInstancePool pool = pool(0, 2, Duration.ofMinutes(1), true);
+        pool.lease();
+        pool.lease();
+
+        SharedInstance first = pool.lease();
+        SharedInstance second = pool.lease();
+        assertNotNull(first);
+        assertNotSame(first, second, "The second shared lease should go to the instance with fewer players");
+        assertEquals(2, pool.created());
+        assertEquals(2, pool.sharedLeases());
+        assertEquals(0, pool.rejectedLeases());
+
+        pool.release(first);
+        assertEquals(0, pool.idle(), "A shared instance stays leased until its last lease is released");
+        pool.release(first);
+        assertEquals(1, pool.idle());
+    }
+
+    @Test
+    @DisplayName("Should evict idle instances after the timeout, never below the pre-warmed size")
+    void evictsIdleInstances() {
+        MenuInstancePool pool = pool(1, 4, Duration.ZERO, false);
+        pool.prewarm();
+        SharedInstance[] leased = {pool.lease(), pool.lease(), pool.lease()};
+        for (SharedInstance instance : leased) {
+            pool.release(instance);
+        }
+
+        assertEquals(2, pool.evictIdle());
+        assertEquals(1, pool.idle());
+        assertEquals(2, pool.evicted());
+        assertEquals(0, pool.evictIdle());
+    }
+
+    @Test
+    @DisplayName("Should keep idle instances until the timeout has passed")
+    void keepsRecentlyIdleInstances() {
+        MenuInstancePool pool = pool(0, 4, Duration.ofMinutes(1), false);
+        pool.release(pool.lease());
+
+        assertEquals(0, pool.evictIdle());
+        assertEquals(1, pool.idle());
+    }
+
+    @Test
+    @DisplayName("Should track the highest number of instances leased at once")
+    void tracksHighWaterMark() {
+        MenuInstancePool pool = pool(0, 4, Duration.ofMinutes(1), false);
+        SharedInstance first = pool.lease();
+        SharedInstance second = pool.lease();
+        pool.lease();
+
+        pool.release(first);
+        pool.release(second);
+        pool.lease();
+
+        assertEquals(2, pool.leased());
+        assertEquals(3, pool.highWaterMark());
+    }
+
+    @Test
+    @DisplayName("Should reject a pre-warmed size above maxSize")
+    void rejectsInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> pool(3, 2, Duration.ofMinutes(1), false));
+    }
+}
@@ -0,0 +1,156 @@
+package dev.shiftsad.lobby;
+
+import dev.shiftsad.lobby.shard.LobbyShard;
+import dev.shiftsad.lobby.shard.ShardManager;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.SharedInstance;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MenuSessionRegistry Tests")
+public class MenuSessionRegistryTest {
+
+    private final ShardManager shards = new ShardManager(MinecraftServer.getInstanceManager(), 2, 0, 32, Duration.ofMinutes(1), false);
+    private final MenuSessionRegistry sessions = new MenuSessionRegistry(shards);
+
+    /**
+     * Moves that complete only when the test completes them, like a player still joining the new instance.
+     */
+    private final Map<UUID, CompletableFuture<Void>> moves = new LinkedHashMap<>();
+    private final BiFunction<UUID, SharedInstance, CompletableFuture<?>> mover = (playerId, instance) -> {
+        CompletableFuture<Void> move = new CompletableFuture<>();
+        moves.put(playerId, move);
+        return move;
+    };
+
+    @BeforeAll
+    static void init() {
+        MinecraftServer.init();
+    }
+
+    private List<Integer> players() {
+        return shards.shards().stream().map(LobbyShard::players).toList();
+    }
+
+    /**
+     * Opens six sessions, three on each shard, and closes those of the second shard.
+     */
+    private List<UUID> crowdFirstShard() {
+        LobbyShard first = shards.shards().getFirst();
+        Map<UUID, SharedInstance> opened = new LinkedHashMap<>();
+        for (int i = 0; i < 6; i++) {
+            UUID playerId = UUID.randomUUID();
+            opened.put(playerId, sessions.open(playerId));
+        }
+
+        List<UUID> crowd = new ArrayList<>();
+        opened.forEach((playerId, instance) -> {
+            if (shards.shardOf(instance) == first) {
+                crowd.add(playerId);
+            } else {
+                sessions.close(playerId);
+            }
+        });
+        assertEquals(List.of(3, 0), players());
+        return crowd;
+    }
+
+    @Test
+    @DisplayName("Should open sessions on the least loaded shard")
+    void opensOnLeastLoadedShard() {
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(sessions.open(UUID.randomUUID()));
+        }
+        assertEquals(List.of(3, 2), players());
+
+        UUID playerId = UUID.randomUUID();
+        SharedInstance instance = sessions.open(playerId);
+        assertSame(shards.shards().get(1), shards.shardOf(instance));
+        assertSame(instance, sessions.get(playerId).instance());
+    }
+
+    @Test
+    @DisplayName("Should release the old instance only once the move completes")
+    void releasesOldInstanceAfterMove() {
+        crowdFirstShard();
+
+        assertEquals(1, sessions.rebalance(1, 10, playerId -> true, mover));
+
+        assertEquals(List.of(3, 1), players(), "The player counts on both shards until the move completes");
+        UUID moved = moves.keySet().iterator().next();
+        assertSame(shards.shards().get(1), shards.shardOf(sessions.get(moved).instance()));
+
+        moves.get(moved).complete(null);
+        assertEquals(List.of(2, 1), players());
+        assertEquals(1, sessions.movedSessions());
+    }
+
+    @Test
+    @DisplayName("Should not move more players while earlier moves are still completing")
+    void countsPendingMovesOnTheNewShard() {
+        crowdFirstShard();
+
+        sessions.rebalance(1, 10, playerId -> true, mover);
+        assertEquals(0, sessions.rebalance(1, 10, playerId -> true, mover));
+        assertEquals(1, moves.size());
+    }
+
+    @Test
+    @DisplayName("Should put the session back on its old instance when the move fails")
+    void revertsFailedMove() {
+        crowdFirstShard();
+        sessions.rebalance(1, 10, playerId -> true, mover);
+        UUID moved = moves.keySet().iterator().next();
+
+        moves.get(moved).completeExceptionally(new IllegalStateException("player left"));
+
+        assertSame(shards.shards().getFirst(), shards.shardOf(sessions.get(moved).instance()));
+        assertEquals(List.of(3, 0), players());
+    }
+
+    @Test
+    @DisplayName("Should release both instances when the session closes during the move")
+    void releasesBothInstancesWhenClosedDuringMove() {
+        crowdFirstShard();
+        sessions.rebalance(1, 10, playerId -> true, mover);
+        UUID moved = moves.keySet().iterator().next();
+
+        assertTrue(sessions.close(moved));
+        assertEquals(List.of(3, 0), players());
+
+        moves.get(moved).complete(null);
+        assertEquals(List.of(2, 0), players());
+    }
+
+    @Test
+    @DisplayName("Should only move movable players, at most maxMoves per run")
+    void respectsMovableAndMaxMoves() {
+        List<UUID> crowd = crowdFirstShard();
+        UUID pinned = crowd.getFirst();
+        BiFunction<UUID, SharedInstance, CompletableFuture<?>> immediate = (playerId, instance) -> CompletableFuture.completedFuture(null);
+
+        assertEquals(0, sessions.rebalance(1, 0, playerId -> true, immediate));
+        assertEquals(1, sessions.rebalance(1, 10, playerId -> !playerId.equals(pinned), immediate));
+
+        assertEquals(List.of(2, 1), players());
+        assertSame(shards.shards().getFirst(), shards.shardOf(sessions.get(pinned).instance()));
+    }
+
+    @Test
+    @DisplayName("Should reject a tolerance below 1")
+    void rejectsInvalidTolerance() {
+        assertThrows(IllegalArgumentException.class, () -> sessions.rebalance(0, 1, playerId -> true, mover));
+    }
+}
@@ -0,0 +1,81 @@
+package dev.shiftsad.lobby.animation;
+
+import net.minestom.server.coordinate.Pos;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AnimationTrack Tests")
+public class AnimationTrackTest {
+
+    private static Keyframe at(double time, double x, float yaw) {
+        return new Keyframe(time, new Pos(x, 64, 0, yaw, 0));
+    }
+
+    @Test
+    @DisplayName("Should interpolate within the segment each tick falls in")
+    void walksSegments() {
+        AnimationTrack track = AnimationTrack.compile(List.of(at(0, 0, 0), at(0.5, 10, 0), at(1, 30, 0)), 5, Easing.LINEAR);
+
+        assertEquals(5, track.length());
+        assertEquals(0, track.position(0).x(), 1e-9);
+        assertEquals(5, track.position(1).x(), 1e-9);
+        assertEquals(10, track.position(2).x(), 1e-9);
+        assertEquals(20, track.position(3).x(), 1e-9);
+        assertEquals(30, track.position(4).x(), 1e-9);
+        assertEquals(64, track.position(3).y(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should apply the easing to the progress within a segment")
+    void easesProgress() {
+        AnimationTrack track = AnimationTrack.compile(List.of(at(0, 0, 0), at(1, 100, 0)), 5, Easing.EASE_IN_OUT);
+
+        assertEquals(Easing.EASE_IN_OUT.apply(0.25) * 100, track.position(1).x(), 1e-9);
+        assertEquals(50, track.position(2).x(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should turn the yaw the short way around")
+    void turnsTheShortWay() {
+        AnimationTrack track = AnimationTrack.compile(List.of(at(0, 0, 170), at(1, 0, -170)), 5, Easing.LINEAR);
+
+        assertEquals(175, track.position(1).yaw(), 1e-4);
+        assertEquals(180, track.position(2).yaw(), 1e-4);
+        assertEquals(185, track.position(3).yaw(), 1e-4);
+        assertEquals(-170, track.position(4).yaw(), 1e-4);
+    }
+
+    @Test
+    @DisplayName("Should hold the last keyframe in a single-tick track")
+    void singleTick() {
+        AnimationTrack track = AnimationTrack.compile(List.of(at(0, 0, 0), at(1, 30, 90)), 1, Easing.LINEAR);
+
+        assertEquals(1, track.length());
+        assertEquals(30, track.position(0).x(), 1e-9);
+        assertEquals(90, track.position(0).yaw(), 1e-4);
+    }
+
+    @Test
+    @DisplayName("Should hold still before the first keyframe and past the last tick")
+    void clamps() {
+        AnimationTrack track = AnimationTrack.compile(List.of(at(0.5, 10, 0), at(1, 20, 0)), 5, Easing.LINEAR);
+
+        assertEquals(10, track.position(0).x(), 1e-9);
+        assertEquals(10, track.position(2).x(), 1e-9);
+        assertSame(track.position(4), track.position(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> track.position(-1));
+    }
+
+    @Test
+    @DisplayName("Should reject empty, unordered and zero-length tracks")
+    void rejectsInvalidTracks() {
+        assertThrows(IllegalArgumentException.class, () -> AnimationTrack.compile(List.of(), 5, Easing.LINEAR));
+        assertThrows(IllegalArgumentException.class,
+                () -> AnimationTrack.compile(List.of(at(1, 0, 0), at(0, 0, 0)), 5, Easing.LINEAR));
+        assertThrows(IllegalArgumentException.class, () -> AnimationTrack.compile(List.of(at(0, 0, 0)), 0, Easing.LINEAR));
+    }
+}
@@ -0,0 +1,118 @@
+package dev.shiftsad.lobby.shard;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.SharedInstance;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ShardManager Tests")
+public class ShardManagerTest {
+
+    @BeforeAll
+    static void init() {
+        MinecraftServer.init();
+    }
+
+    private static ShardManager shards(int count, int poolMaxSize) {
+        return new ShardManager(MinecraftServer.getInstanceManager(), count, 0, poolMaxSize, Duration.ofMinutes(1), false);
+    }
+
+    @Test
+    @DisplayName("Should lease on the shard with the fewest players")
+    void leasesOnLeastLoadedShard() {
+        ShardManager shards = shards(3, 30);
+
+        SharedInstance first = shards.lease();
+        SharedInstance second = shards.lease();
+        SharedInstance third = shards.lease();
+
+        assertNotSame(shards.shardOf(first), shards.shardOf(second));
+        assertNotSame(shards.shardOf(second), shards.shardOf(third));
+        assertNotSame(shards.shardOf(first), shards.shardOf(third));
+        assertEquals(List.of(1, 1, 1), shards.shards().stream().map(LobbyShard::players).toList());
+
+        LobbyShard emptied = shards.shardOf(second);
+        shards.release(second);
+        assertSame(emptied, shards.leastLoaded());
+        assertSame(emptied, shards.shardOf(shards.lease()));
+        assertEquals(3, shards.players());
+    }
+
+    @Test
+    @DisplayName("Should reject a lease only once the pools of every shard are exhausted")
+    void rejectsWhenEveryShardIsExhausted() {
+        ShardManager shards = shards(2, 2);
+
+        assertNotNull(shards.lease());
+        assertNotNull(shards.lease());
+        assertNull(shards.lease());
+
+        assertEquals(List.of(1, 1), shards.shards().stream().map(LobbyShard::players).toList());
+        assertEquals(2, shards.rejectedLeases(), "Each shard should have been tried");
+    }
+
+    @Test
+    @DisplayName("Should record the work of a shard's instances per server tick")
+    void recordsInstanceWork() {
+        LobbyShard shard = shards(1, 4).shards().getFirst();
+        long millis = TimeUnit.MILLISECONDS.toNanos(1);
+
+        shard.recordWork(100, 2 * millis);
+        shard.recordWork(100, 3 * millis);
+        assertEquals(0, shard.ticks(), "A tick is recorded once the next one starts");
+
+        shard.recordWork(150, millis);
+        shard.recordWork(200, 4 * millis);
+
+        assertEquals(2, shard.ticks());
+        assertEquals(1.0, shard.lastTickMillis(), 1e-9);
+        assertEquals(5.0, shard.maxTickMillis(), 1e-9);
+        assertTrue(shard.averageTickMillis() < 5.0 && shard.averageTickMillis() > 1.0);
+    }
+
+    @Test
+    @DisplayName("Should sum the work of instances ticked on different threads")
+    void recordsConcurrentInstanceWork() throws InterruptedException {
+        LobbyShard shard = shards(1, 4).shards().getFirst();
+        int threads = 8;
+        int ticks = 50;
+        int instances = 1_000;
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.execute(() -> {
+                    try {
+                        for (int tick = 1; tick <= ticks; tick++) {
+                            barrier.await();
+                            for (int instance = 0; instance < instances; instance++) {
+                                shard.recordWork(tick, 1);
+                            }
+                        }
+                    } catch (InterruptedException | BrokenBarrierException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        shard.recordWork(ticks + 1, 0);
+
+        assertEquals(ticks, shard.ticks());
+        assertEquals(threads * instances / 1e6, shard.maxTickMillis(), 1e-9);
+        assertEquals(threads * instances / 1e6, shard.lastTickMillis(), 1e-9);
+    }
+}
@@ -0,0 +1,128 @@
+package dev.shiftsad.lobby.skin;
+
+import net.minestom.server.entity.PlayerSkin;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SkinResolver Tests")
+public class SkinResolverTest {
+
+    private final SkinStoreTest.TickingClock clock = new SkinStoreTest.TickingClock();
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    @TempDir
+    Path tempDir;
+
+    private static PlayerSkin skinOf(String username) {
+        return new PlayerSkin("textures of " + username, "signature of " + username);
+    }
+
+    private SkinSource counting(SkinSource source) {
+        return username -> {
+            fetches.incrementAndGet();
+            return source.fetch(username);
+        };
+    }
+
+    private SkinResolver resolver(SkinSource source, SkinStore store, int capacity) {
+        return new SkinResolver(counting(source), store, Runnable::run, capacity, Duration.ofMinutes(5), clock);
+    }
+
+    @Test
+    @DisplayName("Should share one upstream lookup between concurrent lookups of the same username")
+    void sharesLookupsInFlight() {
+        List<Runnable> queued = new ArrayList<>();
+        SkinResolver resolver = new SkinResolver(counting(SkinResolverTest::skinOf), null, queued::add, 16, Duration.ofMinutes(5), clock);
+
+        CompletableFuture<PlayerSkin> first = resolver.resolve("Steve");
+        CompletableFuture<PlayerSkin> second = resolver.resolve("steve");
+
+        assertSame(first, second);
+        assertEquals(1, queued.size());
+        assertEquals(1, resolver.sharedLookups());
+
+        queued.getFirst().run();
+
+        assertEquals(skinOf("steve"), first.join());
+        assertEquals(1, fetches.get());
+        assertEquals(skinOf("steve"), resolver.resolve("STEVE").join());
+        assertEquals(1, resolver.memoryHits());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used skin once full")
+    void evictsLeastRecentlyUsed() {
+        SkinResolver resolver = resolver(SkinResolverTest::skinOf, null, 2);
+
+        resolver.resolve("alex").join();
+        resolver.resolve("steve").join();
+        resolver.resolve("alex").join();
+        resolver.resolve("notch").join();
+
+        assertEquals(2, resolver.size());
+        assertNotNull(resolver.cached("alex"));
+        assertNull(resolver.cached("steve"));
+        assertNotNull(resolver.cached("notch"));
+    }
+
+    @Test
+    @DisplayName("Should remember unknown usernames until the negative TTL expires")
+    void cachesUnknownUsernames() {
+        SkinResolver resolver = resolver(username -> null, null, 16);
+
+        assertNull(resolver.resolve("nobody").join());
+        assertNull(resolver.resolve("nobody").join());
+        assertEquals(1, fetches.get());
+        assertEquals(1, resolver.negativeHits());
+
+        clock.advance(Duration.ofMinutes(5));
+
+        assertNull(resolver.resolve("nobody").join());
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    @DisplayName("Should serve fresh stored skins and refetch stale ones")
+    void refreshesStaleStoredSkins() throws IOException {
+        SkinStore store = new SkinStore(tempDir, Duration.ofHours(1), clock);
+        store.write("steve", new PlayerSkin("old", "old"));
+
+        assertEquals(new PlayerSkin("old", "old"), resolver(SkinResolverTest::skinOf, store, 16).resolve("steve").join());
+        assertEquals(0, fetches.get());
+
+        clock.advance(Duration.ofHours(2));
+        SkinResolver restarted = resolver(SkinResolverTest::skinOf, store, 16);
+
+        assertEquals(skinOf("steve"), restarted.resolve("steve").join());
+        assertEquals(1, fetches.get());
+        assertFalse(store.read("steve").stale(), "The refetched skin should be stored again");
+    }
+
+    @Test
+    @DisplayName("Should fall back to a stale stored skin when the upstream fails")
+    void fallsBackToStaleSkin() throws IOException {
+        SkinStore store = new SkinStore(tempDir, Duration.ofHours(1), clock);
+        store.write("steve", new PlayerSkin("old", "old"));
+        clock.advance(Duration.ofHours(2));
+        SkinResolver resolver = resolver(username -> {
+            throw new IOException("Mojang is down");
+        }, store, 16);
+
+        assertEquals(new PlayerSkin("old", "old"), resolver.resolve("steve").join());
+
+        CompletionException failure = assertThrows(CompletionException.class, () -> resolver.resolve("alex").join());
+        assertInstanceOf(IOException.class, failure.getCause());
+    }
+}
@@ -0,0 +1,101 @@
+package dev.shiftsad.lobby.skin;
+
+import net.minestom.server.entity.PlayerSkin;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SkinStore Tests")
+public class SkinStoreTest {
+
+    private static final PlayerSkin SKIN = new PlayerSkin("textures", "signature");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should read back a stored skin and mark it stale once the TTL has passed")
+    void marksEntriesStale() throws IOException {
+        TickingClock clock = new TickingClock();
+        SkinStore store = new SkinStore(tempDir, Duration.ofHours(1), clock);
+
+        store.write("steve", SKIN);
+        SkinStore.Entry fresh = store.read("steve");
+
+        assertNotNull(fresh);
+        assertEquals(SKIN, fresh.skin());
+        assertEquals(clock.millis(), fresh.fetchedAt());
+        assertFalse(fresh.stale());
+
+        clock.advance(Duration.ofHours(1).plusMillis(1));
+        SkinStore.Entry stale = store.read("steve");
+
+        assertNotNull(stale);
+        assertEquals(SKIN, stale.skin());
+        assertTrue(stale.stale());
+    }
+
+    @Test
+    @DisplayName("Should never turn an invalid username into a file")
+    void ignoresInvalidUsernames() throws IOException {
+        SkinStore store = new SkinStore(tempDir, Duration.ofHours(1), new TickingClock());
+
+        store.write("../steve", SKIN);
+
+        assertNull(store.read("../steve"));
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should ignore corrupt entries and delete stored skins")
+    void ignoresCorruptEntries() throws IOException {
+        SkinStore store = new SkinStore(tempDir, Duration.ofHours(1), new TickingClock());
+        Files.writeString(tempDir.resolve("alex.skin"), "yesterday\ntextures\nsignature\n");
+        store.write("steve", SKIN);
+
+        assertNull(store.read("alex"));
+        assertNull(store.read("notch"));
+
+        store.delete("steve");
+        assertNull(store.read("steve"));
+    }
+
+    /**
+     * A clock that only moves when told to.
+     */
+    static final class TickingClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package dev.shiftsad.lobby.transfer;
+
+import net.minestom.server.entity.Player;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TransferQueue Tests")
+public class TransferQueueTest {
+
+    private final List<String> sent = new ArrayList<>();
+    private final ProxyBridge bridge = (player, server) -> sent.add(player.getUsername() + "@" + server);
+
+    private static Player player(String username) {
+        Player player = mock(Player.class);
+        when(player.getUuid()).thenReturn(UUID.nameUUIDFromBytes(username.getBytes(StandardCharsets.UTF_8)));
+        when(player.getUsername()).thenReturn(username);
+        when(player.isOnline()).thenReturn(true);
+        return player;
+    }
+
+    private static void disconnect(Player player) {
+        when(player.isOnline()).thenReturn(false);
+    }
+
+    @Test
+    @DisplayName("Should send at most perTick players a tick, in the order they were queued")
+    void sendsAtMostPerTick() {
+        TransferQueue transfers = new TransferQueue(bridge, "survival", 2, 16);
+        for (String username : List.of("a", "b", "c", "d", "e")) {
+            assertTrue(transfers.enqueue(player(username)));
+        }
+
+        transfers.tick();
+        assertEquals(List.of("a@survival", "b@survival"), sent);
+        assertEquals(3, transfers.depth());
+
+        transfers.tick();
+        transfers.tick();
+        assertEquals(List.of("a@survival", "b@survival", "c@survival", "d@survival", "e@survival"), sent);
+        assertEquals(0, transfers.depth());
+        assertEquals(5, transfers.transferred());
+    }
+
+    @Test
+    @DisplayName("Should make players past the capacity wait and queue them once there is room")
+    void retriesRejectedPlayers() {
+        TransferQueue transfers = new TransferQueue(bridge, "survival", 1, 2);
+        Player c = player("c");
+        assertTrue(transfers.enqueue(player("a")));
+        assertTrue(transfers.enqueue(player("b")));
+
+        assertFalse(transfers.enqueue(c));
+        assertFalse(transfers.enqueue(player("d")), "New players should not skip the ones already waiting");
+        assertEquals(2, transfers.depth());
+        assertEquals(2, transfers.waiting());
+
+        transfers.tick();
+        assertEquals(List.of("a@survival"), sent);
+        assertEquals(2, transfers.depth());
+        assertEquals(1, transfers.waiting());
+        assertTrue(transfers.enqueue(c), "A waiting player let into the queue should count as queued");
+
+        transfers.tick();
+        transfers.tick();
+        transfers.tick();
+        assertEquals(List.of("a@survival", "b@survival", "c@survival", "d@survival"), sent);
+        assertEquals(0, transfers.waiting());
+    }
+
+    @Test
+    @DisplayName("Should count a rejected player once, however often they are enqueued while waiting")
+    void countsRejectionsPerPlayer() {
+        TransferQueue transfers = new TransferQueue(bridge, "survival", 1, 1);
+        Player b = player("b");
+        transfers.enqueue(player("a"));
+
+        for (int i = 0; i < 10; i++) {
+            assertFalse(transfers.enqueue(b));
+        }
+
+        assertEquals(1, transfers.rejected());
+        assertEquals(1, transfers.waiting());
+    }
+
+    @Test
+    @DisplayName("Should ignore a player queued twice or already transferred")
+    void deduplicatesPlayers() {
+        TransferQueue transfers = new TransferQueue(bridge, "survival", 4, 16);
+        Player a = player("a");
+
+        assertTrue(transfers.enqueue(a));
+        assertTrue(transfers.enqueue(a));
+        assertEquals(1, transfers.depth());
+
+        transfers.tick();
+        assertTrue(transfers.enqueue(a));
+        transfers.tick();
+
+        assertEquals(List.of("a@survival"), sent);
+        assertEquals(1, transfers.transferred());
+    }
+
+    @Test
+    @DisplayName("Should forget cancelled players, whether queued, waiting or transferred")
+    void cancelsPlayers() {
+        TransferQueue transfers = new TransferQueue(bridge, "survival", 1, 1);
+        Player a = player("a");
+        Player b = player("b");
+        transfers.enqueue(a);
+        transfers.enqueue(b);
+
+        transfers.cancel(b.getUuid());
+        assertEquals(0, transfers.waiting());
+        transfers.tick();
+        transfers.tick();
+        assertEquals(List.of("a@survival"), sent);
+
+        transfers.cancel(a.getUuid());
+        assertTrue(transfers.enqueue(a));
+        transfers.cancel(a.getUuid());
+        assertEquals(0, transfers.depth());
+        transfers.tick();
+        assertEquals(List.of("a@survival"), sent);
+    }
+
+    @Test
+    @DisplayName("Should drop disconnected players without counting them against the limit")
+    void dropsDisconnectedPlayers() {
+        TransferQueue transfers = new TransferQueue(bridge, "survival", 1, 16);
+        Player a = player("a");
+        transfers.enqueue(a);
+        transfers.enqueue(player("b"));
+        disconnect(a);
+
+        transfers.tick();
+
+        assertEquals(List.of("b@survival"), sent);
+        assertEquals(0, transfers.depth());
+    }
+
+    @Test
+    @DisplayName("Should count a bridge failure and move on to the next player")
+    void countsFailures() {
+        TransferQueue transfers = new TransferQueue((player, server) -> {
+            if (player.getUsername().equals("a")) throw new IllegalStateException("connection closed");
+            sent.add(player.getUsername() + "@" + server);
+        }, "survival", 1, 16);
+        transfers.enqueue(player("a"));
+        transfers.enqueue(player("b"));
+
+        transfers.tick();
+
+        assertEquals(List.of("b@survival"), sent);
+        assertEquals(1, transfers.failed());
+        assertEquals(1, transfers.transferred());
+    }
+
+    @Test
+    @DisplayName("Should reject a perTick or capacity below 1")
+    void rejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new TransferQueue(bridge, "survival", 0, 16));
+        assertThrows(IllegalArgumentException.class, () -> new TransferQueue(bridge, "survival", 1, 0));
+    }
+}
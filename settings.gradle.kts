@@ -1,3 +1,4 @@
 rootProject.name = "shiftmc"
 include("lobby")
 include("core")
+include("benchmarks")